@@ -0,0 +1,25 @@
+#!/usr/bin/env bash
+# Compares the latest runs in the run history store with the runs before them and lists the
+# test, step, command and page metrics that got significantly slower.
+#
+#   scripts/history-report.sh                                   # test-history/runs.bin
+#   scripts/history-report.sh other/runs.bin                    # another history file
+#   scripts/history-report.sh -Dhistory.failOnRegression=true   # exit 1 on regressions (CI gate)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+OPTS=()
+ARGS=()
+for arg in "$@"; do
+  case "$arg" in
+    -D*) OPTS+=("$arg") ;;
+    *) ARGS+=("$arg") ;;
+  esac
+done
+
+mkdir -p target
+mvn -B -q test-compile dependency:build-classpath -Dmdep.outputFile=target/history-classpath.txt
+CP="target/test-classes:target/classes:$(cat target/history-classpath.txt)"
+
+exec java "${OPTS[@]}" -cp "$CP" com.insider.utils.RunHistoryReport "${ARGS[@]}"
@@ -0,0 +1,65 @@
+#!/usr/bin/env bash
+# Runs the suite as N shard JVMs on this machine (-Dshard=i/N) and merges their Allure results.
+#
+#   scripts/run-shards.sh 3                 # 3 shards of testng.xml
+#   scripts/run-shards.sh 2 -Dheadless=true # extra -D options are passed to every shard
+#
+# Per-shard output: target/shards/<i>/{allure-results,testng,run.log}
+# Merged results:   target/shards/allure-results  (allure serve target/shards/allure-results)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+SHARDS="${1:-2}"
+shift || true
+SUITE="${TESTNG_SUITE:-src/test/resources/testng.xml}"
+OUT="target/shards"
+
+rm -rf "$OUT"
+mkdir -p "$OUT"
+# one run id for all shards, so the run history sees one run
+RUN_ID="$(date +%s%3N)"
+# every shard partitions from this copy: shards that finish early already update the history file
+HISTORY_FILE="${SCHEDULER_HISTORY_FILE:-test-history/durations.json}"
+SNAPSHOT="$OUT/durations.json"
+if [ -f "$HISTORY_FILE" ]; then
+  cp "$HISTORY_FILE" "$SNAPSHOT"
+fi
+
+mvn -B -q test-compile dependency:build-classpath -Dmdep.outputFile="$OUT/classpath.txt"
+CP="target/test-classes:target/classes:$(cat "$OUT/classpath.txt")"
+
+ASPECTJ_VERSION=$(sed -n 's:.*<aspectj.version>\(.*\)</aspectj.version>.*:\1:p' pom.xml)
+AGENT="$HOME/.m2/repository/org/aspectj/aspectjweaver/$ASPECTJ_VERSION/aspectjweaver-$ASPECTJ_VERSION.jar"
+
+pids=()
+for i in $(seq 1 "$SHARDS"); do
+  mkdir -p "$OUT/$i"
+  java -javaagent:"$AGENT" \
+       -Dshard="$i/$SHARDS" \
+       -Dallure.results.directory="$OUT/$i/allure-results" \
+       -Dhistory.runId="$RUN_ID" \
+       -Dshard.historySnapshot="$SNAPSHOT" \
+       "$@" \
+       -cp "$CP" org.testng.TestNG -d "$OUT/$i/testng" "$SUITE" > "$OUT/$i/run.log" 2>&1 &
+  pids+=($!)
+  echo "Shard $i/$SHARDS started (pid ${pids[-1]}, log $OUT/$i/run.log)"
+done
+
+status=0
+for i in "${!pids[@]}"; do
+  if ! wait "${pids[$i]}"; then
+    echo "Shard $((i + 1))/$SHARDS had failures"
+    status=1
+  fi
+done
+
+grep -h "\[SHARD\]\|\[SCHEDULE\]" "$OUT"/*/run.log || true
+
+results=()
+for i in $(seq 1 "$SHARDS"); do
+  results+=("$OUT/$i/allure-results")
+done
+java -cp "$CP" com.insider.utils.AllureResultsMerger "$OUT/allure-results" "${results[@]}"
+
+exit $status
@@ -0,0 +1,26 @@
+#!/usr/bin/env bash
+# Runs the suite on N worker JVMs on this machine that pull methods / data-provider rows from one
+# coordinator (work stealing) instead of fixed shards, and merges their Allure results.
+#
+#   scripts/run-workers.sh 3                  # coordinator + 3 workers on testng.xml
+#   scripts/run-workers.sh 2 -Dheadless=true  # extra -D options are passed to every worker
+#
+# Per-worker output: target/runner/worker-<i>/{allure-results,worker.log}
+# Merged results:    target/runner/allure-results  (allure serve target/runner/allure-results)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+WORKERS="${1:-2}"
+shift || true
+SUITE="${TESTNG_SUITE:-src/test/resources/testng.xml}"
+
+mkdir -p target
+mvn -B -q test-compile dependency:build-classpath -Dmdep.outputFile=target/runner-classpath.txt
+CP="target/test-classes:target/classes:$(cat target/runner-classpath.txt)"
+
+ASPECTJ_VERSION=$(sed -n 's:.*<aspectj.version>\(.*\)</aspectj.version>.*:\1:p' pom.xml)
+AGENT="$HOME/.m2/repository/org/aspectj/aspectjweaver/$ASPECTJ_VERSION/aspectjweaver-$ASPECTJ_VERSION.jar"
+
+exec java -javaagent:"$AGENT" -Drunner.workers="$WORKERS" "$@" \
+     -cp "$CP" com.insider.runner.Coordinator "$SUITE"
@@ -2,7 +2,15 @@ package com.insider.config;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public class ConfigManager {
 
@@ -37,6 +45,13 @@ public class ConfigManager {
         return props.getProperty(key, defaultVal);
     }
 
+    private static List<String> getList(String key, String envVar, String defaultVal) {
+        return Arrays.stream(get(key, envVar, defaultVal).split(","))
+                .map(String::trim)
+                .filter(v -> !v.isEmpty())
+                .toList();
+    }
+
     public static String getBrowser() {
         return get("browser", "BROWSER", "chrome");
     }
@@ -57,4 +72,402 @@ public class ConfigManager {
     public static int getImplicitWaitSeconds() {
         return Integer.parseInt(get("implicitWait", "IMPLICIT_WAIT", "5"));
     }
+
+    public static int getPageLoadTimeoutSeconds() {
+        return Integer.parseInt(get("pageLoadTimeout", "PAGE_LOAD_TIMEOUT", "30"));
+    }
+
+    /** Session page load strategy: normal | eager | none, optionally per env via {@code pageLoadStrategy.<env>}. */
+    public static String getPageLoadStrategy() {
+        String perEnv = props.getProperty("pageLoadStrategy." + getEnv(), props.getProperty("pageLoadStrategy", "normal"));
+        return get("pageLoadStrategy", "PAGE_LOAD_STRATEGY", perEnv).toLowerCase();
+    }
+
+    /**
+     * Strategy for one page object, from {@code pageLoadStrategy.<PageClass>}
+     * ({@code PAGE_LOAD_STRATEGY_<PAGECLASS>}) or the session strategy.
+     */
+    public static String getPageLoadStrategy(String pageName) {
+        String perPage = get("pageLoadStrategy." + pageName, "PAGE_LOAD_STRATEGY_" + pageName.toUpperCase(), "");
+        return perPage.isBlank() ? getPageLoadStrategy() : perPage.trim().toLowerCase();
+    }
+
+    /** Let {@code open(url)} skip reloading a page the session already shows untouched. */
+    public static boolean isNavigationDedupEnabled() {
+        return Boolean.parseBoolean(get("navigation.dedup", "NAVIGATION_DEDUP", "true"));
+    }
+
+    // ---------- Driver pool ----------
+
+    public static boolean isDriverPoolEnabled() {
+        return Boolean.parseBoolean(get("driverPool", "DRIVER_POOL", "false"));
+    }
+
+    public static int getDriverPoolSize() {
+        return Integer.parseInt(get("driverPool.size", "DRIVER_POOL_SIZE", "3"));
+    }
+
+    public static int getDriverPoolMaxUses() {
+        return Integer.parseInt(get("driverPool.maxUses", "DRIVER_POOL_MAX_USES", "20"));
+    }
+
+    public static int getDriverPoolMaxAgeSeconds() {
+        return Integer.parseInt(get("driverPool.maxAgeSeconds", "DRIVER_POOL_MAX_AGE_SECONDS", "900"));
+    }
+
+    // ---------- DOM extraction ----------
+
+    public static boolean isBulkDomExtractionEnabled() {
+        return Boolean.parseBoolean(get("bulkDomExtraction", "BULK_DOM_EXTRACTION", "true"));
+    }
+
+    /** Evaluate read-only page-object getters against one captured DOM instead of the live browser. */
+    public static boolean isDomSnapshotEnabled() {
+        return Boolean.parseBoolean(get("domSnapshot", "DOM_SNAPSHOT", "false"));
+    }
+
+    // ---------- Waits ----------
+
+    public static long getWaitInitialPollMs() {
+        return Long.parseLong(get("wait.initialPollMs", "WAIT_INITIAL_POLL_MS", "50"));
+    }
+
+    public static long getWaitMaxPollMs() {
+        return Long.parseLong(get("wait.maxPollMs", "WAIT_MAX_POLL_MS", "500"));
+    }
+
+    public static double getWaitBackoff() {
+        return Double.parseDouble(get("wait.backoff", "WAIT_BACKOFF", "1.5"));
+    }
+
+    /** Shrink wait timeouts to 3x the observed p95 appearance time of the locator (never below 2s). */
+    public static boolean isAdaptiveWaitTimeout() {
+        return Boolean.parseBoolean(get("wait.adaptiveTimeout", "WAIT_ADAPTIVE_TIMEOUT", "false"));
+    }
+
+    // ---------- Data providers ----------
+
+    /** Rows of one streaming data provider that may be queued or running at the same time. */
+    public static int getDataProviderWindow() {
+        return Integer.parseInt(get("dataProvider.window", "DATA_PROVIDER_WINDOW", "6"));
+    }
+
+    // ---------- Scheduling ----------
+
+    /** Start the historically longest test methods first (LPT) so the slowest one doesn't finish last. */
+    public static boolean isLongestFirstScheduling() {
+        return Boolean.parseBoolean(get("scheduler.longestFirst", "SCHEDULER_LONGEST_FIRST", "true"));
+    }
+
+    /** Compact per-method duration history, updated at the end of every run. */
+    public static String getSchedulerHistoryFile() {
+        return get("scheduler.historyFile", "SCHEDULER_HISTORY_FILE", "test-history/durations.json");
+    }
+
+    /**
+     * Allure results to seed the history from; fixed (not the run's own results dir) so every
+     * shard JVM derives the same durations.
+     */
+    public static String getSchedulerSeedResults() {
+        return get("scheduler.seedResults", "SCHEDULER_SEED_RESULTS", "allure-results");
+    }
+
+    /** Assumed duration of a method with no history yet. */
+    public static int getSchedulerDefaultSeconds() {
+        return Integer.parseInt(get("scheduler.defaultSeconds", "SCHEDULER_DEFAULT_SECONDS", "30"));
+    }
+
+    /** {@code i/n} (1-based) runs only the i-th of n duration-balanced shards of the suite; empty runs everything. */
+    public static String getShard() {
+        return get("shard", "SHARD", "").trim();
+    }
+
+    /**
+     * Copy of the duration history taken once before the shards start; every shard partitions
+     * from it, since shards that finish early update {@code scheduler.historyFile}. Empty: that file.
+     */
+    public static String getShardHistorySnapshot() {
+        return get("shard.historySnapshot", "SHARD_HISTORY_SNAPSHOT", "").trim();
+    }
+
+    // ---------- Work-stealing runner ----------
+
+    /** Worker JVMs the coordinator starts itself; 0 waits for externally started workers. */
+    public static int getRunnerWorkers() {
+        return Integer.parseInt(get("runner.workers", "RUNNER_WORKERS", "2"));
+    }
+
+    /** Loopback port of the coordinator; 0 picks a free one. */
+    public static int getRunnerPort() {
+        return Integer.parseInt(get("runner.port", "RUNNER_PORT", "0"));
+    }
+
+    /** Times a work item is handed out before a worker dying on it fails it for good. */
+    public static int getRunnerMaxAttempts() {
+        return Integer.parseInt(get("runner.maxAttempts", "RUNNER_MAX_ATTEMPTS", "2"));
+    }
+
+    /** Per-worker logs and results, and the merged {@code allure-results}. */
+    public static String getRunnerDir() {
+        return get("runner.dir", "RUNNER_DIR", "target/runner");
+    }
+
+    // ---------- Command latency ----------
+
+    /** Wrap every driver in an event-firing decorator that times each WebDriver command. */
+    public static boolean isCommandLatencyEnabled() {
+        return Boolean.parseBoolean(get("commandLatency", "COMMAND_LATENCY", "false"));
+    }
+
+    public static String getCommandLatencyReport() {
+        return get("commandLatency.report", "COMMAND_LATENCY_REPORT", "target/command-latency.txt");
+    }
+
+    // ---------- Cookie consent ----------
+
+    /** Domains (and their subdomains) that show the cookie banner; other pages are not probed. */
+    public static List<String> getCookieBannerDomains() {
+        return getList("cookieBanner.domains", "COOKIE_BANNER_DOMAINS", "insiderone.com");
+    }
+
+    public static boolean isConsentPreseedEnabled() {
+        return Boolean.parseBoolean(get("cookieBanner.preseed", "COOKIE_BANNER_PRESEED", "true"));
+    }
+
+    // ---------- Session checkpoints ----------
+
+    /** Restore captured session checkpoints instead of replaying the navigation that led to them. */
+    public static boolean isCheckpointEnabled() {
+        return Boolean.parseBoolean(get("checkpoint.enabled", "CHECKPOINT_ENABLED", "true"));
+    }
+
+    /** Age after which a checkpoint is recaptured rather than restored (sites rotate tokens / listings). */
+    public static int getCheckpointTtlSeconds() {
+        return Integer.parseInt(get("checkpoint.ttlSeconds", "CHECKPOINT_TTL_SECONDS", "600"));
+    }
+
+    // ---------- Screenshots ----------
+
+    /** jpeg, png or webp (needs an ImageIO WebP plugin, falls back to jpeg). */
+    public static String getScreenshotFormat() {
+        return get("screenshot.format", "SCREENSHOT_FORMAT", "jpeg");
+    }
+
+    /** Lossy encoder quality, 0.0 - 1.0. */
+    public static float getScreenshotQuality() {
+        return Float.parseFloat(get("screenshot.quality", "SCREENSHOT_QUALITY", "0.75"));
+    }
+
+    public static int getScreenshotMaxWidth() {
+        return Integer.parseInt(get("screenshot.maxWidth", "SCREENSHOT_MAX_WIDTH", "1280"));
+    }
+
+    public static int getScreenshotMaxHeight() {
+        return Integer.parseInt(get("screenshot.maxHeight", "SCREENSHOT_MAX_HEIGHT", "1600"));
+    }
+
+    /** Background encoder threads. */
+    public static int getScreenshotThreads() {
+        return Integer.parseInt(get("screenshot.threads", "SCREENSHOT_THREADS", "2"));
+    }
+
+    /** Screenshots waiting for an encoder before the test thread encodes its own. */
+    public static int getScreenshotQueue() {
+        return Integer.parseInt(get("screenshot.queue", "SCREENSHOT_QUEUE", "32"));
+    }
+
+    /** Frames kept per test, one after each Allure step, attached only if the test fails (0: off). */
+    public static int getScreenshotStepFrames() {
+        return Integer.parseInt(get("screenshot.stepFrames", "SCREENSHOT_STEP_FRAMES", "0"));
+    }
+
+    // ---------- Failure artifacts ----------
+
+    /** Record console, network and page-object actions per session, attached only when a test fails. */
+    public static boolean isFailureArtifactsEnabled() {
+        return Boolean.parseBoolean(get("failureArtifacts", "FAILURE_ARTIFACTS", "true"));
+    }
+
+    /** Entries kept per channel (console, network, actions) and session. */
+    public static int getFailureArtifactsSize() {
+        return Integer.parseInt(get("failureArtifacts.size", "FAILURE_ARTIFACTS_SIZE", "100"));
+    }
+
+    // ---------- Performance budgets ----------
+
+    /** Measure navigation/paint timing, CLS and resources after every page load. */
+    public static boolean isPerformanceCaptureEnabled() {
+        return Boolean.parseBoolean(get("performance.capture", "PERFORMANCE_CAPTURE", "false"));
+    }
+
+    /** Fail the test (softly, at its end) when a page exceeds the budget in its test data. */
+    public static boolean isPerformanceBudgetEnforced() {
+        return Boolean.parseBoolean(get("performance.enforceBudgets", "PERFORMANCE_ENFORCE_BUDGETS", "true"));
+    }
+
+    /** Every measurement is appended here as one JSON line, for trending across runs. */
+    public static String getPerformanceHistoryFile() {
+        return get("performance.historyFile", "PERFORMANCE_HISTORY_FILE", "test-history/performance.jsonl");
+    }
+
+    // ---------- Run history ----------
+
+    /** Append test, step, command and page timings of passed tests to the run history store. */
+    public static boolean isHistoryEnabled() {
+        return Boolean.parseBoolean(get("history.enabled", "HISTORY_ENABLED", "true"));
+    }
+
+    public static String getHistoryFile() {
+        return get("history.file", "HISTORY_FILE", "test-history/runs.bin");
+    }
+
+    /** Numeric id shared by all JVMs of one run (shards, workers); empty: the JVM's start time. */
+    public static String getHistoryRunId() {
+        return get("history.runId", "HISTORY_RUN_ID", "");
+    }
+
+    /** Latest runs compared against the baseline (at least 2 for a significant result). */
+    public static int getHistoryRecentRuns() {
+        return Integer.parseInt(get("history.recentRuns", "HISTORY_RECENT_RUNS", "3"));
+    }
+
+    /** Runs before the recent ones that form the rolling baseline. */
+    public static int getHistoryBaselineRuns() {
+        return Integer.parseInt(get("history.baselineRuns", "HISTORY_BASELINE_RUNS", "20"));
+    }
+
+    /** Significance level of the one-sided Mann-Whitney test. */
+    public static double getHistoryAlpha() {
+        return Double.parseDouble(get("history.alpha", "HISTORY_ALPHA", "0.01"));
+    }
+
+    /** Minimum median increase (0.10 = 10%) for a significant change to count as a regression. */
+    public static double getHistoryMinIncrease() {
+        return Double.parseDouble(get("history.minIncrease", "HISTORY_MIN_INCREASE", "0.10"));
+    }
+
+    public static boolean isHistoryFailOnRegression() {
+        return Boolean.parseBoolean(get("history.failOnRegression", "HISTORY_FAIL_ON_REGRESSION", "false"));
+    }
+
+    // ---------- Link checks ----------
+
+    /** Max concurrent link/asset checks against one host. */
+    public static int getLinkCheckConcurrencyPerHost() {
+        return Integer.parseInt(get("linkCheck.concurrencyPerHost", "LINK_CHECK_CONCURRENCY_PER_HOST", "4"));
+    }
+
+    public static int getLinkCheckTimeoutSeconds() {
+        return Integer.parseInt(get("linkCheck.timeoutSeconds", "LINK_CHECK_TIMEOUT_SECONDS", "15"));
+    }
+
+    /** Hosts (and their subdomains) whose links are reported as SKIPPED instead of fetched, e.g. bot-walled social networks. */
+    public static List<String> getLinkCheckSkipHosts() {
+        return getList("linkCheck.skipHosts", "LINK_CHECK_SKIP_HOSTS",
+                "linkedin.com,facebook.com,instagram.com,twitter.com,x.com,youtube.com");
+    }
+
+    /** Status codes that mean the checker was refused rather than the link being broken; reported as SKIPPED. */
+    public static List<Integer> getLinkCheckSkipStatuses() {
+        return getList("linkCheck.skipStatuses", "LINK_CHECK_SKIP_STATUSES", "429,999").stream()
+                .map(Integer::valueOf)
+                .toList();
+    }
+
+    /** Answer link checks from the network archive via a local HTTP server (defaults to on with network=replay). */
+    public static boolean isLinkCheckStandIn() {
+        return Boolean.parseBoolean(get("linkCheck.standIn", "LINK_CHECK_STAND_IN",
+                String.valueOf("replay".equals(getNetworkMode()))));
+    }
+
+    // ---------- Lever ----------
+
+    /**
+     * live: Lever's postings API (archived too with network=record), archive: the API response in the
+     * network archive (default with network=replay), stub: a local server with {@link #getLeverApiFixture()},
+     * off: no oracle.
+     */
+    public static String getLeverOracleMode() {
+        return get("lever.oracle", "LEVER_ORACLE", "replay".equals(getNetworkMode()) ? "archive" : "live").toLowerCase();
+    }
+
+    public static String getLeverApiBaseUrl() {
+        return get("lever.api.baseUrl", "LEVER_API_BASE_URL", "https://api.lever.co/v0/postings");
+    }
+
+    /** Classpath fixture served with lever.oracle=stub. */
+    public static String getLeverApiFixture() {
+        return get("lever.api.fixture", "LEVER_API_FIXTURE", "testdata/lever-postings.json");
+    }
+
+    public static int getLeverApiTimeoutSeconds() {
+        return Integer.parseInt(get("lever.api.timeoutSeconds", "LEVER_API_TIMEOUT_SECONDS", "15"));
+    }
+
+    /**
+     * tabs: all location flows in tabs of one session; sessions: one data-provider row (and session)
+     * each. Defaults to tabs only with an eager/none session, where the tabs' page loads can overlap,
+     * and no network interception (it covers the first tab only, see {@code TabFlow.runAll}).
+     */
+    public static String getLeverLocationFlowsMode() {
+        boolean intercepted = isRequestBlockingEnabled() || !"live".equals(getNetworkMode());
+        return get("lever.locationFlows", "LEVER_LOCATION_FLOWS",
+                "normal".equals(getPageLoadStrategy()) || intercepted ? "sessions" : "tabs").toLowerCase();
+    }
+
+    // ---------- Network ----------
+
+    /** live (default), record (capture responses into the archive) or replay (serve only from the archive). */
+    public static String getNetworkMode() {
+        return get("network", "NETWORK", "live").toLowerCase();
+    }
+
+    public static String getNetworkArchiveDir() {
+        return get("network.archiveDir", "NETWORK_ARCHIVE_DIR", "network-archive");
+    }
+
+    // ---------- Request blocking ----------
+
+    public static boolean isRequestBlockingEnabled() {
+        return Boolean.parseBoolean(get("blocking", "BLOCKING", "false"));
+    }
+
+    public static List<String> getBlockedUrlPatterns() {
+        return getList("blocking.urlPatterns", "BLOCKING_URL_PATTERNS", "");
+    }
+
+    /** CDP resource types to drop entirely, e.g. Image, Media, Font. */
+    public static List<String> getBlockedResourceTypes() {
+        return getList("blocking.resourceTypes", "BLOCKING_RESOURCE_TYPES", "");
+    }
+
+    /**
+     * URL patterns let through for tests in a group, from {@code blocking.allow.<group>} in the
+     * config file or as -D property, or from {@code BLOCKING_ALLOW_<GROUP>}. A variable for a group
+     * not named anywhere else applies to the lower-cased group name.
+     */
+    public static Map<String, List<String>> getBlockingAllowlists() {
+        String prefix = "blocking.allow.";
+        Set<String> groups = new LinkedHashSet<>();
+        for (Properties source : List.of(props, System.getProperties())) {
+            source.stringPropertyNames().stream()
+                    .filter(name -> name.startsWith(prefix))
+                    .forEach(name -> groups.add(name.substring(prefix.length())));
+        }
+        Set<String> knownVars = groups.stream().map(ConfigManager::blockingAllowVar).collect(Collectors.toSet());
+        System.getenv().keySet().stream()
+                .filter(var -> var.startsWith("BLOCKING_ALLOW_") && !knownVars.contains(var))
+                .sorted()
+                .forEach(var -> groups.add(var.substring("BLOCKING_ALLOW_".length()).toLowerCase(Locale.ROOT)));
+
+        Map<String, List<String>> allowlists = new LinkedHashMap<>();
+        for (String group : groups) {
+            allowlists.put(group, getList(prefix + group, blockingAllowVar(group), ""));
+        }
+        return allowlists;
+    }
+
+    private static String blockingAllowVar(String group) {
+        return "BLOCKING_ALLOW_" + group.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]", "_");
+    }
 }
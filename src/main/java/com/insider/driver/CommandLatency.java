@@ -0,0 +1,163 @@
+package com.insider.driver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Per-WebDriver-command latency, recorded by {@link CommandLatencyListener}.
+ * <p>
+ * Every thread writes into its own histograms (no locks, no shared counters on the hot path),
+ * keyed by test method, page object class and command. {@link #finishTest()} summarises what
+ * the current thread recorded for its test; {@link #writeReport(Path)} merges all threads.
+ */
+public final class CommandLatency {
+
+    private static final Logger logger = Logger.getLogger(CommandLatency.class.getName());
+
+    private static final String NONE = "(none)";
+
+    private static final Queue<Recorder> RECORDERS = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<Recorder> CURRENT = ThreadLocal.withInitial(() -> {
+        Recorder recorder = new Recorder();
+        RECORDERS.add(recorder);
+        return recorder;
+    });
+
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private static volatile Predicate<Class<?>> pageClassifier = type -> false;
+
+    private CommandLatency() {
+    }
+
+    /**
+     * Tells which classes on the caller's stack are page objects; the innermost match tags
+     * each command (its runtime class is the frame's declaring class).
+     */
+    public static void setPageClassifier(Predicate<Class<?>> classifier) {
+        pageClassifier = classifier;
+    }
+
+    public static void startTest(String testName) {
+        Recorder recorder = CURRENT.get();
+        recorder.test = testName;
+        recorder.currentTest.clear();
+    }
+
+    /** Summary of the commands the current thread issued since {@link #startTest(String)}. */
+    public static String finishTest() {
+        Recorder recorder = CURRENT.get();
+        String summary = format("Commands of " + recorder.test, recorder.currentTest);
+        recorder.test = NONE;
+        recorder.currentTest.clear();
+        return summary;
+    }
+
+    /** Commands the current thread issued since {@link #startTest(String)}. */
+    public static long currentTestCommands() {
+        return CURRENT.get().currentTest.values().stream().mapToLong(LatencyHistogram::count).sum();
+    }
+
+    /** Wire time of those commands, in milliseconds. */
+    public static long currentTestWireMillis() {
+        return CURRENT.get().currentTest.values().stream().mapToLong(LatencyHistogram::totalMicros).sum() / 1_000;
+    }
+
+    static void record(String command, long nanos, boolean failed) {
+        Recorder recorder = CURRENT.get();
+        String page = currentPage();
+        recorder.currentTest.computeIfAbsent(page + " " + command, k -> new LatencyHistogram()).record(nanos, failed);
+        recorder.all.computeIfAbsent(new Tag(recorder.test, page, command), k -> new LatencyHistogram())
+                .record(nanos, failed);
+    }
+
+    private static String currentPage() {
+        Predicate<Class<?>> classifier = pageClassifier;
+        return WALKER.walk(frames -> frames
+                .map(StackWalker.StackFrame::getDeclaringClass)
+                .filter(classifier)
+                .findFirst()
+                .map(Class::getSimpleName)
+                .orElse(NONE));
+    }
+
+    // ---------- Suite report ----------
+
+    public static boolean isEmpty() {
+        return RECORDERS.stream().allMatch(r -> r.all.isEmpty());
+    }
+
+    /** Merges every thread's histograms and writes them grouped by command, page and test. */
+    public static void writeReport(Path file) {
+        Map<Tag, LatencyHistogram> merged = new HashMap<>();
+        for (Recorder recorder : RECORDERS) {
+            new HashMap<>(recorder.all).forEach((tag, histogram) ->
+                    merged.computeIfAbsent(tag, k -> new LatencyHistogram()).add(histogram));
+        }
+
+        StringBuilder report = new StringBuilder();
+        report.append(format("By command", group(merged, Tag::command))).append("\n\n");
+        report.append(format("By page object and command", group(merged, t -> t.page() + " " + t.command()))).append("\n\n");
+        report.append(format("By test", group(merged, Tag::test)));
+
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, report);
+            logger.info("[LATENCY] Command latency report written to " + file.toAbsolutePath());
+        } catch (IOException e) {
+            logger.warning("[LATENCY] Could not write " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static Map<String, LatencyHistogram> group(Map<Tag, LatencyHistogram> merged, Function<Tag, String> key) {
+        Map<String, LatencyHistogram> grouped = new TreeMap<>();
+        merged.forEach((tag, histogram) ->
+                grouped.computeIfAbsent(key.apply(tag), k -> new LatencyHistogram()).add(histogram));
+        return grouped;
+    }
+
+    private static String format(String title, Map<String, LatencyHistogram> histograms) {
+        List<Map.Entry<String, LatencyHistogram>> rows = new ArrayList<>(histograms.entrySet());
+        rows.sort(Comparator.comparingLong((Map.Entry<String, LatencyHistogram> e) -> e.getValue().totalMicros()).reversed());
+
+        long totalMicros = rows.stream().mapToLong(e -> e.getValue().totalMicros()).sum();
+        long totalCount = rows.stream().mapToLong(e -> e.getValue().count()).sum();
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(title).append(String.format(": %d commands, total wire time %d ms%n", totalCount, totalMicros / 1_000));
+        sb.append(String.format("  %-55s %7s %7s %9s %9s %9s %9s %10s%n",
+                "", "count", "errors", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)", "total(ms)"));
+        for (Map.Entry<String, LatencyHistogram> row : rows) {
+            LatencyHistogram h = row.getValue();
+            sb.append(String.format("  %-55s %7d %7d %9.1f %9.1f %9.1f %9.1f %10d%n",
+                    row.getKey(), h.count(), h.errors(),
+                    h.percentileMicros(0.50) / 1000.0, h.percentileMicros(0.95) / 1000.0,
+                    h.percentileMicros(0.99) / 1000.0, h.maxMicros() / 1000.0, h.totalMicros() / 1_000));
+        }
+        return sb.toString();
+    }
+
+    private record Tag(String test, String page, String command) {
+    }
+
+    private static final class Recorder {
+        private volatile String test = NONE;
+        private final Map<String, LatencyHistogram> currentTest = new HashMap<>();
+        private final Map<Tag, LatencyHistogram> all = new ConcurrentHashMap<>();
+    }
+}
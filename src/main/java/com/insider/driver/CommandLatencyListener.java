@@ -0,0 +1,59 @@
+package com.insider.driver;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+
+/**
+ * Times every call that goes through an {@code EventFiringDecorator}-wrapped driver and hands
+ * it to {@link CommandLatency}, named {@code <interface>.<method>}
+ * (e.g. {@code WebElement.click}, {@code JavascriptExecutor.executeScript}).
+ */
+public class CommandLatencyListener implements WebDriverListener {
+
+    // Accessors answered locally by the client, not by the browser. Keyed by interface as well,
+    // since e.g. TargetLocator.window(handle) is a real command while Options.window() is not.
+    private static final Set<String> LOCAL_CALLS = Set.of(
+            "WebDriver.manage", "WebDriver.navigate", "WebDriver.switchTo",
+            "Options.timeouts", "Options.window", "Options.logs",
+            "WrapsDriver.getWrappedDriver", "WrapsElement.getWrappedElement",
+            "Object.toString", "Object.hashCode", "Object.equals");
+
+    private final ThreadLocal<Deque<Long>> starts = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (!LOCAL_CALLS.contains(name(method))) {
+            starts.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method, false);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method, true);
+    }
+
+    private void finish(Method method, boolean failed) {
+        String name = name(method);
+        if (LOCAL_CALLS.contains(name)) {
+            return;
+        }
+        Long start = starts.get().poll();
+        if (start != null) {
+            CommandLatency.record(name, System.nanoTime() - start, failed);
+        }
+    }
+
+    private static String name(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+}
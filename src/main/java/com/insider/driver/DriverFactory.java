@@ -1,19 +1,53 @@
 package com.insider.driver;
 
 import com.insider.config.ConfigManager;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 public class DriverFactory {
 
+    /**
+     * Hands out a driver for one test: a pooled session when {@code driverPool=true},
+     * otherwise a freshly started browser. Pair every call with {@link #releaseDriver(WebDriver)}.
+     */
+    public static WebDriver acquireDriver() {
+        if (ConfigManager.isDriverPoolEnabled()) {
+            return DriverPool.forBrowser(browserKey(), DriverFactory::createDriver).borrow();
+        }
+        return createDriver();
+    }
+
+    public static void releaseDriver(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        if (ConfigManager.isDriverPoolEnabled()) {
+            DriverPool.forBrowser(browserKey(), DriverFactory::createDriver).release(driver);
+            return;
+        }
+        driver.quit();
+    }
+
+    private static String browserKey() {
+        String browser = ConfigManager.getBrowser();
+        return browser == null || browser.isBlank() ? "chrome" : browser.toLowerCase();
+    }
+
     public static WebDriver createDriver() {
 
         String browser = ConfigManager.getBrowser();
@@ -26,17 +60,65 @@ public class DriverFactory {
 
         browser = browser.toLowerCase();
 
+        WebDriver driver;
         if (seleniumUrl != null && !seleniumUrl.isBlank()) {
-            return createRemoteDriver(browser, headless, seleniumUrl);
+            driver = createRemoteDriver(browser, headless, seleniumUrl);
+        } else {
+            driver = createLocalDriver(browser, headless);
+        }
+
+        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(ConfigManager.getPageLoadTimeoutSeconds()));
+
+        driver = NetworkInterception.install(driver, networkHandlers());
+        driver = SessionRecorder.install(driver);
+
+        if (ConfigManager.isCommandLatencyEnabled()) {
+            driver = new EventFiringDecorator<>(new CommandLatencyListener()).decorate(driver);
+        }
+        return driver;
+    }
+
+    private static PageLoadStrategy pageLoadStrategy() {
+        String value = ConfigManager.getPageLoadStrategy();
+        PageLoadStrategy strategy = PageLoadStrategy.fromString(value);
+        if (strategy == null) {
+            throw new IllegalArgumentException("Unknown page load strategy: " + value + " (expected normal|eager|none)");
+        }
+        return strategy;
+    }
+
+    private static List<RequestHandler> networkHandlers() {
+        List<RequestHandler> handlers = new ArrayList<>();
+
+        // Blocking runs first so dropped requests are neither recorded nor looked up in the archive
+        if (ConfigManager.isRequestBlockingEnabled()) {
+            handlers.add(new RequestBlockingHandler(
+                    ConfigManager.getBlockedUrlPatterns(),
+                    ConfigManager.getBlockedResourceTypes(),
+                    ConfigManager.getBlockingAllowlists()));
+        }
+
+        String mode = ConfigManager.getNetworkMode();
+        switch (mode) {
+            case "live":
+                break;
+            case "record":
+            case "replay":
+                NetworkArchive archive = NetworkArchive.at(Path.of(ConfigManager.getNetworkArchiveDir()));
+                handlers.add(new RecordReplayHandler(archive, "record".equals(mode)));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown network mode: " + mode + " (expected live|record|replay)");
         }
 
-        return createLocalDriver(browser, headless);
+        return handlers;
     }
 
     private static WebDriver createRemoteDriver(String browser, boolean headless, String seleniumUrl) {
         try {
             if ("chrome".equals(browser)) {
                 ChromeOptions options = new ChromeOptions();
+                options.setPageLoadStrategy(pageLoadStrategy());
                 if (headless) {
                     options.addArguments("--headless=new");
                     options.addArguments("--window-size=1920,1080");
@@ -59,6 +141,7 @@ public class DriverFactory {
 
             case "firefox": {
                 FirefoxOptions options = new FirefoxOptions();
+                options.setPageLoadStrategy(pageLoadStrategy());
                 if (headless) {
                     options.addArguments("-headless");
                     options.addArguments("--width=1920");
@@ -69,13 +152,16 @@ public class DriverFactory {
             }
 
             case "edge": {
-                driver = new EdgeDriver();
+                EdgeOptions options = new EdgeOptions();
+                options.setPageLoadStrategy(pageLoadStrategy());
+                driver = new EdgeDriver(options);
                 break;
             }
 
             case "chrome":
             default: {
                 ChromeOptions options = new ChromeOptions();
+                options.setPageLoadStrategy(pageLoadStrategy());
                 if (headless) {
                     options.addArguments("--headless=new");
                     options.addArguments("--window-size=1920,1080");
@@ -0,0 +1,321 @@
+package com.insider.driver;
+
+import com.insider.config.ConfigManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Keeps up to {@code size} live WebDriver sessions per browser type so tests can borrow an
+ * already started browser instead of paying a full launch before every test method.
+ * <p>
+ * Sessions are health-checked on borrow, wiped (cookies, storage, extra windows) on release
+ * and evicted once they exceed the configured number of uses or age. Only Chromium sessions
+ * (CDP) can drop the cookies of every visited domain, so other sessions are quit on release.
+ */
+public class DriverPool {
+
+    private static final Logger logger = Logger.getLogger(DriverPool.class.getName());
+
+    private static final Map<String, DriverPool> POOLS = new ConcurrentHashMap<>();
+
+    // Per-origin storage a test can leave behind; cookies are dropped for all domains at once.
+    // sessionStorage lives in the tab: the script in clearCurrentOrigin covers the page it shows,
+    // and closing the extra windows drops theirs.
+    private static final String STORAGE_TYPES = "local_storage,indexeddb,cache_storage,service_workers";
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdownAll, "driver-pool-shutdown"));
+    }
+
+    private final String browser;
+    private final int size;
+    private final int maxUses;
+    private final Duration maxAge;
+    private final Supplier<WebDriver> factory;
+
+    private final BlockingDeque<PooledSession> idle = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, PooledSession> leased = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder resetFailures = new LongAdder();
+    private final LongAdder hitNanos = new LongAdder();
+    private final LongAdder missNanos = new LongAdder();
+    private final AtomicLong maxBorrowNanos = new AtomicLong();
+
+    DriverPool(String browser, int size, int maxUses, Duration maxAge, Supplier<WebDriver> factory) {
+        this.browser = browser;
+        this.size = size;
+        this.maxUses = maxUses;
+        this.maxAge = maxAge;
+        this.factory = factory;
+    }
+
+    public static DriverPool forBrowser(String browser, Supplier<WebDriver> factory) {
+        return POOLS.computeIfAbsent(browser, b -> new DriverPool(
+                b,
+                ConfigManager.getDriverPoolSize(),
+                ConfigManager.getDriverPoolMaxUses(),
+                Duration.ofSeconds(ConfigManager.getDriverPoolMaxAgeSeconds()),
+                factory));
+    }
+
+    public static Map<String, DriverPool> all() {
+        return Map.copyOf(POOLS);
+    }
+
+    public static void shutdownAll() {
+        POOLS.values().forEach(DriverPool::shutdown);
+    }
+
+    // ---------- Borrow / release ----------
+
+    public WebDriver borrow() {
+        long start = System.nanoTime();
+
+        PooledSession session;
+        while ((session = idle.pollFirst()) != null) {
+            if (session.isExpired(maxUses, maxAge)) {
+                evict(session, "expired after " + session.uses + " uses");
+                continue;
+            }
+            if (!session.isHealthy()) {
+                evict(session, "failed health check");
+                continue;
+            }
+            break;
+        }
+
+        boolean hit = session != null;
+        if (!hit) {
+            session = new PooledSession(factory.get());
+        }
+
+        session.uses++;
+        leased.put(session.driver, session);
+
+        long elapsed = System.nanoTime() - start;
+        (hit ? hits : misses).increment();
+        (hit ? hitNanos : missNanos).add(elapsed);
+        maxBorrowNanos.accumulateAndGet(elapsed, Math::max);
+
+        logger.info("[POOL] " + (hit ? "Reused" : "Started") + " " + browser + " session in "
+                + Duration.ofNanos(elapsed).toMillis() + " ms (use #" + session.uses + ")");
+        return session.driver;
+    }
+
+    public void release(WebDriver driver) {
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            logger.warning("[POOL] Released driver was not borrowed from this pool, quitting it");
+            quitQuietly(driver);
+            return;
+        }
+
+        if (session.isExpired(maxUses, maxAge)) {
+            evict(session, "expired after " + session.uses + " uses");
+            return;
+        }
+
+        // WebDriver alone deletes cookies of the current domain only; the next test must not inherit the others
+        if (!session.clearsAllCookies) {
+            evict(session, "cannot clear cookies of other domains without CDP");
+            return;
+        }
+
+        try {
+            session.reset();
+        } catch (Exception e) {
+            resetFailures.increment();
+            evict(session, "reset failed: " + e.getMessage());
+            return;
+        }
+
+        if (idle.size() >= size) {
+            evict(session, "pool already holds " + size + " idle sessions");
+            return;
+        }
+
+        // LIFO keeps the most recently used (warmest) session at the head
+        idle.offerFirst(session);
+    }
+
+    public void shutdown() {
+        PooledSession session;
+        while ((session = idle.pollFirst()) != null) {
+            quitQuietly(session.driver);
+        }
+    }
+
+    private void evict(PooledSession session, String reason) {
+        logger.info("[POOL] Evicting " + browser + " session: " + reason);
+        evictions.increment();
+        quitQuietly(session.driver);
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception ignored) {
+        }
+    }
+
+    // ---------- Counters ----------
+
+    public Stats stats() {
+        return new Stats(
+                browser,
+                hits.sum(),
+                misses.sum(),
+                evictions.sum(),
+                resetFailures.sum(),
+                idle.size(),
+                leased.size(),
+                Duration.ofNanos(average(hitNanos.sum(), hits.sum())),
+                Duration.ofNanos(average(missNanos.sum(), misses.sum())),
+                Duration.ofNanos(maxBorrowNanos.get())
+        );
+    }
+
+    private static long average(long total, long count) {
+        return count == 0 ? 0 : total / count;
+    }
+
+    public record Stats(String browser,
+                        long hits,
+                        long misses,
+                        long evictions,
+                        long resetFailures,
+                        int idle,
+                        int leased,
+                        Duration avgHitBorrow,
+                        Duration avgMissBorrow,
+                        Duration maxBorrow) {
+
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+
+        /** Launch time the pool avoided, estimated from the average cost of a miss. */
+        public Duration estimatedSavings() {
+            return avgMissBorrow.minus(avgHitBorrow).multipliedBy(hits);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "[POOL] %s: hits=%d misses=%d hitRatio=%.0f%% evictions=%d resetFailures=%d "
+                            + "idle=%d leased=%d avgHitBorrow=%dms avgMissBorrow=%dms maxBorrow=%dms saved~%ds",
+                    browser, hits, misses, hitRatio() * 100, evictions, resetFailures, idle, leased,
+                    avgHitBorrow.toMillis(), avgMissBorrow.toMillis(), maxBorrow.toMillis(),
+                    estimatedSavings().toSeconds());
+        }
+    }
+
+    // ---------- Pooled session ----------
+
+    private static final class PooledSession {
+
+        private final WebDriver driver;
+        private final String primaryHandle;
+        private final boolean clearsAllCookies;
+        private final Instant createdAt = Instant.now();
+        private int uses;
+
+        private PooledSession(WebDriver driver) {
+            this.driver = driver;
+            this.primaryHandle = driver.getWindowHandle();
+            this.clearsAllCookies = driver instanceof HasCdp;
+        }
+
+        private boolean isExpired(int maxUses, Duration maxAge) {
+            return uses >= maxUses || Duration.between(createdAt, Instant.now()).compareTo(maxAge) > 0;
+        }
+
+        private boolean isHealthy() {
+            try {
+                return driver.getWindowHandles().contains(primaryHandle);
+            } catch (Exception e) {
+                return false;
+            }
+        }
+
+        /**
+         * Brings the session back to a blank state: closes every window except the one it
+         * started with, then clears cookies and the web storage of every origin any window
+         * visited (read from the windows' navigation histories) before parking it on about:blank.
+         */
+        private void reset() {
+            HasCdp cdp = (HasCdp) driver;
+            Set<String> visited = new LinkedHashSet<>();
+            for (String handle : driver.getWindowHandles()) {
+                if (!handle.equals(primaryHandle)) {
+                    driver.switchTo().window(handle);
+                    visited.addAll(visitedOrigins(cdp));
+                    driver.close();
+                }
+            }
+            driver.switchTo().window(primaryHandle);
+            visited.addAll(visitedOrigins(cdp));
+            clearCurrentOrigin();
+
+            // Chromium can drop cookies for every domain in one call, not only the current one
+            cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            for (String origin : visited) {
+                cdp.executeCdpCommand("Storage.clearDataForOrigin", Map.of(
+                        "origin", origin, "storageTypes", STORAGE_TYPES));
+            }
+
+            driver.get("about:blank");
+            // the next test starts with an empty history, so only its own origins are cleared after it
+            cdp.executeCdpCommand("Page.resetNavigationHistory", Map.of());
+        }
+
+        /** http(s) origins in the current window's back/forward history (CDP runs in the current window). */
+        @SuppressWarnings("unchecked")
+        private static Set<String> visitedOrigins(HasCdp cdp) {
+            Set<String> origins = new LinkedHashSet<>();
+            Map<String, Object> history = cdp.executeCdpCommand("Page.getNavigationHistory", Map.of());
+            for (Map<String, Object> entry : (List<Map<String, Object>>) history.getOrDefault("entries", List.of())) {
+                try {
+                    URI url = URI.create(String.valueOf(entry.get("url")));
+                    if (url.getScheme() != null && url.getScheme().startsWith("http") && url.getRawAuthority() != null) {
+                        origins.add(url.getScheme() + "://" + url.getRawAuthority());
+                    }
+                } catch (IllegalArgumentException e) {
+                    // not a URL we could have stored anything for
+                }
+            }
+            return origins;
+        }
+
+        private void clearCurrentOrigin() {
+            String url = driver.getCurrentUrl();
+            if (url == null || !url.startsWith("http")) {
+                // about:blank and data: URLs have no cookies or storage to clear
+                return;
+            }
+            driver.manage().deleteAllCookies();
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+        }
+    }
+}
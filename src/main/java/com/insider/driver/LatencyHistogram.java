@@ -0,0 +1,100 @@
+package com.insider.driver;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-linear latency histogram in microseconds (8 sub-buckets per power of two, so
+ * percentiles are within ~12%). Written by a single thread without locks; other threads may
+ * read it at any time, e.g. to merge at the end of the suite.
+ */
+public final class LatencyHistogram {
+
+    private static final int LINEAR = 16;
+    private static final int SUB_BUCKETS = 8;
+    private static final int BUCKETS = LINEAR + (64 - 4) * SUB_BUCKETS;
+
+    private static final int COUNT = BUCKETS;
+    private static final int TOTAL = BUCKETS + 1;
+    private static final int MAX = BUCKETS + 2;
+    private static final int ERRORS = BUCKETS + 3;
+
+    private final AtomicLongArray slots = new AtomicLongArray(BUCKETS + 4);
+
+    /** Single writer only: the owning thread. */
+    public void record(long nanos, boolean failed) {
+        long micros = Math.max(0, nanos / 1_000);
+        increment(bucket(micros), 1);
+        increment(COUNT, 1);
+        increment(TOTAL, micros);
+        if (micros > slots.get(MAX)) {
+            slots.lazySet(MAX, micros);
+        }
+        if (failed) {
+            increment(ERRORS, 1);
+        }
+    }
+
+    private void increment(int slot, long delta) {
+        slots.lazySet(slot, slots.get(slot) + delta);
+    }
+
+    /** Adds {@code other} into this histogram; for merging snapshots, not for concurrent writers. */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < MAX; i++) {
+            slots.addAndGet(i, other.slots.get(i));
+        }
+        slots.accumulateAndGet(MAX, other.slots.get(MAX), Math::max);
+        slots.addAndGet(ERRORS, other.slots.get(ERRORS));
+    }
+
+    public long count() {
+        return slots.get(COUNT);
+    }
+
+    public long errors() {
+        return slots.get(ERRORS);
+    }
+
+    public long totalMicros() {
+        return slots.get(TOTAL);
+    }
+
+    public long maxMicros() {
+        return slots.get(MAX);
+    }
+
+    /** Upper bound of the bucket holding the {@code p} quantile, in microseconds. */
+    public long percentileMicros(double p) {
+        long count = count();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(p * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += slots.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), maxMicros());
+            }
+        }
+        return maxMicros();
+    }
+
+    private static int bucket(long micros) {
+        if (micros < LINEAR) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) (micros >>> (exponent - 3)) & (SUB_BUCKETS - 1);
+        return LINEAR + (exponent - 4) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket < LINEAR) {
+            return bucket;
+        }
+        int exponent = (bucket - LINEAR) / SUB_BUCKETS + 4;
+        int sub = (bucket - LINEAR) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << (exponent - 3)) - 1;
+    }
+}
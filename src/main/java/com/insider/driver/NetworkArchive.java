@@ -0,0 +1,175 @@
+package com.insider.driver;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * On-disk snapshot of HTTP responses keyed by {@code sha256(method + url + sha256(body))}.
+ * Each entry is a {@code <key>.json} metadata file next to a {@code <key>.body} payload, so
+ * archives can be inspected, diffed and refreshed one URL at a time.
+ */
+public final class NetworkArchive {
+
+    private static final Logger logger = Logger.getLogger(NetworkArchive.class.getName());
+
+    private static final Map<Path, NetworkArchive> ARCHIVES = new ConcurrentHashMap<>();
+
+    // The browser already decoded the body, so transport headers must not be replayed
+    private static final Set<String> DROPPED_HEADERS = Set.of("content-encoding", "content-length", "transfer-encoding");
+
+    private final Path dir;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Map<String, Optional<Entry>> loaded = new ConcurrentHashMap<>();
+    private final Set<String> misses = new ConcurrentSkipListSet<>();
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    private NetworkArchive(Path dir) {
+        this.dir = dir;
+    }
+
+    public static NetworkArchive at(Path dir) {
+        return ARCHIVES.computeIfAbsent(dir.toAbsolutePath().normalize(), NetworkArchive::new);
+    }
+
+    public static Map<Path, NetworkArchive> all() {
+        return Map.copyOf(ARCHIVES);
+    }
+
+    public static String key(String method, String url, String body) {
+        return sha256(method + " " + url + " " + sha256(body == null ? "" : body));
+    }
+
+    // ---------- Read / write ----------
+
+    public void save(Entry entry) {
+        String key = key(entry.method(), entry.url(), entry.requestBody());
+        List<Map<String, String>> headers = entry.headers().stream()
+                .filter(h -> !DROPPED_HEADERS.contains(h.getOrDefault("name", "").toLowerCase()))
+                .toList();
+        Entry stored = new Entry(entry.method(), entry.url(), entry.requestBody(),
+                entry.status(), entry.statusText(), headers, null);
+
+        try {
+            Files.createDirectories(dir);
+            writeAtomically(dir.resolve(key + ".body"), entry.body());
+            writeAtomically(dir.resolve(key + ".json"), mapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(stored));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to record " + entry.url() + " into " + dir, e);
+        }
+
+        loaded.put(key, Optional.of(new Entry(stored.method(), stored.url(), stored.requestBody(),
+                stored.status(), stored.statusText(), headers, entry.body())));
+        recorded.increment();
+    }
+
+    /**
+     * Saves {@code entry} unless a response is already archived under its key, so a status-only
+     * entry (e.g. a link check) never replaces the full response the browser recorded.
+     */
+    public boolean saveIfAbsent(Entry entry) {
+        String key = key(entry.method(), entry.url(), entry.requestBody());
+        if (loaded.computeIfAbsent(key, this::read).isPresent()) {
+            return false;
+        }
+        save(entry);
+        return true;
+    }
+
+    public Optional<Entry> find(String method, String url, String requestBody) {
+        String key = key(method, url, requestBody);
+        Optional<Entry> entry = loaded.computeIfAbsent(key, this::read);
+        if (entry.isPresent()) {
+            replayed.increment();
+        } else {
+            missCount.increment();
+            if (misses.add(method + " " + url)) {
+                logger.warning("[NETWORK] Replay miss: " + method + " " + url);
+            }
+        }
+        return entry;
+    }
+
+    private Optional<Entry> read(String key) {
+        Path meta = dir.resolve(key + ".json");
+        if (!Files.exists(meta)) {
+            return Optional.empty();
+        }
+        try {
+            Entry entry = mapper.readValue(meta.toFile(), Entry.class);
+            byte[] body = Files.readAllBytes(dir.resolve(key + ".body"));
+            return Optional.of(new Entry(entry.method(), entry.url(), entry.requestBody(),
+                    entry.status(), entry.statusText(), entry.headers(), body));
+        } catch (IOException e) {
+            logger.warning("[NETWORK] Corrupt archive entry " + meta + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static void writeAtomically(Path target, byte[] bytes) throws IOException {
+        Path tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        Files.write(tmp, bytes);
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // ---------- Reporting ----------
+
+    /**
+     * Writes every URL that could not be replayed to {@code replay-misses.txt} so the archive
+     * can be refreshed deliberately (re-run with {@code network=record}).
+     */
+    public void writeMissReport() {
+        if (misses.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(dir);
+            Files.write(dir.resolve("replay-misses.txt"), misses, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warning("[NETWORK] Could not write replay miss report: " + e.getMessage());
+        }
+    }
+
+    public String summary() {
+        return String.format("[NETWORK] archive %s: recorded=%d replayed=%d misses=%d (unique %d)",
+                dir, recorded.sum(), replayed.sum(), missCount.sum(), misses.size());
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Entry(String method,
+                        String url,
+                        String requestBody,
+                        int status,
+                        String statusText,
+                        List<Map<String, String>> headers,
+                        @JsonIgnore byte[] body) {
+    }
+}
@@ -0,0 +1,212 @@
+package com.insider.driver;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.Augmenter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Routes every request of a Chromium session through a chain of {@link RequestHandler}s using
+ * the DevTools Fetch domain. This is the in-process stand-in for an HTTP proxy: it works the
+ * same for local and remote (grid) sessions and needs no certificates for HTTPS traffic.
+ * <p>
+ * Only raw CDP commands are used, so it is not tied to one of Selenium's versioned
+ * devtools packages.
+ */
+public final class NetworkInterception {
+
+    private static final Logger logger = Logger.getLogger(NetworkInterception.class.getName());
+
+    private static final Map<WebDriver, NetworkInterception> INSTALLED =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final List<String> NETWORK_EVENTS = List.of(
+            "Network.requestWillBeSent",
+            "Network.responseReceived",
+            "Network.loadingFinished",
+            "Network.loadingFailed");
+
+    private final DevTools devTools;
+    private final List<RequestHandler> handlers;
+    private String mainFrameId;
+
+    private NetworkInterception(DevTools devTools, List<RequestHandler> handlers) {
+        this.devTools = devTools;
+        this.handlers = List.copyOf(handlers);
+    }
+
+    /**
+     * Installs the handlers on the driver's browser and returns the driver to use from now on
+     * (remote drivers are augmented to gain DevTools access).
+     */
+    public static WebDriver install(WebDriver driver, List<RequestHandler> handlers) {
+        if (handlers.isEmpty()) {
+            return driver;
+        }
+
+        WebDriver cdpDriver = driver instanceof HasDevTools ? driver : new Augmenter().augment(driver);
+        if (!(cdpDriver instanceof HasDevTools hasDevTools) || hasDevTools.maybeGetDevTools().isEmpty()) {
+            driver.quit();
+            throw new IllegalStateException(
+                    "Network interception needs a Chromium browser with DevTools access (chrome/edge)");
+        }
+
+        DevTools devTools = hasDevTools.getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+
+        NetworkInterception interception = new NetworkInterception(devTools, handlers);
+        interception.enable();
+        INSTALLED.put(cdpDriver, interception);
+        return cdpDriver;
+    }
+
+    public static Optional<NetworkInterception> of(WebDriver driver) {
+        // decorated drivers (e.g. command latency instrumentation) wrap the one that was installed
+        while (driver instanceof WrapsDriver wrapper && !INSTALLED.containsKey(driver)) {
+            driver = wrapper.getWrappedDriver();
+        }
+        return Optional.ofNullable(INSTALLED.get(driver));
+    }
+
+    public <T extends RequestHandler> Optional<T> handler(Class<T> type) {
+        return handlers.stream().filter(type::isInstance).map(type::cast).findFirst();
+    }
+
+    // ---------- CDP plumbing ----------
+
+    private void enable() {
+        // Chromium keeps the top frame's id for the life of the tab, across navigations
+        mainFrameId = mainFrameId();
+
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        patterns.add(Map.of("urlPattern", "*", "requestStage", "Request"));
+        if (handlers.stream().anyMatch(RequestHandler::needsResponses)) {
+            patterns.add(Map.of("urlPattern", "*", "requestStage", "Response"));
+        }
+
+        devTools.addListener(
+                new Event<Map<String, Object>>("Fetch.requestPaused", input -> input.read(Json.MAP_TYPE)),
+                this::onRequestPaused);
+        devTools.send(new Command<>("Fetch.enable", Map.of("patterns", patterns)));
+
+        List<RequestHandler> listeners = handlers.stream().filter(RequestHandler::needsNetworkEvents).toList();
+        if (!listeners.isEmpty()) {
+            for (String method : NETWORK_EVENTS) {
+                devTools.addListener(
+                        new Event<Map<String, Object>>(method, input -> input.read(Json.MAP_TYPE)),
+                        params -> listeners.forEach(handler -> handler.onNetworkEvent(method, params)));
+            }
+            devTools.send(new Command<>("Network.enable", Map.of()));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onRequestPaused(Map<String, Object> event) {
+        String requestId = (String) event.get("requestId");
+        Map<String, Object> raw = (Map<String, Object>) event.get("request");
+
+        String resourceType = (String) event.getOrDefault("resourceType", "Other");
+        Object frameId = event.get("frameId");
+        RequestHandler.Request request = new RequestHandler.Request(
+                (String) raw.get("url"),
+                (String) raw.get("method"),
+                resourceType,
+                (String) raw.getOrDefault("postData", ""),
+                "Document".equals(resourceType) && (frameId == null || frameId.equals(mainFrameId)));
+
+        try {
+            if (event.containsKey("responseStatusCode") || event.containsKey("responseErrorReason")) {
+                if (event.containsKey("responseStatusCode")) {
+                    RequestHandler.Response response = new RequestHandler.Response(
+                            ((Number) event.get("responseStatusCode")).intValue(),
+                            (String) event.getOrDefault("responseStatusText", ""),
+                            (List<Map<String, String>>) event.getOrDefault("responseHeaders", List.of()),
+                            responseBody(requestId));
+                    for (RequestHandler handler : handlers) {
+                        if (handler.needsResponses()) {
+                            handler.onResponse(request, response);
+                        }
+                    }
+                }
+                continueRequest(requestId);
+                return;
+            }
+
+            for (RequestHandler handler : handlers) {
+                RequestHandler.Outcome outcome = handler.onRequest(request);
+                if (outcome != null) {
+                    apply(requestId, outcome);
+                    return;
+                }
+            }
+            continueRequest(requestId);
+
+        } catch (Exception e) {
+            logger.warning("[NETWORK] Interception failed for " + request.url() + ": " + e.getMessage());
+            try {
+                continueRequest(requestId);
+            } catch (Exception ignored) {
+                // request is already resolved or the session is gone
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private String mainFrameId() {
+        Map<String, Object> result = devTools.send(new Command<Map<String, Object>>(
+                "Page.getFrameTree", Map.of(), Json.MAP_TYPE));
+        Map<String, Object> tree = (Map<String, Object>) result.get("frameTree");
+        return (String) ((Map<String, Object>) tree.get("frame")).get("id");
+    }
+
+    private void continueRequest(String requestId) {
+        devTools.send(new Command<>("Fetch.continueRequest", Map.of("requestId", requestId)));
+    }
+
+    private void apply(String requestId, RequestHandler.Outcome outcome) {
+        if (outcome.isFailure()) {
+            devTools.send(new Command<>("Fetch.failRequest",
+                    Map.of("requestId", requestId, "errorReason", outcome.failReason())));
+            return;
+        }
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("requestId", requestId);
+        params.put("responseCode", outcome.status());
+        params.put("responseHeaders", outcome.headers());
+        params.put("body", Base64.getEncoder().encodeToString(outcome.body() == null ? new byte[0] : outcome.body()));
+        devTools.send(new Command<>("Fetch.fulfillRequest", params));
+    }
+
+    private Supplier<byte[]> responseBody(String requestId) {
+        return () -> {
+            try {
+                Map<String, Object> result = devTools.send(new Command<Map<String, Object>>(
+                        "Fetch.getResponseBody", Map.of("requestId", requestId), Json.MAP_TYPE));
+                String body = (String) result.getOrDefault("body", "");
+                return Boolean.TRUE.equals(result.get("base64Encoded"))
+                        ? Base64.getDecoder().decode(body)
+                        : body.getBytes(StandardCharsets.UTF_8);
+            } catch (Exception e) {
+                // redirects and aborted responses have no body
+                return new byte[0];
+            }
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.insider.driver;
+
+import java.util.Optional;
+
+/**
+ * {@code network=record}: lets traffic through and stores every response in the archive.
+ * {@code network=replay}: answers every request from the archive and never touches the
+ * network; unknown requests fail as if the machine were offline and are reported as misses.
+ */
+public class RecordReplayHandler implements RequestHandler {
+
+    private final NetworkArchive archive;
+    private final boolean recording;
+
+    public RecordReplayHandler(NetworkArchive archive, boolean recording) {
+        this.archive = archive;
+        this.recording = recording;
+    }
+
+    @Override
+    public boolean needsResponses() {
+        return recording;
+    }
+
+    @Override
+    public Outcome onRequest(Request request) {
+        if (recording) {
+            return null;
+        }
+
+        Optional<NetworkArchive.Entry> entry = archive.find(request.method(), request.url(), request.postData());
+        return entry
+                .map(e -> Outcome.fulfill(e.status(), e.headers(), e.body()))
+                .orElseGet(() -> Outcome.fail("InternetDisconnected"));
+    }
+
+    @Override
+    public void onResponse(Request request, Response response) {
+        archive.save(new NetworkArchive.Entry(
+                request.method(),
+                request.url(),
+                request.postData(),
+                response.status(),
+                response.statusText(),
+                response.headers(),
+                response.body().get()));
+    }
+}
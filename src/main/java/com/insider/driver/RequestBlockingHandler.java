@@ -0,0 +1,164 @@
+package com.insider.driver;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Drops requests none of the assertions need (analytics, chat widgets, video embeds, tracking
+ * pixels and optionally whole resource types such as Image/Media/Font) before they leave the
+ * browser. The tab's own navigations are never blocked; iframe documents (video embeds, chat
+ * widgets) are matched like any other request.
+ * <p>
+ * Counters are kept per test: {@link #startTest(Collection)} applies the allowlist of the test's
+ * groups and resets them, {@link #finishTest()} returns what was blocked. Bytes saved are
+ * estimated from the average transfer size of requests of the same type that did load.
+ */
+public class RequestBlockingHandler implements RequestHandler {
+
+    private final List<Pattern> blockedUrls;
+    private final Set<String> blockedTypes;
+    private final Map<String, List<Pattern>> allowlistByGroup;
+
+    private volatile List<Pattern> allowed = List.of();
+
+    private final Map<String, LongAdder> blockedByType = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> blockedByHost = new ConcurrentHashMap<>();
+
+    // Learned from Network.* events over the whole session: resourceType -> {count, bytes}
+    private final Map<String, String> typeByRequestId = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder[]> transferByType = new ConcurrentHashMap<>();
+
+    public RequestBlockingHandler(List<String> urlPatterns,
+                                  Collection<String> resourceTypes,
+                                  Map<String, List<String>> allowlistByGroup) {
+        this.blockedUrls = urlPatterns.stream().map(RequestBlockingHandler::glob).toList();
+        this.blockedTypes = resourceTypes.stream().map(String::toLowerCase).collect(Collectors.toSet());
+        this.allowlistByGroup = allowlistByGroup.entrySet().stream().collect(Collectors.toMap(
+                Map.Entry::getKey,
+                e -> e.getValue().stream().map(RequestBlockingHandler::glob).toList()));
+    }
+
+    // ---------- Per-test lifecycle ----------
+
+    public void startTest(Collection<String> groups) {
+        allowed = groups.stream()
+                .flatMap(group -> allowlistByGroup.getOrDefault(group, List.of()).stream())
+                .toList();
+        blockedByType.clear();
+        blockedByHost.clear();
+    }
+
+    public Report finishTest() {
+        Map<String, Long> byType = snapshot(blockedByType);
+        long estimatedBytes = byType.entrySet().stream()
+                .mapToLong(e -> e.getValue() * averageTransfer(e.getKey()))
+                .sum();
+        return new Report(byType.values().stream().mapToLong(Long::longValue).sum(),
+                byType, snapshot(blockedByHost), estimatedBytes);
+    }
+
+    // ---------- RequestHandler ----------
+
+    @Override
+    public Outcome onRequest(Request request) {
+        if (request.mainFrameNavigation()) {
+            return null;
+        }
+        if (allowed.stream().anyMatch(p -> p.matcher(request.url()).matches())) {
+            return null;
+        }
+
+        boolean blocked = blockedTypes.contains(request.resourceType().toLowerCase())
+                || blockedUrls.stream().anyMatch(p -> p.matcher(request.url()).matches());
+        if (!blocked) {
+            return null;
+        }
+
+        blockedByType.computeIfAbsent(request.resourceType(), k -> new LongAdder()).increment();
+        blockedByHost.computeIfAbsent(host(request.url()), k -> new LongAdder()).increment();
+        return Outcome.fail("BlockedByClient");
+    }
+
+    @Override
+    public boolean needsNetworkEvents() {
+        return true;
+    }
+
+    @Override
+    public void onNetworkEvent(String method, Map<String, Object> params) {
+        String requestId = (String) params.get("requestId");
+        switch (method) {
+            case "Network.responseReceived" ->
+                    typeByRequestId.put(requestId, (String) params.getOrDefault("type", "Other"));
+            case "Network.loadingFinished" -> {
+                String type = typeByRequestId.remove(requestId);
+                if (type != null && params.get("encodedDataLength") instanceof Number bytes) {
+                    LongAdder[] transfer = transferByType.computeIfAbsent(type,
+                            k -> new LongAdder[]{new LongAdder(), new LongAdder()});
+                    transfer[0].increment();
+                    transfer[1].add(bytes.longValue());
+                }
+            }
+            case "Network.loadingFailed" -> typeByRequestId.remove(requestId);
+            default -> {
+            }
+        }
+    }
+
+    // ---------- Helpers ----------
+
+    private long averageTransfer(String type) {
+        LongAdder[] transfer = transferByType.get(type);
+        if (transfer == null || transfer[0].sum() == 0) {
+            return 0;
+        }
+        return transfer[1].sum() / transfer[0].sum();
+    }
+
+    private static Map<String, Long> snapshot(Map<String, LongAdder> counters) {
+        Map<String, Long> copy = new TreeMap<>();
+        counters.forEach((k, v) -> copy.put(k, v.sum()));
+        return copy;
+    }
+
+    private static String host(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host == null ? "(none)" : host;
+        } catch (IllegalArgumentException e) {
+            return "(invalid)";
+        }
+    }
+
+    /** Glob with {@code *} wildcards, matched against the full URL. */
+    private static Pattern glob(String pattern) {
+        String regex = Pattern.quote(pattern.trim()).replace("*", "\\E.*\\Q");
+        return Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
+    }
+
+    public record Report(long blocked,
+                         Map<String, Long> blockedByType,
+                         Map<String, Long> blockedByHost,
+                         long estimatedBytesSaved) {
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("Blocked requests: ").append(blocked).append('\n');
+            sb.append("Estimated bytes saved: ").append(estimatedBytesSaved / 1024).append(" KiB\n");
+            sb.append("\nBy resource type:\n");
+            blockedByType.forEach((type, count) -> sb.append("  ").append(type).append(": ").append(count).append('\n'));
+            sb.append("\nBy host:\n");
+            blockedByHost.forEach((host, count) -> sb.append("  ").append(host).append(": ").append(count).append('\n'));
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.insider.driver;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * One stage of the browser network pipeline installed by {@link NetworkInterception}.
+ * Handlers run in registration order; the first one that returns an {@link Outcome}
+ * from {@link #onRequest} decides what happens to the request.
+ */
+public interface RequestHandler {
+
+    /** True when the handler needs to see responses (e.g. to record them). */
+    default boolean needsResponses() {
+        return false;
+    }
+
+    /** Called before the request leaves the browser; return null to let it through. */
+    default Outcome onRequest(Request request) {
+        return null;
+    }
+
+    /** Called once the response headers arrived; the body is fetched lazily. */
+    default void onResponse(Request request, Response response) {
+    }
+
+    /** True when the handler wants passive {@code Network.*} events (no request is paused for them). */
+    default boolean needsNetworkEvents() {
+        return false;
+    }
+
+    /** Receives {@code Network.*} events such as {@code Network.loadingFinished} with their raw params. */
+    default void onNetworkEvent(String method, Map<String, Object> params) {
+    }
+
+    /** {@code mainFrameNavigation} is true for the document loaded into the tab itself, false for iframes. */
+    record Request(String url, String method, String resourceType, String postData, boolean mainFrameNavigation) {
+    }
+
+    record Response(int status, String statusText, List<Map<String, String>> headers, Supplier<byte[]> body) {
+    }
+
+    /** Decision taken for a request instead of sending it to the network. */
+    record Outcome(String failReason, int status, List<Map<String, String>> headers, byte[] body) {
+
+        public static Outcome fail(String cdpErrorReason) {
+            return new Outcome(cdpErrorReason, 0, List.of(), null);
+        }
+
+        public static Outcome fulfill(int status, List<Map<String, String>> headers, byte[] body) {
+            return new Outcome(null, status, headers, body);
+        }
+
+        public boolean isFailure() {
+            return failReason != null;
+        }
+    }
+}
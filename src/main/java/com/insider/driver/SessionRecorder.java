@@ -0,0 +1,399 @@
+package com.insider.driver;
+
+import com.insider.config.ConfigManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Flight recorder of one browser session: the last {@code failureArtifacts.size} console
+ * entries, network requests and page-object actions, kept as short lines in bounded rings.
+ * <p>
+ * Console and network come from passive DevTools events (Chromium; nothing is paused or fetched
+ * for them) of the session's first tab, actions are reported by the page objects. Nothing is written while tests pass:
+ * {@link #serialize(WebDriver)} turns the rings (plus a DOM digest taken on the spot) into
+ * attachments only for a failed test.
+ */
+public final class SessionRecorder {
+
+    private static final Logger logger = Logger.getLogger(SessionRecorder.class.getName());
+
+    private static final Map<WebDriver, SessionRecorder> INSTALLED =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Lines are cut here so one huge log message or data URL can't defeat the ring bound
+    private static final int MAX_LINE = 400;
+
+    private static final String DOM_DIGEST_SCRIPT = """
+            var shown = function (el) { var r = el.getBoundingClientRect(); return r.width > 0 && r.height > 0; };
+            var texts = function (selector, max) {
+              return Array.from(document.querySelectorAll(selector)).filter(shown).slice(0, max).map(function (el) {
+                return '  ' + el.tagName.toLowerCase() + ': '
+                    + (el.innerText || el.value || '').trim().replace(/\\s+/g, ' ').slice(0, 160);
+              });
+            };
+            var active = document.activeElement;
+            return ['url: ' + location.href,
+                    'title: ' + document.title,
+                    'readyState: ' + document.readyState,
+                    'elements: ' + document.getElementsByTagName('*').length
+                        + ', iframes: ' + document.getElementsByTagName('iframe').length,
+                    'viewport: ' + innerWidth + 'x' + innerHeight + ', scroll: ' + scrollX + ',' + scrollY
+                        + ' of ' + document.documentElement.scrollHeight,
+                    'focus: ' + (active ? active.tagName.toLowerCase() + (active.id ? '#' + active.id : '') : 'none'),
+                    'headings:'].concat(texts('h1, h2, h3', 15),
+                    ['alerts / dialogs / errors:'],
+                    texts('[role=alert], [role=dialog], dialog[open], [aria-invalid=true], .error, .alert', 10))
+                .join('\\n');
+            """;
+
+    enum Channel { CONSOLE, NETWORK, ACTIONS }
+
+    private static final LongAdder[] recorded = adders();
+    private static final LongAdder[] evicted = adders();
+    private static final LongAdder sessions = new LongAdder();
+    private static final AtomicLong peakRetainedChars = new AtomicLong();
+    private static final LongAdder serialized = new LongAdder();
+    private static final LongAdder serializedChars = new LongAdder();
+    private static final LongAdder serializeNanos = new LongAdder();
+
+    private final int capacity;
+    private final Ring console;
+    private final Ring network;
+    private final Ring actions;
+    private final boolean devTools;
+    private final AtomicLong retainedChars = new AtomicLong();
+
+    // requestId -> request still waiting for its response / end, bounded like the rings
+    private final Map<String, Request> inFlight;
+
+    private volatile long startNanos = System.nanoTime();
+
+    private SessionRecorder(int capacity, boolean devTools) {
+        this.capacity = capacity;
+        this.console = new Ring(Channel.CONSOLE, capacity);
+        this.network = new Ring(Channel.NETWORK, capacity);
+        this.actions = new Ring(Channel.ACTIONS, capacity);
+        this.devTools = devTools;
+        this.inFlight = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Request> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Attaches a recorder to the session when {@code failureArtifacts=true} and returns the
+     * driver to use from now on (remote drivers are augmented to gain DevTools access).
+     */
+    public static WebDriver install(WebDriver driver) {
+        if (!ConfigManager.isFailureArtifactsEnabled()) {
+            return driver;
+        }
+        int capacity = Math.max(1, ConfigManager.getFailureArtifactsSize());
+
+        WebDriver cdpDriver = driver;
+        if (!(driver instanceof HasDevTools) && driver.getClass() == RemoteWebDriver.class) {
+            cdpDriver = new Augmenter().augment(driver);
+        }
+
+        SessionRecorder recorder;
+        if (cdpDriver instanceof HasDevTools hasDevTools && hasDevTools.maybeGetDevTools().isPresent()) {
+            recorder = new SessionRecorder(capacity, true);
+            try {
+                recorder.listen(hasDevTools.getDevTools());
+            } catch (Exception e) {
+                logger.warning("[ARTIFACTS] Console/network recording unavailable: " + e.getMessage());
+                recorder = new SessionRecorder(capacity, false);
+            }
+        } else {
+            // Firefox/Safari: actions and the DOM digest only
+            recorder = new SessionRecorder(capacity, false);
+        }
+        INSTALLED.put(cdpDriver, recorder);
+        sessions.increment();
+        return cdpDriver;
+    }
+
+    public static Optional<SessionRecorder> of(WebDriver driver) {
+        // decorated drivers (e.g. command latency instrumentation) wrap the one that was installed
+        while (driver instanceof WrapsDriver wrapper && !INSTALLED.containsKey(driver)) {
+            driver = wrapper.getWrappedDriver();
+        }
+        return Optional.ofNullable(INSTALLED.get(driver));
+    }
+
+    /** Empties the rings, e.g. when a pooled session starts its next test. */
+    public void reset() {
+        console.clear();
+        network.clear();
+        actions.clear();
+        synchronized (inFlight) {
+            inFlight.clear();
+        }
+        startNanos = System.nanoTime();
+    }
+
+    /** Records a page-object action such as a click or navigation. */
+    public void action(String description) {
+        actions.add(description);
+    }
+
+    // ---------- DevTools events ----------
+
+    private void listen(DevTools devTools) {
+        devTools.createSessionIfThereIsNotOne();
+        on(devTools, "Runtime.consoleAPICalled", this::onConsole);
+        on(devTools, "Runtime.exceptionThrown", this::onException);
+        on(devTools, "Log.entryAdded", this::onLogEntry);
+        on(devTools, "Network.requestWillBeSent", this::onRequest);
+        on(devTools, "Network.responseReceived", this::onResponse);
+        on(devTools, "Network.loadingFinished", this::onFinished);
+        on(devTools, "Network.loadingFailed", this::onFailed);
+        devTools.send(new Command<>("Runtime.enable", Map.of()));
+        devTools.send(new Command<>("Log.enable", Map.of()));
+        devTools.send(new Command<>("Network.enable", Map.of()));
+    }
+
+    private static void on(DevTools devTools, String method, Consumer<Map<String, Object>> handler) {
+        devTools.addListener(new Event<Map<String, Object>>(method, input -> input.read(Json.MAP_TYPE)), params -> {
+            try {
+                handler.accept(params);
+            } catch (RuntimeException e) {
+                logger.fine("[ARTIFACTS] Unexpected " + method + " event: " + e.getMessage());
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onConsole(Map<String, Object> event) {
+        StringBuilder text = new StringBuilder();
+        for (Map<String, Object> arg : (List<Map<String, Object>>) event.getOrDefault("args", List.of())) {
+            Object value = arg.containsKey("value") ? arg.get("value") : arg.getOrDefault("description", arg.get("type"));
+            text.append(text.length() == 0 ? "" : " ").append(value);
+        }
+        console.add(event.get("type") + ": " + text);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onException(Map<String, Object> event) {
+        Map<String, Object> details = (Map<String, Object>) event.get("exceptionDetails");
+        Map<String, Object> exception = (Map<String, Object>) details.get("exception");
+        Object description = exception != null && exception.get("description") != null
+                ? exception.get("description") : details.get("text");
+        console.add("uncaught: " + description + " (" + details.getOrDefault("url", "") + ":"
+                + details.get("lineNumber") + ")");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onLogEntry(Map<String, Object> event) {
+        Map<String, Object> entry = (Map<String, Object>) event.get("entry");
+        console.add(entry.get("level") + " [" + entry.get("source") + "]: " + entry.get("text")
+                + (entry.get("url") != null ? " " + entry.get("url") : ""));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onRequest(Map<String, Object> event) {
+        Map<String, Object> request = (Map<String, Object>) event.get("request");
+        String url = String.valueOf(request.get("url"));
+        if (url.startsWith("data:")) {
+            return;
+        }
+        String id = String.valueOf(event.get("requestId"));
+        Request previous;
+        synchronized (inFlight) {
+            // a redirect reuses the request id: the hop before it ends here
+            previous = inFlight.put(id, new Request(String.valueOf(request.get("method")), url,
+                    String.valueOf(event.getOrDefault("type", "Other")), System.nanoTime()));
+        }
+        Map<String, Object> redirect = (Map<String, Object>) event.get("redirectResponse");
+        if (previous != null && redirect != null) {
+            network.add(previous.line(String.valueOf(redirect.get("status")), "redirect"));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onResponse(Map<String, Object> event) {
+        Map<String, Object> response = (Map<String, Object>) event.get("response");
+        synchronized (inFlight) {
+            Request request = inFlight.get(String.valueOf(event.get("requestId")));
+            if (request != null) {
+                request.status = String.valueOf(response.get("status"));
+            }
+        }
+    }
+
+    private void onFinished(Map<String, Object> event) {
+        Request request = finished(event);
+        if (request != null) {
+            long bytes = event.get("encodedDataLength") instanceof Number n ? n.longValue() : 0;
+            network.add(request.line(request.status, bytes / 1024 + " KiB"));
+        }
+    }
+
+    private void onFailed(Map<String, Object> event) {
+        Request request = finished(event);
+        if (request != null) {
+            network.add(request.line("FAILED", event.get("errorText")
+                    + (Boolean.TRUE.equals(event.get("canceled")) ? " (canceled)" : "")));
+        }
+    }
+
+    private Request finished(Map<String, Object> event) {
+        synchronized (inFlight) {
+            return inFlight.remove(String.valueOf(event.get("requestId")));
+        }
+    }
+
+    private static final class Request {
+        private final String method;
+        private final String url;
+        private final String type;
+        private final long startNanos;
+        private volatile String status = "-";
+
+        private Request(String method, String url, String type, long startNanos) {
+            this.method = method;
+            this.url = url;
+            this.type = type;
+            this.startNanos = startNanos;
+        }
+
+        private String line(String outcome, String detail) {
+            return method + " " + outcome + " " + type + " " + (System.nanoTime() - startNanos) / 1_000_000
+                    + " ms " + detail + " " + url;
+        }
+    }
+
+    // ---------- Serialization (failed tests only) ----------
+
+    /**
+     * Attachment name -> content for the current test: the three rings, requests still in
+     * flight and a digest of the page {@code driver} shows now.
+     */
+    public Map<String, String> serialize(WebDriver driver) {
+        long start = System.nanoTime();
+        Map<String, String> attachments = new LinkedHashMap<>();
+        if (devTools) {
+            attachments.put("Console (last " + capacity + ")", console.dump());
+            attachments.put("Network (last " + capacity + ")", network.dump() + inFlightDump());
+        }
+        attachments.put("Actions (last " + capacity + ")", actions.dump());
+        attachments.put("DOM digest", domDigest(driver));
+
+        serialized.increment();
+        attachments.values().forEach(text -> serializedChars.add(text.length()));
+        serializeNanos.add(System.nanoTime() - start);
+        return attachments;
+    }
+
+    private String inFlightDump() {
+        List<Request> pending;
+        synchronized (inFlight) {
+            pending = new ArrayList<>(inFlight.values());
+        }
+        StringBuilder out = new StringBuilder();
+        if (!pending.isEmpty()) {
+            out.append("\nStill in flight:\n");
+            pending.forEach(request -> out.append(request.line(request.status, "pending")).append('\n'));
+        }
+        return out.toString();
+    }
+
+    private static String domDigest(WebDriver driver) {
+        try {
+            return String.valueOf(((JavascriptExecutor) driver).executeScript(DOM_DIGEST_SCRIPT));
+        } catch (Exception e) {
+            return "DOM digest unavailable: " + e.getMessage();
+        }
+    }
+
+    /** Bounded, thread-safe line buffer; DevTools events arrive on the connection's thread. */
+    private final class Ring {
+        private final Channel channel;
+        private final int capacity;
+        private final Deque<String> lines = new ArrayDeque<>();
+        private long chars;
+
+        private Ring(Channel channel, int capacity) {
+            this.channel = channel;
+            this.capacity = capacity;
+        }
+
+        void add(String line) {
+            String entry = String.format("+%6d ms  %s", (System.nanoTime() - startNanos) / 1_000_000,
+                    line.length() > MAX_LINE ? line.substring(0, MAX_LINE) + "..." : line);
+            recorded[channel.ordinal()].increment();
+            long delta = entry.length();
+            synchronized (this) {
+                if (lines.size() == capacity) {
+                    delta -= lines.removeFirst().length();
+                    evicted[channel.ordinal()].increment();
+                }
+                lines.addLast(entry);
+                chars += delta;
+            }
+            peakRetainedChars.accumulateAndGet(retainedChars.addAndGet(delta), Math::max);
+        }
+
+        synchronized void clear() {
+            lines.clear();
+            retainedChars.addAndGet(-chars);
+            chars = 0;
+        }
+
+        synchronized String dump() {
+            return lines.isEmpty() ? "(nothing recorded)" : String.join("\n", lines);
+        }
+    }
+
+    // ---------- Statistics ----------
+
+    public static boolean isEmpty() {
+        return sessions.sum() == 0;
+    }
+
+    public static String summary() {
+        StringBuilder channels = new StringBuilder();
+        for (Channel channel : Channel.values()) {
+            channels.append(channel.name().toLowerCase()).append('=').append(recorded[channel.ordinal()].sum())
+                    .append(" (evicted ").append(evicted[channel.ordinal()].sum()).append(") ");
+        }
+        long failures = serialized.sum();
+        return String.format("[ARTIFACTS] sessions=%d recorded %speak retained~%d KiB per session;"
+                        + " serialized for %d failed tests (%d KiB, avg %d ms)",
+                sessions.sum(), channels, peakRetainedChars.get() / 1024,
+                failures, serializedChars.sum() / 1024,
+                failures == 0 ? 0 : serializeNanos.sum() / failures / 1_000_000);
+    }
+
+    private static LongAdder[] adders() {
+        LongAdder[] adders = new LongAdder[Channel.values().length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
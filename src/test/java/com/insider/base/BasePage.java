@@ -1,19 +1,45 @@
 package com.insider.base;
 
+import com.insider.config.ConfigManager;
+import com.insider.driver.SessionRecorder;
+import com.insider.testdata.PerformanceBudget;
+import com.insider.utils.RunHistory;
+import io.qameta.allure.Allure;
+import org.jsoup.select.Elements;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 public class BasePage {
 
     protected final WebDriver driver;
     protected final Logger logger = Logger.getLogger(getClass().getName());
+    protected final WaitEngine waits = WaitEngine.current();
 
     private static final Duration DEFAULT_WAIT = Duration.ofSeconds(10);
 
+    // Fastest first: a page can wait longer than the session strategy, never shorter
+    private static final List<String> LOAD_STRATEGIES = List.of("none", "eager", "normal");
+    private static final Set<String> SESSION_BOUND_PAGES = ConcurrentHashMap.newKeySet();
+
+    private static final String LINK_TARGETS_SCRIPT = """
+            var seen = new Set(), urls = [];
+            arguments[0].forEach(function (root) {
+              root.querySelectorAll('a[href], img[src]').forEach(function (el) {
+                var url = el.tagName === 'IMG' ? el.src : el.href;
+                if (url && !seen.has(url)) { seen.add(url); urls.push(url); }
+              });
+            });
+            return urls;
+            """;
+
     // Cookie banner locators
     private final By cookieBar = By.id("cookie-law-info-bar");
     private final By acceptNecessaryButton = By.id("wt-cli-accept-btn");
@@ -28,9 +54,210 @@ public class BasePage {
     // ---------- Navigation ----------
 
     public void open(String url) {
-        logger.info("[BasePage] Navigating to: " + url);
-        driver.get(url);
-        acceptCookiesIfPresent();
+        open(url, false);
+    }
+
+    /**
+     * Loads {@code url}, unless the session already shows it and nothing was done to it since
+     * (see {@link PageState}); a page that was only scrolled is scrolled back to the top instead.
+     * {@code force} always loads it, e.g. to reset client-side state the helpers can't see.
+     */
+    public void open(String url, boolean force) {
+        if (!force && ConfigManager.isNavigationDedupEnabled()) {
+            PageState.Reuse reuse = PageState.check(driver, url);
+            if (reuse != PageState.Reuse.NAVIGATE) {
+                logger.info("[BasePage] Already on " + url + " (" + PageState.describe(driver) + "), "
+                        + (reuse == PageState.Reuse.SKIP ? "skipping navigation" : "scrolled back to top"));
+                Allure.step("Reuse current page " + url + (reuse == PageState.Reuse.SKIP ? "" : " (scrolled to top)"));
+                recordAction("open " + url + " (reused, " + reuse.name().toLowerCase() + ")");
+                return;
+            }
+        }
+
+        String strategy = effectiveLoadStrategy(pageLoadStrategy());
+        logger.info("[BasePage] Navigating to: " + url + " (page load strategy: " + strategy + ")");
+        DomSnapshot.invalidate(driver);
+
+        Optional<String> bannerDomain = ConsentCookies.bannerDomain(url);
+        boolean consentSeeded = bannerDomain.isPresent() && seedConsent(bannerDomain.get());
+
+        long start = System.nanoTime();
+        navigate(url, strategy);
+        long elapsed = System.nanoTime() - start;
+
+        NavigationTimings.record(getClass().getSimpleName(), strategy, elapsed);
+        RunHistory.sample("page:" + getClass().getSimpleName() + "#open_ms", elapsed / 1_000_000);
+        logger.info("[BasePage] Page ready in " + elapsed / 1_000_000 + " ms");
+        recordAction("open " + url + " (" + strategy + (force ? ", forced" : "") + ") ready in "
+                + elapsed / 1_000_000 + " ms");
+
+        handleCookieConsent(url, bannerDomain, consentSeeded);
+        PageState.navigated(driver, force);
+
+        if (ConfigManager.isPerformanceCaptureEnabled()) {
+            PagePerformance.capture(driver, getClass().getSimpleName(), performanceBudget());
+        }
+    }
+
+    /**
+     * normal | eager | none for this page object; defaults to {@code pageLoadStrategy.<PageClass>}
+     * or the session strategy from config. Only takes effect when the session strategy is at
+     * least as fast, since the browser itself blocks each navigation per the session strategy.
+     */
+    protected String pageLoadStrategy() {
+        return ConfigManager.getPageLoadStrategy(getClass().getSimpleName());
+    }
+
+    /**
+     * Element that proves the page is usable when not waiting for the full 'load' event.
+     * Null means DOMContentLoaded alone is enough.
+     */
+    protected By readinessAnchor() {
+        return null;
+    }
+
+    /** Budget checked with {@code performance.capture=true}, usually from the page's test data; null: measure only. */
+    protected PerformanceBudget performanceBudget() {
+        return null;
+    }
+
+    // ---------- Checkpoints ----------
+
+    /** Locators a restored checkpoint of this page must match; defaults to the readiness anchor. */
+    protected List<By> checkpointLocators() {
+        By anchor = readinessAnchor();
+        return anchor == null ? List.of() : List.of(anchor);
+    }
+
+    /** Captures the session's current state as checkpoint {@code name}, see {@link SessionCheckpoint}. */
+    public void checkpoint(String name) {
+        if (!ConfigManager.isCheckpointEnabled()) {
+            return;
+        }
+        SessionCheckpoint.capture(driver, name, checkpointLocators());
+        logger.info("[CHECKPOINT] Captured '" + name + "' at " + driver.getCurrentUrl());
+        recordAction("checkpoint '" + name + "' captured");
+    }
+
+    /**
+     * Puts this session at checkpoint {@code name} with a single navigation. Returns false, leaving
+     * the real navigation to the caller, when there is none (or it expired) or the restored page
+     * no longer matches the checkpoint's key locators; such a checkpoint is dropped.
+     */
+    public boolean restoreCheckpoint(String name) {
+        Optional<SessionCheckpoint> checkpoint = SessionCheckpoint.find(name);
+        if (checkpoint.isEmpty()) {
+            return false;
+        }
+        try {
+            return Allure.step("Restore checkpoint '" + name + "'",
+                    (Allure.ThrowableRunnable<Boolean>) () -> restore(checkpoint.get()));
+        } catch (Exception e) {
+            logger.warning("[CHECKPOINT] Could not restore '" + name + "': " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean restore(SessionCheckpoint checkpoint) {
+        String preloadScript = checkpoint.preload(driver);
+        try {
+            open(checkpoint.url(), true);
+        } finally {
+            checkpoint.removePreload(driver, preloadScript);
+        }
+        if (preloadScript == null) {
+            // no CDP: cookies and storage can only be written once on the origin, then reload
+            checkpoint.applyInPage(driver);
+            open(checkpoint.url(), true);
+        }
+
+        List<By> missing = checkpoint.keyLocators().stream().filter(locator -> !isVisible(locator)).toList();
+        if (!missing.isEmpty()) {
+            SessionCheckpoint.invalidate(checkpoint);
+            logger.warning("[CHECKPOINT] '" + checkpoint.name() + "' no longer matches " + missing + ", dropped");
+            recordAction("checkpoint '" + checkpoint.name() + "' dropped, missing " + missing);
+            return false;
+        }
+        checkpoint.restoreScroll(driver);
+        logger.info("[CHECKPOINT] Restored '" + checkpoint.name() + "' at " + checkpoint.url());
+        recordAction("checkpoint '" + checkpoint.name() + "' restored");
+        return true;
+    }
+
+    /**
+     * The strategy a navigation of this page really gets: the browser blocks on its session
+     * strategy whatever the page asks for, so a faster page strategy falls back to the session's.
+     */
+    private String effectiveLoadStrategy(String requested) {
+        String session = sessionPageLoadStrategy();
+        if (LOAD_STRATEGIES.indexOf(requested) >= LOAD_STRATEGIES.indexOf(session)) {
+            return requested;
+        }
+        if (SESSION_BOUND_PAGES.add(getClass().getSimpleName())) {
+            logger.warning("[BasePage] " + getClass().getSimpleName() + " asks for page load strategy '" + requested
+                    + "' but the session uses '" + session + "'; set pageLoadStrategy=" + requested
+                    + " for the session to get it");
+        }
+        return session;
+    }
+
+    // strategy is never faster than the session's (see effectiveLoadStrategy)
+    private void navigate(String url, String strategy) {
+        waits.act(() -> driver.get(url));
+
+        if ("normal".equals(strategy)) {
+            if (!"normal".equals(sessionPageLoadStrategy())) {
+                waitForPage("return document.readyState === 'complete';");
+            }
+            return;
+        }
+
+        if ("eager".equals(strategy)) {
+            waitForPage("return document.readyState !== 'loading';");
+        }
+
+        By anchor = readinessAnchor();
+        if (anchor != null) {
+            waits.until(driver, "visible", anchor,
+                    ExpectedConditions.visibilityOfElementLocated(anchor), pageLoadTimeout());
+        }
+    }
+
+    private void waitForPage(String readyScript) {
+        waits.until(driver, getClass().getSimpleName() + " ready: " + readyScript, d -> {
+            try {
+                return Boolean.TRUE.equals(((JavascriptExecutor) d).executeScript(readyScript));
+            } catch (JavascriptException e) {
+                // the old document was torn down mid-script
+                return false;
+            }
+        }, pageLoadTimeout());
+    }
+
+    private String sessionPageLoadStrategy() {
+        if (driver instanceof HasCapabilities withCapabilities) {
+            Object value = withCapabilities.getCapabilities().getCapability("pageLoadStrategy");
+            if (value != null) {
+                return value.toString().toLowerCase();
+            }
+        }
+        return "normal";
+    }
+
+    private static Duration pageLoadTimeout() {
+        return Duration.ofSeconds(ConfigManager.getPageLoadTimeoutSeconds());
+    }
+
+    /**
+     * One non-blocking readiness probe: the document is parsed and the readiness anchor, if any,
+     * is visible. Used by {@link TabFlow} instead of the blocking waits of {@link #open(String)}.
+     */
+    public boolean isReady() {
+        if (!Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript("return document.readyState !== 'loading';"))) {
+            return false;
+        }
+        By anchor = readinessAnchor();
+        return anchor == null || driver.findElements(anchor).stream().anyMatch(WebElement::isDisplayed);
     }
 
     public String getCurrentUrl() {
@@ -47,75 +274,284 @@ public class BasePage {
         return driver.findElement(locator);
     }
 
+    /** Reads every row of a {@link DomRecord} in one roundtrip, see {@link DomRecordMapper}. */
+    protected <R extends Record> List<R> readAll(Class<R> type) {
+        return DomRecordMapper.mapAll(driver, type);
+    }
+
     protected void click(By locator) {
         logger.info("[BasePage] Clicking element: " + locator);
+        recordAction("click " + locator);
+        DomSnapshot.invalidate(driver);
 
-        WebDriverWait wait = new WebDriverWait(driver, DEFAULT_WAIT);
-        WebElement element = wait.until(ExpectedConditions.elementToBeClickable(locator));
+        WebElement element = waits.until(driver, "clickable", locator,
+                ExpectedConditions.elementToBeClickable(locator), DEFAULT_WAIT);
 
-        try {
-            scrollIntoView(locator);
-            element.click();
-        } catch (ElementClickInterceptedException e) {
-            logger.warning("[BasePage] Click intercepted, using JS click for: " + locator);
-            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
+        Object[] documentBefore = new Object[1];
+        waits.act(() -> {
+            try {
+                documentBefore[0] = scrollIntoView(locator, PageState.DIRTY_MARK);
+                element.click();
+            } catch (ElementClickInterceptedException e) {
+                logger.warning("[BasePage] Click intercepted, using JS click for: " + locator);
+                recordAction("click intercepted, JS click " + locator);
+                ((JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
+            }
+        });
+        if (ConfigManager.isPerformanceCaptureEnabled()) {
+            PagePerformance.clicked(driver, documentBefore[0]);
         }
     }
 
+    /**
+     * Clicks from script, so the call returns as soon as the click is dispatched instead of when
+     * the navigation it starts has loaded; for {@link TabFlow} steps.
+     */
+    protected void clickWithoutWaiting(By locator) {
+        logger.info("[BasePage] Clicking element without waiting: " + locator);
+        recordAction("click (no wait) " + locator);
+        WebElement element = driver.findElement(locator);
+        waits.act(() -> ((JavascriptExecutor) driver).executeScript("arguments[0].click();", element));
+        invalidateSnapshot();
+    }
+
     protected boolean isVisible(By locator) {
+        if (isRenderedInSnapshot(locator)) {
+            return true;
+        }
         try {
-            WebDriverWait wait = new WebDriverWait(driver, DEFAULT_WAIT);
-            wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+            waits.until(driver, "visible", locator,
+                    ExpectedConditions.visibilityOfElementLocated(locator), DEFAULT_WAIT);
+            // it was not in the snapshot but is on the page now: the snapshot is stale
+            DomSnapshot.invalidate(driver);
+            measureIfNavigated();
             return true;
         } catch (TimeoutException e) {
+            recordAction("not visible after " + DEFAULT_WAIT.toSeconds() + "s: " + locator);
             return false;
         }
     }
 
     protected void waitUntilVisible(By locator) {
-        WebDriverWait wait = new WebDriverWait(driver, DEFAULT_WAIT);
-        wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        if (isRenderedInSnapshot(locator)) {
+            return;
+        }
+        waits.until(driver, "visible", locator,
+                ExpectedConditions.visibilityOfElementLocated(locator), DEFAULT_WAIT);
+        DomSnapshot.invalidate(driver);
+        measureIfNavigated();
+    }
+
+    // A click that loaded another document is measured at the first successful wait of the page it led to
+    private void measureIfNavigated() {
+        if (ConfigManager.isPerformanceCaptureEnabled()) {
+            PagePerformance.captureIfNavigated(driver, getClass().getSimpleName(), performanceBudget());
+        }
     }
 
     protected void scrollToBottom() {
         logger.info("[BasePage] Scrolling to bottom of page");
-        ((JavascriptExecutor) driver)
-                .executeScript("window.scrollTo(0, document.body.scrollHeight);");
+        recordAction("scroll to bottom");
+        DomSnapshot.invalidate(driver);
+        waits.act(() -> ((JavascriptExecutor) driver)
+                .executeScript("window.scrollTo(0, document.body.scrollHeight);" + PageState.SCROLLED_MARK));
     }
 
     protected void scrollIntoView(By locator) {
+        scrollIntoView(locator, PageState.SCROLLED_MARK);
+    }
+
+    /**
+     * {@code mark} records in the document what is being done to it, in the same script call.
+     * Returns the document's {@code performance.timeOrigin}, to tell whether a following click navigated.
+     */
+    private Object scrollIntoView(By locator, String mark) {
         logger.info("[BasePage] Scrolling element into view: " + locator);
+        recordAction("scroll into view " + locator);
+        DomSnapshot.invalidate(driver);
         WebElement element = driver.findElement(locator);
-        ((JavascriptExecutor) driver)
-                .executeScript("arguments[0].scrollIntoView({block: 'center'});", element);
+        return ((JavascriptExecutor) driver).executeScript(
+                "arguments[0].scrollIntoView({block: 'center'});" + mark + "return String(performance.timeOrigin);", element);
+    }
+
+    // ---------- Reads (live, or from the DOM snapshot with domSnapshot=true) ----------
+
+    /** Trimmed visible text of the first match, like {@code findElement(locator).getText().trim()}. */
+    protected String textOf(By locator) {
+        return read(locator,
+                (snapshot, found) -> snapshot.text(found.first()).trim(),
+                () -> driver.findElement(locator).getText().trim(), 2);
+    }
+
+    /** Trimmed visible text of every match. */
+    protected List<String> textsOf(By locator) {
+        return read(locator,
+                (snapshot, found) -> found.stream().map(e -> snapshot.text(e).trim()).toList(),
+                () -> driver.findElements(locator).stream().map(e -> e.getText().trim()).toList(),
+                0);
+    }
+
+    protected String attributeOf(By locator, String name) {
+        return read(locator,
+                (snapshot, found) -> snapshot.attribute(found.first(), name),
+                () -> driver.findElement(locator).getAttribute(name), 2);
+    }
+
+    protected int countOf(By locator) {
+        // no match in the snapshot may just mean it is stale: read() then re-checks live
+        return read(locator,
+                (snapshot, found) -> found.size(),
+                () -> driver.findElements(locator).size(), 1);
+    }
+
+    /**
+     * Absolute {@code a[href]} and {@code img[src]} URLs inside every match of {@code scope},
+     * de-duplicated in document order, collected in one script call (or from the DOM snapshot).
+     */
+    protected List<String> linkTargets(By scope) {
+        if (ConfigManager.isDomSnapshotEnabled()) {
+            try {
+                DomSnapshot snapshot = DomSnapshot.of(driver);
+                List<String> urls = snapshot.select(scope).select("a[href], img[src]").stream()
+                        .map(e -> snapshot.attribute(e, "a".equals(e.normalName()) ? "href" : "src"))
+                        .distinct()
+                        .toList();
+                RoundtripCounter.record(getClass().getSimpleName() + " links", "snapshot", 0, urls.size());
+                return urls;
+            } catch (UnsupportedOperationException e) {
+                logger.fine("[DomSnapshot] " + e.getMessage() + ", reading live");
+            }
+        }
+        List<WebElement> roots = driver.findElements(scope);
+        @SuppressWarnings("unchecked")
+        List<String> urls = (List<String>) ((JavascriptExecutor) driver).executeScript(LINK_TARGETS_SCRIPT, roots);
+        RoundtripCounter.record(getClass().getSimpleName() + " links", "live", 2, urls.size());
+        return urls;
+    }
+
+    /**
+     * Call after interacting with the page outside the {@link BasePage} helpers; also makes the
+     * next {@link #open(String)} reload the page.
+     */
+    protected void invalidateSnapshot() {
+        DomSnapshot.invalidate(driver);
+        PageState.touched(driver);
+    }
+
+    /** Adds a line to the session's failure artifacts ({@link SessionRecorder}); no I/O. */
+    protected void recordAction(String action) {
+        SessionRecorder.of(driver).ifPresent(recorder -> recorder.action(getClass().getSimpleName() + ": " + action));
+    }
+
+    /**
+     * Evaluates a read against the session's DOM snapshot; falls back to the browser when the
+     * locator can't be evaluated offline or matches nothing (the snapshot may predate the element).
+     * {@code liveRoundtrips} of 0 means one per match plus the lookup.
+     */
+    private <T> T read(By locator, SnapshotRead<T> offline, Supplier<T> live, int liveRoundtrips) {
+        String counter = getClass().getSimpleName() + " reads";
+        if (ConfigManager.isDomSnapshotEnabled()) {
+            try {
+                DomSnapshot snapshot = DomSnapshot.of(driver);
+                Elements found = snapshot.select(locator);
+                if (!found.isEmpty()) {
+                    RoundtripCounter.record(counter, "snapshot", 0, 1);
+                    return offline.apply(snapshot, found);
+                }
+                DomSnapshot.invalidate(driver);
+            } catch (UnsupportedOperationException e) {
+                logger.fine("[DomSnapshot] " + e.getMessage() + ", reading live");
+            }
+        }
+        T value = live.get();
+        int roundtrips = liveRoundtrips > 0 ? liveRoundtrips
+                : 1 + (value instanceof List<?> list ? list.size() : 1);
+        RoundtripCounter.record(counter, "live", roundtrips, 1);
+        return value;
+    }
+
+    private boolean isRenderedInSnapshot(By locator) {
+        DomSnapshot snapshot = ConfigManager.isDomSnapshotEnabled() ? DomSnapshot.peek(driver) : null;
+        if (snapshot == null) {
+            return false;
+        }
+        try {
+            return snapshot.select(locator).stream().anyMatch(snapshot::isRendered);
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    private interface SnapshotRead<T> {
+        T apply(DomSnapshot snapshot, Elements found);
     }
 
     // ---------- Cookies ----------
 
+    private boolean seedConsent(String domain) {
+        if (!ConsentCookies.hasConsent(domain)) {
+            return false;
+        }
+        try {
+            return Allure.step("Pre-seed cookie consent for " + domain,
+                    (Allure.ThrowableRunnable<Boolean>) () -> ConsentCookies.seed(driver, domain));
+        } catch (Exception e) {
+            logger.warning("[COOKIE] Could not pre-seed consent for " + domain + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void handleCookieConsent(String url, Optional<String> bannerDomain, boolean consentSeeded) {
+        ConsentCookies.setProbeTimeout(DEFAULT_WAIT);
+
+        if (bannerDomain.isEmpty()) {
+            logger.info("[COOKIE] No cookie banner on " + url + ", skipping probe");
+            ConsentCookies.recordSkip();
+            Allure.step("Skip cookie banner probe (no banner on this domain)");
+            return;
+        }
+
+        if (consentSeeded && driver.findElements(cookieBar).stream().noneMatch(WebElement::isDisplayed)) {
+            logger.info("[COOKIE] Consent pre-seeded for " + bannerDomain.get() + ", banner not rendered");
+            return;
+        }
+
+        Allure.step("Handle cookie banner on " + bannerDomain.get(), () -> {
+            long start = System.nanoTime();
+            acceptCookiesIfPresent();
+            ConsentCookies.recordProbe(System.nanoTime() - start);
+        });
+    }
+
     protected void acceptCookiesIfPresent() {
         logger.info("[COOKIE] Trying to handle cookie banner (up to 10s)");
 
         try {
-            WebDriverWait wait = new WebDriverWait(driver, DEFAULT_WAIT);
-
-            WebElement banner = wait.until(
-                    ExpectedConditions.visibilityOfElementLocated(cookieBar)
-            );
+            WebElement banner = waits.until(driver, "visible", cookieBar,
+                    ExpectedConditions.visibilityOfElementLocated(cookieBar), DEFAULT_WAIT);
             logger.info("[COOKIE] Banner is visible");
 
-            WebElement acceptBtn = wait.until(
-                    ExpectedConditions.elementToBeClickable(acceptNecessaryButton)
-            );
+            WebElement acceptBtn = waits.until(driver, "clickable", acceptNecessaryButton,
+                    ExpectedConditions.elementToBeClickable(acceptNecessaryButton), DEFAULT_WAIT);
             logger.info("[COOKIE] Clicking 'Only Necessary'");
-            acceptBtn.click();
+            Set<Cookie> before = driver.manage().getCookies();
+            DomSnapshot.invalidate(driver);
+            waits.act(acceptBtn::click);
 
             try {
-                wait.until(ExpectedConditions.invisibilityOf(banner));
+                waits.until(driver, "invisible", cookieBar,
+                        ExpectedConditions.invisibilityOf(banner), DEFAULT_WAIT);
                 logger.info("[COOKIE] Banner is now hidden after accepting");
             } catch (Exception ignore) {
                 logger.info("[COOKIE] Banner still visible after click (maybe animation)");
             }
 
+            ConsentCookies.bannerDomain(driver.getCurrentUrl()).ifPresent(domain -> {
+                ConsentCookies.capture(domain, before, driver.manage().getCookies());
+                logger.info("[COOKIE] Captured consent cookies for " + domain);
+            });
+
         } catch (TimeoutException e) {
             logger.info("[COOKIE] Banner not shown within timeout, skipping");
         } catch (Exception e) {
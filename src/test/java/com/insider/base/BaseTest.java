@@ -1,79 +1,225 @@
 package com.insider.base;
 
 import com.insider.config.ConfigManager;
+import com.insider.driver.CommandLatency;
 import com.insider.driver.DriverFactory;
+import com.insider.driver.DriverPool;
+import com.insider.driver.NetworkArchive;
+import com.insider.driver.SessionRecorder;
 import com.insider.listeners.AllureListener;
 import com.insider.pages.*;
 import com.insider.testdata.CareersPageData;
 import com.insider.testdata.HomePageData;
 import com.insider.testdata.LeverQaJobsData;
+import com.insider.utils.LeverPostingsOracle;
+import com.insider.utils.LinkVerifier;
+import com.insider.utils.RunHistory;
+import com.insider.utils.ScreenshotPipeline;
 import com.insider.utils.TestDataLoader;
 import io.qameta.allure.testng.AllureTestNg;
 import org.openqa.selenium.WebDriver;
 import org.testng.annotations.*;
 
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.logging.Logger;
 
 @Listeners({AllureListener.class, AllureTestNg.class})
 public class BaseTest {
 
-    protected WebDriver driver;
+    static {
+        CommandLatency.setPageClassifier(type -> BasePage.class.isAssignableFrom(type) && type != BasePage.class);
+    }
+
     protected final Logger logger = Logger.getLogger(getClass().getName());
 
-    protected HomePage homePage;
-    protected HomePageData homeData;
+    // One context per running test, confined to its thread: test instances are shared
+    // between threads when TestNG runs methods or data-provider rows in parallel.
+    private static final ThreadLocal<TestContext> CONTEXT = new ThreadLocal<>();
 
-    protected CareersPage careersPage;
-    protected CareersPageData careersData;
+    /** Driver of the test running on the calling thread, or null outside a test. */
+    public static WebDriver currentDriver() {
+        TestContext context = CONTEXT.get();
+        return context == null ? null : context.driver();
+    }
 
-    protected LeverQaJobsPage qaJobsPage;
-    protected LeverQaJobsData leverQaData;
+    public WebDriver getDriver() {
+        return currentDriver();
+    }
 
-    protected LeverJobDetailPage leverJobDetailPage;
-    protected LeverApplyJobPage leverApplyPage;
+    protected TestContext context() {
+        TestContext context = CONTEXT.get();
+        if (context == null) {
+            throw new IllegalStateException("No test context on thread " + Thread.currentThread().getName()
+                    + " (setUp did not run on this thread)");
+        }
+        return context;
+    }
 
-    public WebDriver getDriver() {
-        return driver;
+    protected WebDriver driver() {
+        return context().driver();
     }
 
-    @BeforeMethod(alwaysRun = true)
-    public void setUp() {
-        String browser = ConfigManager.getBrowser();
-        logger.info("[SETUP] Starting browser: " + browser);
+    protected HomePage homePage() {
+        return context().homePage();
+    }
 
-        driver = DriverFactory.createDriver();
+    protected HomePageData homeData() {
+        return context().homeData();
+    }
 
-        homePage = new HomePage(driver);
-        homeData = TestDataLoader.load(
-                "testdata/homepage.json",
-                HomePageData.class);
+    protected CareersPage careersPage() {
+        return context().careersPage();
+    }
 
-        careersPage = new CareersPage(driver);
-        careersData = TestDataLoader.load(
-                "testdata/careerspage.json",
-                CareersPageData.class
-        );
+    protected CareersPageData careersData() {
+        return context().careersData();
+    }
 
-        qaJobsPage = new LeverQaJobsPage(driver);
+    protected LeverQaJobsPage qaJobsPage() {
+        return context().qaJobsPage();
+    }
 
-        leverJobDetailPage = new LeverJobDetailPage(driver);
-        leverQaData = TestDataLoader.load(
-                "testdata/leverQAjobs.json",
-                LeverQaJobsData.class
-        );
+    protected LeverQaJobsData leverQaData() {
+        return context().leverQaData();
+    }
 
-        leverApplyPage = new LeverApplyJobPage(driver);
+    protected LeverJobDetailPage leverJobDetailPage() {
+        return context().leverJobDetailPage();
+    }
+
+    protected LeverApplyJobPage leverApplyPage() {
+        return context().leverApplyPage();
+    }
+
+    @BeforeMethod(alwaysRun = true)
+    public void setUp() {
+        String browser = ConfigManager.getBrowser();
+        logger.info("[SETUP] Starting browser: " + browser + " on thread " + Thread.currentThread().getName());
+
+        WebDriver driver = DriverFactory.acquireDriver();
+        try {
+            SessionGuard.claim(driver);
+        } catch (IllegalStateException e) {
+            DriverFactory.releaseDriver(driver);
+            throw e;
+        }
+        // a pooled session's page belongs to the previous test
+        PageState.forget(driver);
+        SessionRecorder.of(driver).ifPresent(SessionRecorder::reset);
+        CONTEXT.set(new TestContext(driver));
 
         logger.info("[SETUP] Driver and page objects initialized");
     }
 
     @AfterMethod(alwaysRun = true)
     public void tearDown() {
-        if (driver != null) {
-            logger.info("[TEARDOWN] Quitting driver");
-            driver.quit();
-            logger.info("[TEARDOWN] Driver quit successfully");
+        TestContext context = CONTEXT.get();
+        CONTEXT.remove();
+        if (context != null) {
+            logger.info("[TEARDOWN] Releasing driver");
+            SessionGuard.release(context.driver());
+            DriverFactory.releaseDriver(context.driver());
+            logger.info("[TEARDOWN] Driver released successfully");
+        }
+    }
+
+    /**
+     * Brings the session to checkpoint {@code name} on {@code page}: restored when another test
+     * already captured it, otherwise {@code steps} run and their end state is captured.
+     */
+    protected void resumeAt(String name, BasePage page, Runnable steps) {
+        if (page.restoreCheckpoint(name)) {
+            return;
+        }
+        steps.run();
+        page.checkpoint(name);
+    }
+
+    // A work-stealing worker runs one TestNG suite per work item and keeps its pool across them
+    private static volatile boolean suiteMetricsDeferred;
+
+    /** Leaves pool shutdown and metrics to an explicit {@link #logSuiteMetrics()} at JVM end. */
+    public static void deferSuiteMetrics() {
+        suiteMetricsDeferred = true;
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void reportSuiteMetrics() {
+        if (!suiteMetricsDeferred) {
+            logSuiteMetrics();
         }
     }
+
+    public static void logSuiteMetrics() {
+        Logger logger = Logger.getLogger(BaseTest.class.getName());
+        logger.info(SessionGuard.summary());
+
+        DriverPool.all().values().forEach(pool -> logger.info(pool.stats().toString()));
+        DriverPool.shutdownAll();
+
+        if (!NavigationTimings.isEmpty()) {
+            logger.info(NavigationTimings.summary());
+        }
+
+        if (!PageState.isEmpty()) {
+            logger.info(PageState.summary());
+        }
+
+        if (!PagePerformance.isEmpty()) {
+            logger.info(PagePerformance.summary());
+        }
+
+        if (!RunHistory.isEmpty()) {
+            logger.info(RunHistory.summary());
+        }
+
+        if (!RoundtripCounter.isEmpty()) {
+            logger.info(RoundtripCounter.summary());
+        }
+
+        if (!TestDataLoader.isEmpty()) {
+            logger.info(TestDataLoader.stats());
+        }
+
+        if (!CommandLatency.isEmpty()) {
+            CommandLatency.writeReport(Path.of(ConfigManager.getCommandLatencyReport()));
+        }
+
+        if (!ConsentCookies.isEmpty()) {
+            logger.info(ConsentCookies.summary());
+        }
+
+        if (WaitEngine.hasStats()) {
+            logger.info(WaitEngine.statsSummary());
+        }
+
+        if (!SessionCheckpoint.isEmpty()) {
+            logger.info(SessionCheckpoint.summary());
+        }
+
+        if (!SessionRecorder.isEmpty()) {
+            logger.info(SessionRecorder.summary());
+        }
+
+        ScreenshotPipeline.flush();
+        if (!ScreenshotPipeline.isEmpty()) {
+            logger.info(ScreenshotPipeline.summary());
+        }
+
+        if (!LinkVerifier.isEmpty()) {
+            logger.info(LinkVerifier.summary());
+            LinkVerifier.shutdown();
+        }
+
+        if (!LeverPostingsOracle.isEmpty()) {
+            logger.info(LeverPostingsOracle.summary());
+            LeverPostingsOracle.shutdown();
+        }
+
+        NetworkArchive.all().values().forEach(archive -> {
+            logger.info(archive.summary());
+            archive.writeMissReport();
+        });
+    }
 }
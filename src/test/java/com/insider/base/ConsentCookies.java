@@ -0,0 +1,136 @@
+package com.insider.base;
+
+import com.insider.config.ConfigManager;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Cookie jar of consent state per banner domain ({@code cookieBanner.domains}).
+ * <p>
+ * The first time a banner is accepted the cookies it set are captured; every later
+ * {@link BasePage#open(String)} on that domain, in any session of the run (pooled or new),
+ * writes them into the browser through CDP {@code Network.setCookies} before the navigation,
+ * so the banner never renders and no probe wait is needed. Pages outside the banner domains
+ * are not probed at all.
+ */
+public final class ConsentCookies {
+
+    private static final Map<String, List<Cookie>> JAR = new ConcurrentHashMap<>();
+
+    private static final LongAdder probes = new LongAdder();
+    private static final LongAdder probeNanos = new LongAdder();
+    private static final LongAdder seeded = new LongAdder();
+    private static final LongAdder skipped = new LongAdder();
+
+    // a skipped page would have waited the full probe timeout for a banner that never comes
+    private static volatile Duration probeTimeout = Duration.ZERO;
+
+    private ConsentCookies() {
+    }
+
+    /** The configured banner domain {@code url} belongs to, if any. */
+    public static Optional<String> bannerDomain(String url) {
+        String host = host(url);
+        if (host == null) {
+            return Optional.empty();
+        }
+        return ConfigManager.getCookieBannerDomains().stream()
+                .filter(domain -> host.equals(domain) || host.endsWith("." + domain))
+                .findFirst();
+    }
+
+    /**
+     * Writes the captured consent cookies for {@code domain} into the browser before it loads
+     * a page. Returns false when nothing was captured yet or the browser has no CDP access.
+     */
+    public static boolean seed(WebDriver driver, String domain) {
+        List<Cookie> cookies = JAR.get(domain);
+        if (cookies == null || !ConfigManager.isConsentPreseedEnabled() || !(driver instanceof HasCdp cdp)) {
+            return false;
+        }
+
+        List<Map<String, Object>> params = new ArrayList<>();
+        for (Cookie cookie : cookies) {
+            Map<String, Object> param = new HashMap<>();
+            param.put("name", cookie.getName());
+            param.put("value", cookie.getValue());
+            param.put("domain", cookie.getDomain() != null ? cookie.getDomain() : domain);
+            param.put("path", cookie.getPath() != null ? cookie.getPath() : "/");
+            param.put("secure", cookie.isSecure());
+            param.put("httpOnly", cookie.isHttpOnly());
+            if (cookie.getExpiry() != null) {
+                param.put("expires", cookie.getExpiry().getTime() / 1000);
+            }
+            params.add(param);
+        }
+        cdp.executeCdpCommand("Network.setCookies", Map.of("cookies", params));
+        seeded.increment();
+        return true;
+    }
+
+    /** Stores the cookies that appeared or changed while the banner was being accepted. */
+    public static void capture(String domain, Set<Cookie> before, Set<Cookie> after) {
+        Map<String, String> previous = before.stream()
+                .collect(Collectors.toMap(Cookie::getName, Cookie::getValue, (a, b) -> b));
+        List<Cookie> consent = after.stream()
+                .filter(c -> !c.getValue().equals(previous.get(c.getName())))
+                .toList();
+        if (!consent.isEmpty()) {
+            JAR.put(domain, consent);
+        }
+    }
+
+    public static boolean hasConsent(String domain) {
+        return JAR.containsKey(domain);
+    }
+
+    // ---------- Statistics ----------
+
+    public static void recordProbe(long nanos) {
+        probes.increment();
+        probeNanos.add(nanos);
+    }
+
+    public static void recordSkip() {
+        skipped.increment();
+    }
+
+    public static void setProbeTimeout(Duration timeout) {
+        probeTimeout = timeout;
+    }
+
+    public static boolean isEmpty() {
+        return probes.sum() + seeded.sum() + skipped.sum() == 0;
+    }
+
+    public static String summary() {
+        long probeCount = probes.sum();
+        long avgProbeMs = probeCount == 0 ? 0 : probeNanos.sum() / probeCount / 1_000_000;
+        long savedMs = seeded.sum() * avgProbeMs + skipped.sum() * probeTimeout.toMillis();
+        return String.format("[COOKIE] banner probes=%d (avg %dms), pre-seeded=%d, skipped (no banner)=%d,"
+                        + " estimated probe time saved=%ds, jar=%s",
+                probeCount, avgProbeMs, seeded.sum(), skipped.sum(),
+                savedMs / 1000, JAR.keySet());
+    }
+
+    private static String host(String url) {
+        try {
+            return URI.create(url).getHost();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.insider.base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maps a {@link DomRecord} component to the first element matching a CSS selector inside
+ * the row container. Reads the visible text (trimmed) unless {@link #attribute()} is set.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.RECORD_COMPONENT)
+public @interface DomField {
+
+    /** CSS selector relative to the row container; empty means the container itself. */
+    String value() default "";
+
+    /** Attribute to read instead of the text, with the same semantics as {@code WebElement.getAttribute}. */
+    String attribute() default "";
+
+    /** When true a missing element yields "" instead of a {@code NoSuchElementException}. */
+    boolean optional() default false;
+}
@@ -0,0 +1,19 @@
+package com.insider.base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a record as a row read from the DOM: one instance per element matching the
+ * container CSS selector. Components are filled from {@link DomField} selectors relative
+ * to that container. See {@link DomRecordMapper}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface DomRecord {
+
+    /** CSS selector matching one container element per row. */
+    String value();
+}
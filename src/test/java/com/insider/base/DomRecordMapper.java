@@ -0,0 +1,280 @@
+package com.insider.base;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insider.config.ConfigManager;
+import org.jsoup.nodes.Element;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Reads every row of a {@link DomRecord} with a single {@code executeScript} call.
+ * <p>
+ * The record's {@link DomField} annotations are compiled once per record class into a
+ * browser-side script plus a constructor handle; repeated calls reuse both, so the hot path
+ * is one roundtrip and no reflection. When scripting is unavailable (or
+ * {@code bulkDomExtraction=false}) the same mapping is evaluated with per-element lookups.
+ * With {@code domSnapshot=true} the mapping is evaluated against the session's {@link DomSnapshot}.
+ */
+public final class DomRecordMapper {
+
+    private static final Logger logger = Logger.getLogger(DomRecordMapper.class.getName());
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final Map<Class<?>, Compiled> COMPILED = new ConcurrentHashMap<>();
+
+    // Text mirrors WebElement.getText(): hidden elements read as "", nbsp becomes a space.
+    // Attributes mirror WebElement.getAttribute(): resolved href/src, property before attribute.
+    private static final String SCRIPT_TEMPLATE = """
+            var spec = %s;
+            function text(el) {
+              if (el.getClientRects().length === 0) return '';
+              return el.innerText.replace(/\\u00a0/g, ' ').trim();
+            }
+            function attr(el, name) {
+              if (name === 'href' || name === 'src') return el.hasAttribute(name) ? String(el[name]) : null;
+              var prop = el[name];
+              if (prop !== undefined && prop !== null && typeof prop !== 'object' && typeof prop !== 'function') {
+                return String(prop);
+              }
+              return el.getAttribute(name);
+            }
+            var containers = document.querySelectorAll(%s);
+            var rows = [];
+            for (var i = 0; i < containers.length; i++) {
+              var row = [];
+              for (var j = 0; j < spec.length; j++) {
+                var f = spec[j];
+                var el = f.selector ? containers[i].querySelector(f.selector) : containers[i];
+                if (!el) {
+                  if (!f.optional) return JSON.stringify({missingRow: i, missingField: j});
+                  row.push('');
+                  continue;
+                }
+                var value = f.attribute ? attr(el, f.attribute) : text(el);
+                row.push(value === null ? null : value.trim());
+              }
+              rows.push(row);
+            }
+            return JSON.stringify({rows: rows});
+            """;
+
+    private DomRecordMapper() {
+    }
+
+    public static <R extends Record> List<R> mapAll(WebDriver driver, Class<R> type) {
+        Compiled compiled = COMPILED.computeIfAbsent(type, DomRecordMapper::compile);
+
+        if (ConfigManager.isDomSnapshotEnabled()) {
+            try {
+                return mapFromSnapshot(DomSnapshot.of(driver), compiled, type);
+            } catch (UnsupportedOperationException e) {
+                logger.warning("[DomRecordMapper] " + type.getSimpleName() + " cannot be read from the DOM snapshot: "
+                        + e.getMessage());
+            }
+        }
+
+        if (ConfigManager.isBulkDomExtractionEnabled() && driver instanceof JavascriptExecutor js) {
+            try {
+                return mapInOneRoundtrip(js, compiled, type);
+            } catch (JavascriptException | UnsupportedCommandException | JsonProcessingException e) {
+                logger.warning("[DomRecordMapper] Bulk extraction of " + type.getSimpleName()
+                        + " unavailable, falling back to per-element lookups: " + e.getMessage());
+            }
+        }
+        return mapPerElement(driver, compiled, type);
+    }
+
+    // ---------- Bulk path ----------
+
+    private static <R> List<R> mapInOneRoundtrip(JavascriptExecutor js, Compiled compiled, Class<R> type)
+            throws JsonProcessingException {
+
+        Object json = js.executeScript(compiled.script);
+        if (!(json instanceof String)) {
+            throw new JavascriptException(type.getSimpleName() + " extraction script returned " + json);
+        }
+
+        JsonNode result = MAPPER.readTree((String) json);
+        if (result.has("missingRow")) {
+            throw compiled.missing(result.get("missingRow").asInt(), result.get("missingField").asInt());
+        }
+
+        List<R> records = new ArrayList<>();
+        for (JsonNode row : result.get("rows")) {
+            Object[] values = new Object[compiled.fields.length];
+            for (int i = 0; i < values.length; i++) {
+                JsonNode value = row.get(i);
+                values[i] = value.isNull() ? null : value.asText();
+            }
+            records.add(compiled.construct(values, type));
+        }
+
+        RoundtripCounter.record(type.getSimpleName(), "bulk", 1, records.size());
+        logger.info("[DomRecordMapper] Read " + records.size() + " " + type.getSimpleName()
+                + " rows in 1 roundtrip (bulk)");
+        return records;
+    }
+
+    // ---------- Snapshot path ----------
+
+    private static <R> List<R> mapFromSnapshot(DomSnapshot snapshot, Compiled compiled, Class<R> type) {
+        List<R> records = new ArrayList<>();
+        int row = 0;
+        for (Element container : snapshot.select(compiled.container)) {
+            Object[] values = new Object[compiled.fields.length];
+            for (int i = 0; i < values.length; i++) {
+                Field field = compiled.fields[i];
+
+                Element el = field.css.isEmpty() ? container : container.selectFirst(field.css);
+                if (el == null) {
+                    if (!field.optional) {
+                        throw compiled.missing(row, i);
+                    }
+                    values[i] = "";
+                    continue;
+                }
+
+                String value = field.attribute != null ? snapshot.attribute(el, field.attribute) : snapshot.text(el);
+                values[i] = value == null ? null : value.trim();
+            }
+            records.add(compiled.construct(values, type));
+            row++;
+        }
+
+        RoundtripCounter.record(type.getSimpleName(), "snapshot", 0, records.size());
+        logger.info("[DomRecordMapper] Read " + records.size() + " " + type.getSimpleName() + " rows from the DOM snapshot");
+        return records;
+    }
+
+    // ---------- Per-element fallback ----------
+
+    private static <R> List<R> mapPerElement(WebDriver driver, Compiled compiled, Class<R> type) {
+        int roundtrips = 1;
+        List<WebElement> containers = driver.findElements(compiled.container);
+
+        List<R> records = new ArrayList<>();
+        for (int row = 0; row < containers.size(); row++) {
+            Object[] values = new Object[compiled.fields.length];
+            for (int i = 0; i < values.length; i++) {
+                Field field = compiled.fields[i];
+
+                WebElement el = containers.get(row);
+                if (field.selector != null) {
+                    List<WebElement> matches = el.findElements(field.selector);
+                    roundtrips++;
+                    if (matches.isEmpty()) {
+                        if (!field.optional) {
+                            throw compiled.missing(row, i);
+                        }
+                        values[i] = "";
+                        continue;
+                    }
+                    el = matches.get(0);
+                }
+
+                String value = field.attribute != null ? el.getAttribute(field.attribute) : el.getText();
+                roundtrips++;
+                values[i] = value == null ? null : value.trim();
+            }
+            records.add(compiled.construct(values, type));
+        }
+
+        RoundtripCounter.record(type.getSimpleName(), "per-element", roundtrips, records.size());
+        logger.info("[DomRecordMapper] Read " + records.size() + " " + type.getSimpleName()
+                + " rows in " + roundtrips + " roundtrips (per-element)");
+        return records;
+    }
+
+    // ---------- Compilation (once per record class) ----------
+
+    private static Compiled compile(Class<?> type) {
+        DomRecord domRecord = type.getAnnotation(DomRecord.class);
+        if (!type.isRecord() || domRecord == null) {
+            throw new IllegalArgumentException(type.getName() + " must be a record annotated with @DomRecord");
+        }
+
+        RecordComponent[] components = type.getRecordComponents();
+        Field[] fields = new Field[components.length];
+        Class<?>[] parameterTypes = new Class<?>[components.length];
+        List<Map<String, Object>> spec = new ArrayList<>();
+
+        for (int i = 0; i < components.length; i++) {
+            RecordComponent component = components[i];
+            DomField domField = component.getAnnotation(DomField.class);
+            if (domField == null || component.getType() != String.class) {
+                throw new IllegalArgumentException(type.getSimpleName() + "." + component.getName()
+                        + " must be a String annotated with @DomField");
+            }
+
+            fields[i] = new Field(component.getName(), domField);
+            parameterTypes[i] = String.class;
+
+            Map<String, Object> fieldSpec = new LinkedHashMap<>();
+            fieldSpec.put("selector", domField.value());
+            fieldSpec.put("attribute", domField.attribute());
+            fieldSpec.put("optional", domField.optional());
+            spec.add(fieldSpec);
+        }
+
+        try {
+            var constructor = type.getDeclaredConstructor(parameterTypes);
+            constructor.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup()
+                    .unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, components.length);
+
+            String script = String.format(SCRIPT_TEMPLATE,
+                    MAPPER.writeValueAsString(spec),
+                    MAPPER.writeValueAsString(domRecord.value()));
+
+            return new Compiled(type.getSimpleName(), By.cssSelector(domRecord.value()), fields, handle, script);
+        } catch (ReflectiveOperationException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot compile DOM mapping for " + type.getName(), e);
+        }
+    }
+
+    private record Field(String name, By selector, String attribute, boolean optional, String css) {
+
+        private Field(String name, DomField domField) {
+            this(name,
+                    domField.value().isEmpty() ? null : By.cssSelector(domField.value()),
+                    domField.attribute().isEmpty() ? null : domField.attribute(),
+                    domField.optional(),
+                    domField.value());
+        }
+    }
+
+    private record Compiled(String typeName, By container, Field[] fields, MethodHandle constructor, String script) {
+
+        private <R> R construct(Object[] values, Class<R> type) {
+            try {
+                return type.cast(constructor.invoke(values));
+            } catch (Throwable t) {
+                throw new IllegalStateException("Cannot create " + typeName, t);
+            }
+        }
+
+        private NoSuchElementException missing(int row, int field) {
+            return new NoSuchElementException(typeName + " row " + row + " (" + fields[field].name
+                    + ") has no element matching: " + fields[field].css);
+        }
+    }
+}
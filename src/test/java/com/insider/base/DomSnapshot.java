@@ -0,0 +1,222 @@
+package com.insider.base;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.Elements;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * The rendered DOM of a session, captured with one {@code executeScript} call and parsed in the
+ * JVM (jsoup), so read-only page-object getters can evaluate their {@link By} locators without
+ * further WebDriver roundtrips ({@code domSnapshot=true}).
+ * <p>
+ * The capture marks elements that are not rendered (no layout box, {@code opacity: 0} or
+ * {@code visibility: hidden}) and their computed {@code text-transform}, which lets
+ * {@link #text(Element)} approximate {@code WebElement.getText()}. Any interaction through
+ * {@link BasePage} drops the session's snapshot; the next read captures a fresh one.
+ */
+public final class DomSnapshot {
+
+    private static final Logger logger = Logger.getLogger(DomSnapshot.class.getName());
+
+    private static final Map<WebDriver, DomSnapshot> SNAPSHOTS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final String HIDDEN = "data-snapshot-hidden";
+    private static final String INVISIBLE = "data-snapshot-invisible";
+    private static final String TRANSFORM = "data-snapshot-text-transform";
+
+    private static final Set<String> NON_RENDERED_TAGS = Set.of("script", "style", "noscript", "template", "head");
+    private static final Pattern WHITESPACE = Pattern.compile("[ \\t\\n\\r\\f]+");
+
+    // Live and cloned trees list elements in the same document order, so flags computed on the
+    // live node are written to the clone at the same index.
+    private static final String CAPTURE_SCRIPT = """
+            var live = document.documentElement;
+            var clone = live.cloneNode(true);
+            var liveAll = live.getElementsByTagName('*');
+            var cloneAll = clone.getElementsByTagName('*');
+            for (var i = 0; i < liveAll.length && i < cloneAll.length; i++) {
+              var el = liveAll[i], copy = cloneAll[i];
+              var parentHidden = copy.parentElement && copy.parentElement.hasAttribute('data-snapshot-hidden');
+              var style = window.getComputedStyle(el);
+              if (parentHidden || el.getClientRects().length === 0 || style.opacity === '0') {
+                copy.setAttribute('data-snapshot-hidden', '');
+                continue;
+              }
+              if (style.visibility === 'hidden' || style.visibility === 'collapse') {
+                copy.setAttribute('data-snapshot-invisible', '');
+              }
+              if (style.textTransform && style.textTransform !== 'none') {
+                copy.setAttribute('data-snapshot-text-transform', style.textTransform);
+              }
+            }
+            return [window.location.href, clone.outerHTML];
+            """;
+
+    private final Document document;
+
+    private DomSnapshot(Document document) {
+        this.document = document;
+    }
+
+    /** The session's current snapshot, capturing one if there is none. */
+    public static DomSnapshot of(WebDriver driver) {
+        DomSnapshot snapshot = SNAPSHOTS.get(driver);
+        if (snapshot == null) {
+            snapshot = capture(driver);
+            SNAPSHOTS.put(driver, snapshot);
+        }
+        return snapshot;
+    }
+
+    /** The session's snapshot if one was captured since the last interaction. */
+    public static DomSnapshot peek(WebDriver driver) {
+        return SNAPSHOTS.get(driver);
+    }
+
+    public static void invalidate(WebDriver driver) {
+        SNAPSHOTS.remove(driver);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static DomSnapshot capture(WebDriver driver) {
+        long start = System.nanoTime();
+        List<Object> result = (List<Object>) ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT);
+        Document document = Jsoup.parse((String) result.get(1), (String) result.get(0));
+
+        RoundtripCounter.record("DomSnapshot", "capture", 1, 0);
+        logger.info("[DomSnapshot] Captured " + document.getAllElements().size() + " elements of "
+                + result.get(0) + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return new DomSnapshot(document);
+    }
+
+    // ---------- Locators ----------
+
+    /**
+     * Elements matching {@code locator}, like {@code findElements}. Throws
+     * {@link UnsupportedOperationException} for locators that cannot be evaluated offline.
+     */
+    public Elements select(By locator) {
+        if (!(locator instanceof By.Remotable remotable)) {
+            throw new UnsupportedOperationException("Not a W3C locator: " + locator);
+        }
+        By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+        String value = String.valueOf(parameters.value());
+        try {
+            return switch (parameters.using()) {
+                case "css selector" -> document.select(value);
+                case "xpath" -> document.selectXpath(value);
+                case "id" -> document.getElementsByAttributeValue("id", value);
+                case "class name" -> document.getElementsByClass(value);
+                case "name" -> document.getElementsByAttributeValue("name", value);
+                case "tag name" -> document.getElementsByTag(value);
+                case "link text" -> links(text -> text.equals(value));
+                case "partial link text" -> links(text -> text.contains(value));
+                default -> throw new UnsupportedOperationException("Unsupported locator strategy: " + parameters.using());
+            };
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            // jsoup's CSS/XPath engines reject some selectors browsers accept
+            throw new UnsupportedOperationException("Cannot evaluate " + locator + " offline: " + e.getMessage(), e);
+        }
+    }
+
+    private Elements links(Predicate<String> matches) {
+        return document.select("a[href]").stream()
+                .filter(a -> matches.test(text(a)))
+                .collect(Collectors.toCollection(Elements::new));
+    }
+
+    public boolean isRendered(Element element) {
+        return !element.hasAttr(HIDDEN) && !element.hasAttr(INVISIBLE);
+    }
+
+    // ---------- WebElement equivalents ----------
+
+    /** Visible text as {@code getText()} reports it: hidden content dropped, one line per block. */
+    public String text(Element element) {
+        if (element.hasAttr(HIDDEN)) {
+            return "";
+        }
+        StringBuilder raw = new StringBuilder();
+        render(element, raw);
+        return raw.toString().replace('\u00a0', ' ').lines()
+                .map(String::strip)
+                .filter(line -> !line.isEmpty())
+                .collect(Collectors.joining("\n"));
+    }
+
+    /** Like {@code getAttribute}: {@code href}/{@code src} resolved against the page URL, null if absent. */
+    public String attribute(Element element, String name) {
+        if (!element.hasAttr(name)) {
+            return null;
+        }
+        if ("href".equals(name) || "src".equals(name)) {
+            return element.absUrl(name);
+        }
+        return element.attr(name);
+    }
+
+    private static void render(Node node, StringBuilder out) {
+        if (node instanceof TextNode textNode) {
+            Element parent = (Element) textNode.parent();
+            if (parent != null && !parent.hasAttr(INVISIBLE)) {
+                String text = WHITESPACE.matcher(textNode.getWholeText()).replaceAll(" ");
+                out.append(transform(text, parent.attr(TRANSFORM)));
+            }
+            return;
+        }
+        if (!(node instanceof Element element)
+                || element.hasAttr(HIDDEN)
+                || NON_RENDERED_TAGS.contains(element.normalName())) {
+            return;
+        }
+        if ("br".equals(element.normalName())) {
+            out.append('\n');
+            return;
+        }
+        boolean block = element.isBlock();
+        if (block) {
+            out.append('\n');
+        }
+        for (Node child : element.childNodes()) {
+            render(child, out);
+        }
+        if (block) {
+            out.append('\n');
+        }
+    }
+
+    private static String transform(String text, String textTransform) {
+        return switch (textTransform) {
+            case "uppercase" -> text.toUpperCase();
+            case "lowercase" -> text.toLowerCase();
+            case "capitalize" -> capitalize(text);
+            default -> text;
+        };
+    }
+
+    private static String capitalize(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean wordStart = true;
+        for (char c : text.toCharArray()) {
+            sb.append(wordStart ? Character.toUpperCase(c) : c);
+            wordStart = Character.isWhitespace(c);
+        }
+        return sb.toString();
+    }
+}
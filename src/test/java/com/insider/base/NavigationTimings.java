@@ -0,0 +1,46 @@
+package com.insider.base;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Time spent in {@link BasePage#open(String)} per page object and page load strategy, so a run
+ * with {@code pageLoadStrategy=eager} can be compared with a {@code normal} one page by page.
+ */
+public final class NavigationTimings {
+
+    private static final Map<String, Timing> TIMINGS = new ConcurrentHashMap<>();
+
+    private NavigationTimings() {
+    }
+
+    public static void record(String page, String strategy, long nanos) {
+        Timing timing = TIMINGS.computeIfAbsent(page + " [" + strategy + "]", k -> new Timing());
+        timing.count.increment();
+        timing.totalNanos.add(nanos);
+        timing.maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public static boolean isEmpty() {
+        return TIMINGS.isEmpty();
+    }
+
+    public static String summary() {
+        StringBuilder sb = new StringBuilder("[NAVIGATION] open() timings per page and strategy");
+        new TreeMap<>(TIMINGS).forEach((key, timing) -> {
+            long count = timing.count.sum();
+            sb.append(String.format("%n  %-40s navigations=%d avg=%dms max=%dms",
+                    key, count, timing.totalNanos.sum() / count / 1_000_000, timing.maxNanos.get() / 1_000_000));
+        });
+        return sb.toString();
+    }
+
+    private static final class Timing {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+    }
+}
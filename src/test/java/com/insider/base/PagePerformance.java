@@ -0,0 +1,311 @@
+package com.insider.base;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insider.config.ConfigManager;
+import com.insider.testdata.PerformanceBudget;
+import com.insider.utils.RunHistory;
+import io.qameta.allure.Allure;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Load performance of the pages a test lands on ({@code performance.capture=true}): Navigation
+ * Timing, first and largest contentful paint, layout shift and resource counts/bytes, read in
+ * one (async) script call once the page is ready.
+ * <p>
+ * Each measurement is attached to the current Allure step, appended to
+ * {@code performance.historyFile} and checked against the page's {@link PerformanceBudget}. A
+ * budget overrun fails its own step but not the test right away: {@link #finishTest()} hands the
+ * overruns of the test to {@code AllureListener}, which fails the test at its end.
+ */
+public final class PagePerformance {
+
+    private static final Logger logger = Logger.getLogger(PagePerformance.class.getName());
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // Buffered observers hand over the entries recorded before the call; LCP/CLS are read from them
+    private static final String MEASURE_SCRIPT = """
+            var done = arguments[arguments.length - 1];
+            try {
+              var supported = (window.PerformanceObserver && PerformanceObserver.supportedEntryTypes) || [];
+              var lcp = null, cls = supported.indexOf('layout-shift') >= 0 ? 0 : null;
+              var take = {
+                'largest-contentful-paint': function (e) { lcp = Math.max(lcp || 0, e.renderTime || e.loadTime || e.startTime); },
+                'layout-shift': function (e) { if (!e.hadRecentInput) { cls += e.value; } }
+              };
+              var observers = Object.keys(take).filter(function (type) { return supported.indexOf(type) >= 0; })
+                .map(function (type) {
+                  var observer = new PerformanceObserver(function (list) { list.getEntries().forEach(take[type]); });
+                  observer.observe({type: type, buffered: true});
+                  return {observer: observer, type: type};
+                });
+              setTimeout(function () {
+                observers.forEach(function (o) { o.observer.takeRecords().forEach(take[o.type]); o.observer.disconnect(); });
+                var nav = performance.getEntriesByType('navigation')[0];
+                var paint = performance.getEntriesByName('first-contentful-paint')[0];
+                var resources = performance.getEntriesByType('resource');
+                var bytes = nav ? nav.transferSize : 0;
+                resources.forEach(function (r) { bytes += r.transferSize || 0; });
+                var reached = function (value) { return nav && value > 0 ? value : null; };
+                done({timeOrigin: String(performance.timeOrigin), url: location.href,
+                      ttfb: reached(nav && nav.responseStart), domContentLoaded: reached(nav && nav.domContentLoadedEventEnd),
+                      load: reached(nav && nav.loadEventEnd), fcp: paint ? paint.startTime : null, lcp: lcp, cls: cls,
+                      resources: resources.length, transferBytes: bytes});
+              }, 0);
+            } catch (e) {
+              done({error: String(e)});
+            }
+            """;
+
+    // Document (performance.timeOrigin) a session showed before its last click
+    private static final Map<WebDriver, String> CLICKED_FROM = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final ThreadLocal<List<String>> OVERRUNS = ThreadLocal.withInitial(ArrayList::new);
+
+    private static final Map<String, PageStats> STATS = new ConcurrentHashMap<>();
+
+    private PagePerformance() {
+    }
+
+    /** What one page load cost; null where the browser has no value (yet), e.g. load with eager strategy. */
+    public record Metrics(String page, String url, String timeOrigin, Double ttfbMs, Double domContentLoadedMs,
+                          Double loadMs, Double fcpMs, Double lcpMs, Double cls, int resources, long transferBytes) {
+
+        @Override
+        public String toString() {
+            return String.format("%s%n  url: %s%n  TTFB %s | DOMContentLoaded %s | load %s | FCP %s | LCP %s%n"
+                            + "  CLS %s | resources %d | transfer %d KiB",
+                    page, url, ms(ttfbMs), ms(domContentLoadedMs), ms(loadMs), ms(fcpMs), ms(lcpMs),
+                    cls == null ? "n/a" : String.format("%.3f", cls), resources, transferBytes / 1024);
+        }
+
+        private static String ms(Double value) {
+            return value == null ? "n/a" : Math.round(value) + " ms";
+        }
+    }
+
+    // ---------- Capture ----------
+
+    /** Measures the page the session shows now as {@code page} and checks it against {@code budget} (may be null). */
+    static void capture(WebDriver driver, String page, PerformanceBudget budget) {
+        CLICKED_FROM.remove(driver);
+        Metrics metrics = measure(driver, page);
+        if (metrics != null) {
+            report(metrics, budget);
+        }
+    }
+
+    /** Remembers the document a click started from, so the next wait can tell whether it navigated. */
+    static void clicked(WebDriver driver, Object timeOrigin) {
+        if (timeOrigin != null) {
+            CLICKED_FROM.put(driver, String.valueOf(timeOrigin));
+        }
+    }
+
+    /** After a wait on {@code page}: measures it if the last click led to a new document. */
+    static void captureIfNavigated(WebDriver driver, String page, PerformanceBudget budget) {
+        String before = CLICKED_FROM.remove(driver);
+        if (before == null) {
+            return;
+        }
+        Metrics metrics = measure(driver, page);
+        if (metrics != null && !before.equals(metrics.timeOrigin())) {
+            report(metrics, budget);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Metrics measure(WebDriver driver, String page) {
+        try {
+            Map<String, Object> raw = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(MEASURE_SCRIPT);
+            if (raw == null || raw.containsKey("error")) {
+                logger.warning("[PERFORMANCE] Could not measure " + page + ": " + (raw == null ? "no result" : raw.get("error")));
+                return null;
+            }
+            return new Metrics(page, String.valueOf(raw.get("url")), String.valueOf(raw.get("timeOrigin")),
+                    number(raw.get("ttfb")), number(raw.get("domContentLoaded")), number(raw.get("load")),
+                    number(raw.get("fcp")), number(raw.get("lcp")), number(raw.get("cls")),
+                    ((Number) raw.get("resources")).intValue(), ((Number) raw.get("transferBytes")).longValue());
+        } catch (Exception e) {
+            logger.warning("[PERFORMANCE] Could not measure " + page + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void report(Metrics metrics, PerformanceBudget budget) {
+        List<String> overruns = budget == null ? List.of() : overruns(metrics, budget);
+        logger.info("[PERFORMANCE] " + metrics.toString().replace(System.lineSeparator(), " ")
+                + (overruns.isEmpty() ? "" : " OVER BUDGET: " + overruns));
+        STATS.computeIfAbsent(metrics.page(), k -> new PageStats()).add(metrics, !overruns.isEmpty());
+        appendHistory(metrics, overruns);
+        sampleHistory(metrics);
+
+        String step = "Performance of " + metrics.page() + (budget == null ? "" : " within budget");
+        try {
+            Allure.step(step, () -> {
+                Allure.addAttachment("Performance - " + metrics.page(), "text/plain",
+                        metrics + (overruns.isEmpty() ? "" : "\nOver budget:\n  " + String.join("\n  ", overruns)));
+                if (!overruns.isEmpty() && ConfigManager.isPerformanceBudgetEnforced()) {
+                    throw new AssertionError(metrics.page() + " over budget: " + String.join(", ", overruns));
+                }
+            });
+        } catch (AssertionError e) {
+            // soft assertion: the step is failed, the test goes on and fails at its end
+            OVERRUNS.get().add(e.getMessage());
+        }
+    }
+
+    // Regression baseline: one key per page and metric, CLS in thousandths
+    private static void sampleHistory(Metrics m) {
+        String prefix = "perf:" + m.page() + "#";
+        sampleIfPresent(prefix + "ttfb_ms", m.ttfbMs(), 1);
+        sampleIfPresent(prefix + "dcl_ms", m.domContentLoadedMs(), 1);
+        sampleIfPresent(prefix + "load_ms", m.loadMs(), 1);
+        sampleIfPresent(prefix + "fcp_ms", m.fcpMs(), 1);
+        sampleIfPresent(prefix + "lcp_ms", m.lcpMs(), 1);
+        sampleIfPresent(prefix + "cls_x1000", m.cls(), 1000);
+        RunHistory.sample(prefix + "resources", m.resources());
+        RunHistory.sample(prefix + "transfer_kb", m.transferBytes() / 1024);
+    }
+
+    private static void sampleIfPresent(String key, Double value, int scale) {
+        if (value != null) {
+            RunHistory.sample(key, Math.round(value * scale));
+        }
+    }
+
+    private static List<String> overruns(Metrics m, PerformanceBudget b) {
+        List<String> overruns = new ArrayList<>();
+        check(overruns, "TTFB", m.ttfbMs(), b.getMaxTtfbMs(), "ms");
+        check(overruns, "DOMContentLoaded", m.domContentLoadedMs(), b.getMaxDomContentLoadedMs(), "ms");
+        check(overruns, "load", m.loadMs(), b.getMaxLoadMs(), "ms");
+        check(overruns, "FCP", m.fcpMs(), b.getMaxFcpMs(), "ms");
+        check(overruns, "LCP", m.lcpMs(), b.getMaxLcpMs(), "ms");
+        check(overruns, "CLS", m.cls(), b.getMaxCls(), "");
+        check(overruns, "resources", (double) m.resources(),
+                b.getMaxResources() == null ? null : b.getMaxResources().doubleValue(), "");
+        check(overruns, "transfer", m.transferBytes() / 1024.0,
+                b.getMaxTransferKb() == null ? null : b.getMaxTransferKb().doubleValue(), " KiB");
+        return overruns;
+    }
+
+    private static void check(List<String> overruns, String name, Double actual, Double max, String unit) {
+        if (actual != null && max != null && actual > max) {
+            overruns.add(String.format("%s %s%s > %s%s", name, format(actual), unit, format(max), unit));
+        }
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.format("%.3f", value);
+    }
+
+    private static Double number(Object value) {
+        return value instanceof Number n ? n.doubleValue() : null;
+    }
+
+    // ---------- History ----------
+
+    private static synchronized void appendHistory(Metrics metrics, List<String> overruns) {
+        Path file = Path.of(ConfigManager.getPerformanceHistoryFile());
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("timestamp", System.currentTimeMillis());
+        line.put("page", metrics.page());
+        line.put("url", metrics.url());
+        line.put("ttfbMs", metrics.ttfbMs());
+        line.put("domContentLoadedMs", metrics.domContentLoadedMs());
+        line.put("loadMs", metrics.loadMs());
+        line.put("fcpMs", metrics.fcpMs());
+        line.put("lcpMs", metrics.lcpMs());
+        line.put("cls", metrics.cls());
+        line.put("resources", metrics.resources());
+        line.put("transferBytes", metrics.transferBytes());
+        line.put("overBudget", overruns);
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            // one short append per line: lines of parallel JVMs don't interleave
+            Files.writeString(file, MAPPER.writeValueAsString(line) + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.warning("[PERFORMANCE] Could not append to " + file + ": " + e.getMessage());
+        }
+    }
+
+    // ---------- Soft assertions ----------
+
+    public static void startTest() {
+        OVERRUNS.remove();
+    }
+
+    /** Budget overruns of the current thread's test since {@link #startTest()}. */
+    public static List<String> finishTest() {
+        List<String> overruns = List.copyOf(OVERRUNS.get());
+        OVERRUNS.remove();
+        return overruns;
+    }
+
+    // ---------- Statistics ----------
+
+    public static boolean isEmpty() {
+        return STATS.isEmpty();
+    }
+
+    public static String summary() {
+        StringBuilder sb = new StringBuilder("[PERFORMANCE] page loads measured (see " + ConfigManager.getPerformanceHistoryFile() + ")");
+        new TreeMap<>(STATS).forEach((page, stats) -> {
+            long count = stats.count.sum();
+            sb.append(String.format("%n  %-20s loads=%d avg load=%dms avg LCP=%dms max CLS=%.3f over budget=%d",
+                    page, count, stats.loadMs.sum() / Math.max(1, stats.loads.sum()),
+                    stats.lcpMs.sum() / Math.max(1, stats.lcps.sum()), stats.maxClsMillis.get() / 1000.0,
+                    stats.overBudget.sum()));
+        });
+        return sb.toString();
+    }
+
+    private static final class PageStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder loads = new LongAdder();
+        private final LongAdder loadMs = new LongAdder();
+        private final LongAdder lcps = new LongAdder();
+        private final LongAdder lcpMs = new LongAdder();
+        private final AtomicLong maxClsMillis = new AtomicLong();
+        private final LongAdder overBudget = new LongAdder();
+
+        private void add(Metrics metrics, boolean over) {
+            count.increment();
+            if (metrics.loadMs() != null) {
+                loads.increment();
+                loadMs.add(Math.round(metrics.loadMs()));
+            }
+            if (metrics.lcpMs() != null) {
+                lcps.increment();
+                lcpMs.add(Math.round(metrics.lcpMs()));
+            }
+            if (metrics.cls() != null) {
+                maxClsMillis.accumulateAndGet(Math.round(metrics.cls() * 1000), Math::max);
+            }
+            if (over) {
+                overBudget.increment();
+            }
+        }
+    }
+}
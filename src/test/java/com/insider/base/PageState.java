@@ -0,0 +1,130 @@
+package com.insider.base;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * What {@link BasePage#open(String, boolean)} knows about the page a session shows, to skip
+ * reloading a page that is already there untouched.
+ * <p>
+ * Interactions through the {@link BasePage} helpers leave a marker in the document itself
+ * ({@code click} marks it dirty, scrolling marks it scrolled), so a page reached by clicking a
+ * link starts out clean. Interactions outside the helpers only reach us through
+ * {@link BasePage#invalidateSnapshot()}, which can't tell which document they touched and
+ * therefore makes the next {@code open()} reload unconditionally.
+ */
+final class PageState {
+
+    static final String DIRTY_MARK = "window.__basePageDirty = true;";
+    static final String SCROLLED_MARK = "window.__basePageScrolled = true;";
+
+    private static final String CHECK_SCRIPT = """
+            return [location.href, String(performance.timeOrigin),
+                    window.__basePageDirty === true, window.__basePageScrolled === true];
+            """;
+
+    private static final String SOFT_RESET_SCRIPT = "window.scrollTo(0, 0); window.__basePageScrolled = false;";
+
+    private static final Map<WebDriver, PageState> STATES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final LongAdder full = new LongAdder();
+    private static final LongAdder forced = new LongAdder();
+    private static final LongAdder skipped = new LongAdder();
+    private static final LongAdder softReset = new LongAdder();
+
+    /** How {@code open()} can reach the requested URL. */
+    enum Reuse {
+        /** Load the page. */
+        NAVIGATE,
+        /** Already there and untouched. */
+        SKIP,
+        /** Already there, only scrolled: scroll back to the top instead of reloading. */
+        SOFT_RESET
+    }
+
+    private long navigations;
+    private boolean touched;
+    private String document;
+
+    private PageState() {
+    }
+
+    /** Decides whether {@code url} has to be loaded; costs one script call when it might not. */
+    @SuppressWarnings("unchecked")
+    static Reuse check(WebDriver driver, String url) {
+        PageState state = STATES.get(driver);
+        if (state == null || state.touched) {
+            return Reuse.NAVIGATE;
+        }
+        List<Object> page = (List<Object>) ((JavascriptExecutor) driver).executeScript(CHECK_SCRIPT);
+        if (!sameUrl(String.valueOf(page.get(0)), url) || Boolean.TRUE.equals(page.get(2))) {
+            return Reuse.NAVIGATE;
+        }
+        state.document = String.valueOf(page.get(1));
+        if (Boolean.TRUE.equals(page.get(3))) {
+            ((JavascriptExecutor) driver).executeScript(SOFT_RESET_SCRIPT);
+            softReset.increment();
+            return Reuse.SOFT_RESET;
+        }
+        skipped.increment();
+        return Reuse.SKIP;
+    }
+
+    /** A full navigation finished: the new document carries no interaction markers. */
+    static void navigated(WebDriver driver, boolean force) {
+        PageState state = STATES.computeIfAbsent(driver, d -> new PageState());
+        state.navigations++;
+        state.touched = false;
+        state.document = null;
+        full.increment();
+        if (force) {
+            forced.increment();
+        }
+    }
+
+    /** The page was changed outside the {@link BasePage} helpers. */
+    static void touched(WebDriver driver) {
+        PageState state = STATES.get(driver);
+        if (state != null) {
+            state.touched = true;
+        }
+    }
+
+    /** Forgets the session's page, e.g. when a test takes over a pooled session. */
+    static void forget(WebDriver driver) {
+        STATES.remove(driver);
+    }
+
+    /** Session navigations so far and the document id ({@code performance.timeOrigin}) last reused. */
+    static String describe(WebDriver driver) {
+        PageState state = STATES.get(driver);
+        return state == null ? "untracked" : "navigation #" + state.navigations + ", document " + state.document;
+    }
+
+    private static boolean sameUrl(String current, String requested) {
+        return normalize(current).equals(normalize(requested));
+    }
+
+    private static String normalize(String url) {
+        int fragment = url.indexOf('#');
+        String withoutFragment = fragment >= 0 ? url.substring(0, fragment) : url;
+        return withoutFragment.endsWith("/") ? withoutFragment.substring(0, withoutFragment.length() - 1) : withoutFragment;
+    }
+
+    // ---------- Statistics ----------
+
+    static boolean isEmpty() {
+        return full.sum() + skipped.sum() + softReset.sum() == 0;
+    }
+
+    static String summary() {
+        return String.format("[NAVIGATION] open() full=%d (forced=%d) skipped=%d softReset=%d -> full navigations avoided=%d",
+                full.sum(), forced.sum(), skipped.sum(), softReset.sum(), skipped.sum() + softReset.sum());
+    }
+}
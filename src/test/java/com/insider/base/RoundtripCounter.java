@@ -0,0 +1,47 @@
+package com.insider.base;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts WebDriver wire calls spent per DOM extraction so the bulk (single script) and
+ * per-element paths can be compared side by side, e.g. {@code JobCardView/bulk}
+ * vs {@code JobCardView/per-element}.
+ */
+public final class RoundtripCounter {
+
+    private static final Map<String, Tally> TALLIES = new ConcurrentHashMap<>();
+
+    private RoundtripCounter() {
+    }
+
+    public static void record(String extraction, String path, int roundtrips, int rows) {
+        Tally tally = TALLIES.computeIfAbsent(extraction + "/" + path, k -> new Tally());
+        tally.extractions.increment();
+        tally.roundtrips.add(roundtrips);
+        tally.rows.add(rows);
+    }
+
+    public static String summary() {
+        StringBuilder sb = new StringBuilder("[ROUNDTRIPS] DOM extraction summary");
+        new TreeMap<>(TALLIES).forEach((key, tally) -> {
+            long extractions = tally.extractions.sum();
+            sb.append(String.format("%n  %-45s extractions=%d rows=%d roundtrips=%d avgRoundtripsPerExtraction=%.1f",
+                    key, extractions, tally.rows.sum(), tally.roundtrips.sum(),
+                    extractions == 0 ? 0.0 : (double) tally.roundtrips.sum() / extractions));
+        });
+        return sb.toString();
+    }
+
+    public static boolean isEmpty() {
+        return TALLIES.isEmpty();
+    }
+
+    private static final class Tally {
+        private final LongAdder extractions = new LongAdder();
+        private final LongAdder roundtrips = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+    }
+}
@@ -0,0 +1,231 @@
+package com.insider.base;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insider.config.ConfigManager;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Session state at a named step of a navigation (e.g. the Lever QA listing filtered by a
+ * location): URL, cookies of that page, local/session storage and scroll position, plus the
+ * locators that prove the page still looks the way it did.
+ * <p>
+ * Checkpoints live for the run (at most {@code checkpoint.ttlSeconds}) and are shared by all
+ * sessions, pooled or new; see {@link BasePage#checkpoint(String)} and
+ * {@link BasePage#restoreCheckpoint(String)}. Chromium sessions get cookies and storage before
+ * the page's own scripts run (CDP); others load the page, apply them and reload.
+ */
+public final class SessionCheckpoint {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String CAPTURE_SCRIPT = """
+            var dump = function (storage) {
+              var values = {};
+              for (var i = 0; i < storage.length; i++) { var k = storage.key(i); values[k] = storage.getItem(k); }
+              return values;
+            };
+            return {origin: location.origin, local: dump(localStorage), session: dump(sessionStorage),
+                    x: window.scrollX, y: window.scrollY};
+            """;
+
+    // Runs before the page's scripts (or on demand); only touches the checkpoint's own origin
+    private static final String APPLY_SCRIPT = """
+            (function (state) {
+              if (location.origin !== state.origin) { return; }
+              try {
+                Object.keys(state.local).forEach(function (k) { localStorage.setItem(k, state.local[k]); });
+                Object.keys(state.session).forEach(function (k) { sessionStorage.setItem(k, state.session[k]); });
+              } catch (e) { /* storage disabled */ }
+            })(%s);
+            """;
+
+    private static final Map<String, SessionCheckpoint> CHECKPOINTS = new ConcurrentHashMap<>();
+
+    private static final LongAdder captured = new LongAdder();
+    private static final LongAdder restored = new LongAdder();
+    private static final LongAdder expired = new LongAdder();
+    private static final LongAdder invalidated = new LongAdder();
+
+    private final String name;
+    private final String url;
+    private final String origin;
+    private final List<Cookie> cookies;
+    private final Map<String, String> localStorage;
+    private final Map<String, String> sessionStorage;
+    private final long scrollX;
+    private final long scrollY;
+    private final List<By> keyLocators;
+    private final Instant capturedAt = Instant.now();
+
+    private SessionCheckpoint(String name, String url, String origin, List<Cookie> cookies,
+                              Map<String, String> localStorage, Map<String, String> sessionStorage,
+                              long scrollX, long scrollY, List<By> keyLocators) {
+        this.name = name;
+        this.url = url;
+        this.origin = origin;
+        this.cookies = cookies;
+        this.localStorage = localStorage;
+        this.sessionStorage = sessionStorage;
+        this.scrollX = scrollX;
+        this.scrollY = scrollY;
+        this.keyLocators = keyLocators;
+    }
+
+    /** Captures the page {@code driver} is on now as checkpoint {@code name}, replacing an older one. */
+    @SuppressWarnings("unchecked")
+    static SessionCheckpoint capture(WebDriver driver, String name, List<By> keyLocators) {
+        Map<String, Object> state = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT);
+        SessionCheckpoint checkpoint = new SessionCheckpoint(name, driver.getCurrentUrl(),
+                String.valueOf(state.get("origin")),
+                List.copyOf(driver.manage().getCookies()),
+                strings(state.get("local")), strings(state.get("session")),
+                number(state.get("x")), number(state.get("y")),
+                List.copyOf(keyLocators));
+        CHECKPOINTS.put(name, checkpoint);
+        captured.increment();
+        return checkpoint;
+    }
+
+    /** The checkpoint if it was captured in this run and has not expired. */
+    static Optional<SessionCheckpoint> find(String name) {
+        if (!ConfigManager.isCheckpointEnabled()) {
+            return Optional.empty();
+        }
+        SessionCheckpoint checkpoint = CHECKPOINTS.get(name);
+        if (checkpoint == null) {
+            return Optional.empty();
+        }
+        Duration age = Duration.between(checkpoint.capturedAt, Instant.now());
+        if (age.getSeconds() >= ConfigManager.getCheckpointTtlSeconds()) {
+            CHECKPOINTS.remove(name, checkpoint);
+            expired.increment();
+            return Optional.empty();
+        }
+        return Optional.of(checkpoint);
+    }
+
+    /** Drops the checkpoint, e.g. when its page no longer matches its key locators. */
+    static void invalidate(SessionCheckpoint checkpoint) {
+        if (CHECKPOINTS.remove(checkpoint.name, checkpoint)) {
+            invalidated.increment();
+        }
+    }
+
+    String name() {
+        return name;
+    }
+
+    String url() {
+        return url;
+    }
+
+    List<By> keyLocators() {
+        return keyLocators;
+    }
+
+    // ---------- Restore ----------
+
+    /**
+     * Chromium: writes the cookies and registers the storage script for the next document, so a
+     * single navigation to {@link #url()} restores everything. Returns the script id to remove
+     * after that navigation, or null when the browser has no CDP access.
+     */
+    String preload(WebDriver driver) {
+        if (!(driver instanceof HasCdp cdp)) {
+            return null;
+        }
+        List<Map<String, Object>> params = new ArrayList<>();
+        for (Cookie cookie : cookies) {
+            Map<String, Object> param = new HashMap<>();
+            param.put("name", cookie.getName());
+            param.put("value", cookie.getValue());
+            if (cookie.getDomain() != null) {
+                param.put("domain", cookie.getDomain());
+            } else {
+                param.put("url", url);
+            }
+            param.put("path", cookie.getPath() != null ? cookie.getPath() : "/");
+            param.put("secure", cookie.isSecure());
+            param.put("httpOnly", cookie.isHttpOnly());
+            if (cookie.getExpiry() != null) {
+                param.put("expires", cookie.getExpiry().getTime() / 1000);
+            }
+            params.add(param);
+        }
+        if (!params.isEmpty()) {
+            cdp.executeCdpCommand("Network.setCookies", Map.of("cookies", params));
+        }
+        Map<String, Object> added = cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                Map.of("source", applyScript()));
+        return String.valueOf(added.get("identifier"));
+    }
+
+    void removePreload(WebDriver driver, String scriptId) {
+        if (scriptId != null && driver instanceof HasCdp cdp) {
+            cdp.executeCdpCommand("Page.removeScriptToEvaluateOnNewDocument", Map.of("identifier", scriptId));
+        }
+    }
+
+    /** Without CDP: applies cookies and storage to the already loaded checkpoint page (reload afterwards). */
+    void applyInPage(WebDriver driver) {
+        for (Cookie cookie : cookies) {
+            driver.manage().addCookie(cookie);
+        }
+        ((JavascriptExecutor) driver).executeScript(applyScript());
+    }
+
+    void restoreScroll(WebDriver driver) {
+        if (scrollX != 0 || scrollY != 0) {
+            ((JavascriptExecutor) driver).executeScript("window.scrollTo(arguments[0], arguments[1]);" + PageState.SCROLLED_MARK,
+                    scrollX, scrollY);
+        }
+        restored.increment();
+    }
+
+    private String applyScript() {
+        try {
+            return String.format(APPLY_SCRIPT, MAPPER.writeValueAsString(
+                    Map.of("origin", origin, "local", localStorage, "session", sessionStorage)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize storage of checkpoint " + name, e);
+        }
+    }
+
+    // ---------- Statistics ----------
+
+    public static boolean isEmpty() {
+        return captured.sum() == 0;
+    }
+
+    public static String summary() {
+        return String.format("[CHECKPOINT] captured=%d restored=%d expired=%d invalidated=%d cached=%s",
+                captured.sum(), restored.sum(), expired.sum(), invalidated.sum(), CHECKPOINTS.keySet());
+    }
+
+    private static Map<String, String> strings(Object values) {
+        Map<String, String> result = new HashMap<>();
+        if (values instanceof Map<?, ?> map) {
+            map.forEach((k, v) -> result.put(String.valueOf(k), String.valueOf(v)));
+        }
+        return result;
+    }
+
+    private static long number(Object value) {
+        return value instanceof Number n ? Math.round(n.doubleValue()) : 0;
+    }
+}
@@ -0,0 +1,88 @@
+package com.insider.base;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asserts that a browser session is only ever used by one test thread at a time.
+ * <p>
+ * {@link BaseTest} claims the session in {@code setUp} and releases it in {@code tearDown};
+ * the listener re-checks ownership after every test method. A session claimed by two live
+ * threads is a cross-wired driver and fails the test immediately.
+ */
+public final class SessionGuard {
+
+    private static final Map<String, Thread> OWNERS = new ConcurrentHashMap<>();
+    private static final Set<String> SESSIONS_SEEN = ConcurrentHashMap.newKeySet();
+
+    private static final AtomicInteger active = new AtomicInteger();
+    private static final AtomicInteger peakActive = new AtomicInteger();
+    private static final LongAdder claims = new LongAdder();
+    private static final LongAdder violations = new LongAdder();
+
+    private SessionGuard() {
+    }
+
+    public static void claim(WebDriver driver) {
+        String session = sessionKey(driver);
+        Thread current = Thread.currentThread();
+        Thread owner = OWNERS.putIfAbsent(session, current);
+        if (owner != null && owner != current) {
+            violations.increment();
+            throw new IllegalStateException("[GUARD] Session " + session + " is already in use by thread "
+                    + owner.getName() + ", cannot hand it to " + current.getName());
+        }
+        claims.increment();
+        SESSIONS_SEEN.add(session);
+        peakActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+    }
+
+    /** Fails when the session is owned by another thread than the caller. */
+    public static void verifyOwner(WebDriver driver) {
+        String session = sessionKey(driver);
+        Thread owner = OWNERS.get(session);
+        if (owner != Thread.currentThread()) {
+            violations.increment();
+            throw new IllegalStateException("[GUARD] Session " + session + " used by thread "
+                    + Thread.currentThread().getName() + " but owned by "
+                    + (owner == null ? "nobody" : owner.getName()));
+        }
+    }
+
+    public static void release(WebDriver driver) {
+        if (OWNERS.remove(sessionKey(driver), Thread.currentThread())) {
+            active.decrementAndGet();
+        }
+    }
+
+    public static long violations() {
+        return violations.sum();
+    }
+
+    public static String summary() {
+        return String.format("[GUARD] claims=%d distinctSessions=%d peakConcurrentSessions=%d violations=%d",
+                claims.sum(), SESSIONS_SEEN.size(), peakActive.get(), violations.sum());
+    }
+
+    private static String sessionKey(WebDriver driver) {
+        WebDriver unwrapped = driver;
+        while (unwrapped instanceof WrapsDriver wrapper) {
+            unwrapped = wrapper.getWrappedDriver();
+        }
+        if (unwrapped instanceof RemoteWebDriver remote) {
+            SessionId id = remote.getSessionId();
+            if (id != null) {
+                return id.toString();
+            }
+        }
+        return unwrapped.getClass().getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(unwrapped));
+    }
+}
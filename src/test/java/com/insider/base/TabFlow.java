@@ -0,0 +1,321 @@
+package com.insider.base;
+
+import com.insider.config.ConfigManager;
+import com.insider.driver.NetworkInterception;
+import com.insider.driver.SessionRecorder;
+import io.qameta.allure.Allure;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * A page flow that {@link #runAll(WebDriver, List)} drives in its own browser tab, interleaved
+ * with the flows in the other tabs of the same session.
+ * <p>
+ * Waits never block: each visit to a tab polls the pending wait once and moves on to the next tab
+ * when it does not hold yet, and every navigation hands over to the next tab before its page is
+ * polled, so the tabs' page loads overlap. Steps therefore must not wait
+ * themselves: {@link #open} and {@link #follow} start a navigation without waiting for it and then
+ * wait, tab by tab, for the new document and the target page's readiness anchor
+ * ({@link BasePage#isReady()}); {@link #step} actions run once their page is there, so the page
+ * object's own waits return at the first probe.
+ */
+public final class TabFlow {
+
+    private static final Logger logger = Logger.getLogger(TabFlow.class.getName());
+
+    private static final Duration AWAIT_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final String DOCUMENT_SCRIPT = "return String(performance.timeOrigin);";
+    private static final String NEW_DOCUMENT_SCRIPT =
+            "return String(performance.timeOrigin) !== arguments[0] && document.readyState !== 'loading';";
+
+    private final String name;
+    private final List<Step> steps = new ArrayList<>();
+
+    /**
+     * One step; {@code attempt} returns true when done, false to be polled again on the next visit.
+     * After a {@code navigates} step the run moves on to the next tab before polling this one again.
+     */
+    record Step(String name, boolean action, boolean navigates, Duration timeout, Predicate<WebDriver> attempt) {
+    }
+
+    /** How one flow ended; {@code failure} is null when every step passed. */
+    public record Result(String name, Throwable failure, Duration elapsed, List<String> timeline) {
+
+        public boolean passed() {
+            return failure == null;
+        }
+    }
+
+    private TabFlow(String name) {
+        this.name = name;
+    }
+
+    public static TabFlow named(String name) {
+        return new TabFlow(name);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /** Starts loading {@code url} in this tab and waits (without blocking) until {@code page} is ready. */
+    public TabFlow open(String stepName, String url, BasePage page) {
+        return navigation(stepName, driver -> ((JavascriptExecutor) driver)
+                .executeScript("window.location.assign(arguments[0]);", url), page);
+    }
+
+    /**
+     * Runs {@code trigger}, which must start a navigation without waiting for it (e.g. a page
+     * object's {@code start...} method using {@link BasePage#clickWithoutWaiting}), then waits
+     * (without blocking) until the new document is loaded and {@code page} is ready.
+     */
+    public TabFlow follow(String stepName, Runnable trigger, BasePage page) {
+        return navigation(stepName, driver -> trigger.run(), page);
+    }
+
+    /** Runs {@code action} in this tab; assertions thrown here fail the flow, not the other tabs. */
+    public TabFlow step(String stepName, Runnable action) {
+        steps.add(new Step(stepName, true, false, Duration.ZERO, driver -> {
+            WaitEngine.current().act(() -> Allure.step("[" + name + "] " + stepName, action::run));
+            return true;
+        }));
+        return this;
+    }
+
+    /** Waits (without blocking) until {@code condition} holds in this tab. */
+    public TabFlow await(String stepName, ExpectedCondition<?> condition) {
+        steps.add(new Step(stepName, false, false, AWAIT_TIMEOUT, driver -> holds(condition, driver)));
+        return this;
+    }
+
+    private TabFlow navigation(String stepName, Consumer<WebDriver> start, BasePage page) {
+        // The document before the navigation tells its page apart from the one it leads to
+        String[] documentBefore = new String[1];
+        steps.add(new Step(stepName, true, true, Duration.ZERO, driver -> {
+            WaitEngine.current().act(() -> {
+                documentBefore[0] = String.valueOf(((JavascriptExecutor) driver).executeScript(DOCUMENT_SCRIPT));
+                start.accept(driver);
+            });
+            return true;
+        }));
+        steps.add(new Step(stepName + ": " + page.getClass().getSimpleName() + " ready", false, false,
+                Duration.ofSeconds(ConfigManager.getPageLoadTimeoutSeconds()),
+                driver -> holds(d -> Boolean.TRUE.equals(((JavascriptExecutor) d)
+                        .executeScript(NEW_DOCUMENT_SCRIPT, documentBefore[0])) && page.isReady(), driver)));
+        return this;
+    }
+
+    // One poll, ignoring what WebDriverWait ignores plus scripts torn down with their document
+    private static boolean holds(Function<? super WebDriver, ?> condition, WebDriver driver) {
+        try {
+            Object value = condition.apply(driver);
+            return value != null && !Boolean.FALSE.equals(value);
+        } catch (NoSuchElementException | StaleElementReferenceException | JavascriptException e) {
+            return false;
+        }
+    }
+
+    // ---------- Running flows in tabs ----------
+
+    /**
+     * Runs each flow in a new tab of {@code driver}'s session, interleaving them: every round visits
+     * each unfinished tab, runs the steps that can go and polls its pending wait once, so N flows take
+     * about as long as the slowest instead of their sum. A failing flow stops only its own tab.
+     * Each flow is reported as an Allure step with its timeline; the tabs are closed afterwards and
+     * the session is back on the tab it was on. With {@code pageLoadStrategy=normal} the browser
+     * still answers a poll in a loading tab only once it has loaded, so loads overlap less finely
+     * than with {@code eager} or {@code none}.
+     * <p>
+     * Sessions with {@link NetworkInterception} are refused: its DevTools session is attached to the
+     * first tab only, so requests of the other tabs would bypass blocking, recording and replay.
+     * For the same reason the {@link SessionRecorder} sees the console and network of the first tab
+     * only; the actions of every tab are recorded.
+     */
+    public static List<Result> runAll(WebDriver driver, List<TabFlow> flows) {
+        if (NetworkInterception.of(driver).isPresent()) {
+            throw new IllegalStateException("Tab flows need a session without network interception "
+                    + "(blocking, network=record/replay cover the first tab only); use lever.locationFlows=sessions");
+        }
+        String home = driver.getWindowHandle();
+        List<Run> runs = new ArrayList<>();
+        long start = System.nanoTime();
+        long idleNanos = Duration.ofMillis(ConfigManager.getWaitInitialPollMs()).toNanos();
+        String current = home;
+        try {
+            for (TabFlow flow : flows) {
+                driver.switchTo().newWindow(WindowType.TAB);
+                current = driver.getWindowHandle();
+                runs.add(new Run(flow, current, start));
+                recordAction(driver, "tab " + current + " opened for '" + flow.name() + "'");
+            }
+            logger.info("[TABS] Running " + flows.size() + " flows in " + flows.size() + " tabs");
+
+            while (runs.stream().anyMatch(run -> !run.finished())) {
+                boolean progressed = false;
+                for (Run run : runs) {
+                    if (run.finished()) {
+                        continue;
+                    }
+                    if (!run.handle.equals(current)) {
+                        driver.switchTo().window(run.handle);
+                        current = run.handle;
+                        // snapshot and page state are tracked per session, not per tab
+                        DomSnapshot.invalidate(driver);
+                        PageState.forget(driver);
+                    }
+                    progressed |= run.advance(driver);
+                    if (run.finished()) {
+                        recordAction(driver, "tab '" + run.flow.name() + "' " + (run.result().passed() ? "passed" : "failed"));
+                    }
+                }
+                if (!progressed) {
+                    LockSupport.parkNanos(idleNanos);
+                }
+            }
+        } catch (WebDriverException e) {
+            // the session itself failed (e.g. a tab could not be opened or switched to)
+            runs.forEach(run -> run.abort(e));
+        } finally {
+            closeTabs(driver, runs, home);
+        }
+
+        List<Result> results = runs.stream().map(Run::result).toList();
+        logger.info("[TABS] " + results.stream().filter(Result::passed).count() + "/" + results.size()
+                + " flows passed in " + (System.nanoTime() - start) / 1_000_000 + " ms (slowest "
+                + results.stream().mapToLong(r -> r.elapsed().toMillis()).max().orElse(0) + " ms, sum "
+                + results.stream().mapToLong(r -> r.elapsed().toMillis()).sum() + " ms)");
+        results.forEach(TabFlow::report);
+        return results;
+    }
+
+    private static void closeTabs(WebDriver driver, List<Run> runs, String home) {
+        for (Run run : runs) {
+            try {
+                driver.switchTo().window(run.handle);
+                driver.close();
+            } catch (WebDriverException e) {
+                logger.warning("[TABS] Could not close tab of '" + run.flow.name() + "': " + e.getMessage());
+            }
+        }
+        driver.switchTo().window(home);
+        DomSnapshot.invalidate(driver);
+        PageState.forget(driver);
+    }
+
+    // One Allure step per flow, failed like the flow; the test decides whether to fail
+    private static void report(Result result) {
+        try {
+            Allure.step("Tab '" + result.name() + "' " + (result.passed() ? "passed" : "failed")
+                    + " in " + result.elapsed().toMillis() + " ms", () -> {
+                Allure.addAttachment("Tab timeline - " + result.name(), "text/plain", String.join("\n", result.timeline()));
+                if (!result.passed()) {
+                    throw result.failure();
+                }
+            });
+        } catch (Throwable ignored) {
+            // already in the result
+        }
+    }
+
+    private static void recordAction(WebDriver driver, String action) {
+        SessionRecorder.of(driver).ifPresent(recorder -> recorder.action("TabFlow: " + action));
+    }
+
+    // ---------- Progress of one tab ----------
+
+    /** A flow's position in its tab while {@link #runAll(WebDriver, List)} interleaves the tabs. */
+    static final class Run {
+
+        final TabFlow flow;
+        final String handle;
+        private final long startNanos;
+        private final List<String> timeline = new ArrayList<>();
+        private int next;
+        private long stepStartNanos;
+        private Throwable failure;
+        private long endNanos;
+
+        Run(TabFlow flow, String handle, long startNanos) {
+            this.flow = flow;
+            this.handle = handle;
+            this.startNanos = startNanos;
+            this.stepStartNanos = startNanos;
+        }
+
+        boolean finished() {
+            return endNanos != 0;
+        }
+
+        String currentStep() {
+            return next < flow.steps.size() ? flow.steps.get(next).name() : "done";
+        }
+
+        /**
+         * Runs the steps that can go now; returns whether at least one completed. Returns right after
+         * starting a navigation: polling the loading tab at once would block on it (with
+         * {@code pageLoadStrategy=normal}) before the other tabs have started their loads.
+         */
+        boolean advance(WebDriver driver) {
+            boolean progressed = false;
+            try {
+                while (next < flow.steps.size()) {
+                    Step step = flow.steps.get(next);
+                    if (!step.attempt().test(driver)) {
+                        long waited = System.nanoTime() - stepStartNanos;
+                        if (waited > step.timeout().toNanos()) {
+                            throw new TimeoutException("[" + flow.name + "] " + step.name() + " did not happen within "
+                                    + step.timeout().toMillis() + " ms");
+                        }
+                        return progressed;
+                    }
+                    long now = System.nanoTime();
+                    timeline.add(String.format("+%6d ms  %-9s %s (%d ms)", (now - startNanos) / 1_000_000,
+                            step.action() ? "action" : "waited", step.name(), (now - stepStartNanos) / 1_000_000));
+                    stepStartNanos = now;
+                    next++;
+                    progressed = true;
+                    if (step.navigates() && next < flow.steps.size()) {
+                        return true;
+                    }
+                }
+                endNanos = System.nanoTime();
+            } catch (Throwable e) {
+                failure = e;
+                endNanos = System.nanoTime();
+                timeline.add(String.format("+%6d ms  failed    %s: %s", (endNanos - startNanos) / 1_000_000,
+                        currentStep(), e.getMessage()));
+            }
+            return true;
+        }
+
+        /** Ends a flow that never finished, e.g. because its tab could not be reached any more. */
+        void abort(Throwable cause) {
+            if (!finished()) {
+                failure = cause;
+                endNanos = System.nanoTime();
+                timeline.add("aborted at " + currentStep() + ": " + cause.getMessage());
+            }
+        }
+
+        Result result() {
+            return new Result(flow.name, failure, Duration.ofNanos(endNanos - startNanos), List.copyOf(timeline));
+        }
+    }
+}
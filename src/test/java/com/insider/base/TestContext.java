@@ -0,0 +1,74 @@
+package com.insider.base;
+
+import com.insider.pages.*;
+import com.insider.testdata.CareersPageData;
+import com.insider.testdata.HomePageData;
+import com.insider.testdata.LeverQaJobsData;
+import com.insider.utils.TestDataLoader;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Driver, page objects and test data of the test running on the current thread.
+ * <p>
+ * One context is created per test invocation in {@link BaseTest#setUp()} and confined to the
+ * thread that runs it, so test methods (and data-provider rows) of the same class can run in
+ * parallel without sharing a session.
+ */
+public final class TestContext {
+
+    private final WebDriver driver;
+
+    private final HomePage homePage;
+    private final CareersPage careersPage;
+    private final LeverQaJobsPage qaJobsPage;
+    private final LeverJobDetailPage leverJobDetailPage;
+    private final LeverApplyJobPage leverApplyPage;
+
+    TestContext(WebDriver driver) {
+        this.driver = driver;
+
+        this.homePage = new HomePage(driver);
+        this.careersPage = new CareersPage(driver);
+        this.qaJobsPage = new LeverQaJobsPage(driver);
+        this.leverJobDetailPage = new LeverJobDetailPage(driver);
+        this.leverApplyPage = new LeverApplyJobPage(driver);
+    }
+
+    public WebDriver driver() {
+        return driver;
+    }
+
+    public HomePage homePage() {
+        return homePage;
+    }
+
+    public CareersPage careersPage() {
+        return careersPage;
+    }
+
+    public LeverQaJobsPage qaJobsPage() {
+        return qaJobsPage;
+    }
+
+    public LeverJobDetailPage leverJobDetailPage() {
+        return leverJobDetailPage;
+    }
+
+    public LeverApplyJobPage leverApplyPage() {
+        return leverApplyPage;
+    }
+
+    // Test data is parsed once per JVM on first use and shared (read-only) between tests
+
+    public HomePageData homeData() {
+        return TestDataLoader.load("testdata/homepage.json", HomePageData.class);
+    }
+
+    public CareersPageData careersData() {
+        return TestDataLoader.load("testdata/careerspage.json", CareersPageData.class);
+    }
+
+    public LeverQaJobsData leverQaData() {
+        return TestDataLoader.load("testdata/leverQAjobs.json", LeverQaJobsData.class);
+    }
+}
@@ -0,0 +1,206 @@
+package com.insider.base;
+
+import com.insider.config.ConfigManager;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Shared replacement for per-call {@code WebDriverWait}s in {@link BasePage}.
+ * <p>
+ * One engine per thread is reused for every wait. Polling starts tight
+ * ({@code wait.initialPollMs}) and backs off geometrically up to {@code wait.maxPollMs}, so
+ * elements that are already there are found on the first probe and slow ones don't burn
+ * roundtrips. Appearance times are recorded per condition+locator (p50/p95); with
+ * {@code wait.adaptiveTimeout=true} the timeout shrinks to a multiple of the observed p95.
+ * The engine also tracks how long the current test spent waiting versus acting.
+ */
+public final class WaitEngine {
+
+    private static final ThreadLocal<WaitEngine> CURRENT = ThreadLocal.withInitial(WaitEngine::new);
+
+    private static final Map<String, LocatorStats> STATS = new ConcurrentHashMap<>();
+
+    private static final int ADAPTIVE_MIN_SAMPLES = 20;
+    private static final int ADAPTIVE_P95_MULTIPLIER = 3;
+    private static final Duration ADAPTIVE_FLOOR = Duration.ofSeconds(2);
+
+    private final long initialPollNanos = Duration.ofMillis(ConfigManager.getWaitInitialPollMs()).toNanos();
+    private final long maxPollNanos = Duration.ofMillis(ConfigManager.getWaitMaxPollMs()).toNanos();
+    private final double backoff = ConfigManager.getWaitBackoff();
+    private final boolean adaptiveTimeout = ConfigManager.isAdaptiveWaitTimeout();
+
+    private long waitNanos;
+    private long actNanos;
+    private int waits;
+    private int polls;
+
+    private WaitEngine() {
+    }
+
+    public static WaitEngine current() {
+        return CURRENT.get();
+    }
+
+    // ---------- Waiting ----------
+
+    public <T> T until(WebDriver driver, String condition, By locator, ExpectedCondition<T> expected, Duration timeout) {
+        return until(driver, condition + " " + locator, expected, timeout);
+    }
+
+    /**
+     * Polls {@code condition} until it returns a non-null, non-false value, ignoring
+     * missing/stale elements like {@code WebDriverWait} does.
+     */
+    public <T> T until(WebDriver driver, String key, Function<? super WebDriver, T> condition, Duration timeout) {
+        LocatorStats stats = STATS.computeIfAbsent(key, k -> new LocatorStats());
+        Duration effectiveTimeout = adaptiveTimeout ? stats.adaptiveTimeout(timeout) : timeout;
+
+        long start = System.nanoTime();
+        long deadline = start + effectiveTimeout.toNanos();
+        long poll = initialPollNanos;
+        RuntimeException lastError = null;
+
+        try {
+            while (true) {
+                polls++;
+                try {
+                    T value = condition.apply(driver);
+                    if (value != null && !Boolean.FALSE.equals(value)) {
+                        stats.record(System.nanoTime() - start);
+                        return value;
+                    }
+                } catch (NoSuchElementException | StaleElementReferenceException e) {
+                    lastError = e;
+                }
+
+                long now = System.nanoTime();
+                if (now >= deadline) {
+                    stats.timeout();
+                    throw new TimeoutException("Expected condition failed: waiting for " + key
+                            + " (tried for " + effectiveTimeout.toMillis() + " ms)", lastError);
+                }
+                LockSupport.parkNanos(Math.min(poll, deadline - now));
+                poll = Math.min((long) (poll * backoff), maxPollNanos);
+            }
+        } finally {
+            waits++;
+            waitNanos += System.nanoTime() - start;
+        }
+    }
+
+    // ---------- Acting ----------
+
+    /** Runs a browser interaction and books its duration as acting time. */
+    public void act(Runnable action) {
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            actNanos += System.nanoTime() - start;
+        }
+    }
+
+    // ---------- Per-test accounting ----------
+
+    public void startTest() {
+        waitNanos = 0;
+        actNanos = 0;
+        waits = 0;
+        polls = 0;
+    }
+
+    public TestWaitReport finishTest(Duration testDuration) {
+        return new TestWaitReport(testDuration, Duration.ofNanos(waitNanos), Duration.ofNanos(actNanos), waits, polls);
+    }
+
+    public record TestWaitReport(Duration total, Duration waiting, Duration acting, int waits, int polls) {
+
+        public Duration other() {
+            Duration other = total.minus(waiting).minus(acting);
+            return other.isNegative() ? Duration.ZERO : other;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Test duration: %d ms%nWaiting: %d ms (%d waits, %d polls)%nActing: %d ms%nOther: %d ms",
+                    total.toMillis(), waiting.toMillis(), waits, polls, acting.toMillis(), other().toMillis());
+        }
+    }
+
+    // ---------- Per-locator statistics ----------
+
+    public static boolean hasStats() {
+        return !STATS.isEmpty();
+    }
+
+    public static String statsSummary() {
+        StringBuilder sb = new StringBuilder("[WAIT] appearance times per condition/locator");
+        STATS.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LocatorStats> e) -> e.getValue().percentile(0.95)).reversed())
+                .forEach(e -> {
+                    LocatorStats s = e.getValue();
+                    sb.append(String.format("%n  p50=%5dms p95=%5dms samples=%d timeouts=%d  %s",
+                            s.percentile(0.50) / 1_000_000, s.percentile(0.95) / 1_000_000,
+                            s.samples(), s.timeouts(), e.getKey()));
+                });
+        return sb.toString();
+    }
+
+    private static final class LocatorStats {
+
+        private static final int WINDOW = 256;
+
+        private final long[] samples = new long[WINDOW];
+        private long count;
+        private long timeouts;
+
+        private synchronized void record(long nanos) {
+            samples[(int) (count++ % WINDOW)] = nanos;
+        }
+
+        private synchronized void timeout() {
+            timeouts++;
+        }
+
+        private synchronized long samples() {
+            return count;
+        }
+
+        private synchronized long timeouts() {
+            return timeouts;
+        }
+
+        private synchronized long percentile(double p) {
+            int n = (int) Math.min(count, WINDOW);
+            if (n == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(samples, n);
+            Arrays.sort(sorted);
+            return sorted[Math.min(n - 1, (int) Math.ceil(p * n) - 1)];
+        }
+
+        private Duration adaptiveTimeout(Duration configured) {
+            if (samples() < ADAPTIVE_MIN_SAMPLES) {
+                return configured;
+            }
+            Duration adaptive = Duration.ofNanos(percentile(0.95) * ADAPTIVE_P95_MULTIPLIER);
+            if (adaptive.compareTo(ADAPTIVE_FLOOR) < 0) {
+                adaptive = ADAPTIVE_FLOOR;
+            }
+            return adaptive.compareTo(configured) < 0 ? adaptive : configured;
+        }
+    }
+}
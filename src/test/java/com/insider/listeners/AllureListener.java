@@ -1,37 +1,174 @@
 package com.insider.listeners;
 
 import com.insider.base.BaseTest;
+import com.insider.base.PagePerformance;
+import com.insider.base.SessionGuard;
+import com.insider.base.WaitEngine;
+import com.insider.config.ConfigManager;
+import com.insider.driver.CommandLatency;
+import com.insider.utils.RunHistory;
+import com.insider.utils.ScreenshotPipeline;
+import com.insider.utils.StreamingDataProvider;
 import io.qameta.allure.Allure;
+import io.qameta.allure.model.StepResult;
+import com.insider.driver.NetworkInterception;
+import com.insider.driver.RequestBlockingHandler;
+import com.insider.driver.SessionRecorder;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
-import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 import java.util.logging.Logger;
 
-public class AllureListener implements ITestListener {
+public class AllureListener implements ITestListener, IInvokedMethodListener {
 
     private static final Logger logger = Logger.getLogger(AllureListener.class.getName());
 
+    // ---------- Per-test metrics (test case is still open in Allure here) ----------
+
     @Override
-    public void onTestFailure(ITestResult result) {
-        logger.info("[ALLURE] onTestFailure triggered for: " + result.getMethod().getMethodName());
+    public void beforeInvocation(IInvokedMethod method, ITestResult result) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        WaitEngine.current().startTest();
+        StepFrameRecorder.discardFrames();
+        PagePerformance.startTest();
+        RunHistory.startTest();
+        CommandLatency.startTest(testName(result));
 
-        Object testInstance = result.getInstance();
-        if (!(testInstance instanceof BaseTest baseTest)) {
-            logger.warning("[ALLURE] Test instance is not BaseTest, skipping screenshot");
+        WebDriver driver = driverOf(result);
+        if (driver == null) {
+            return;
+        }
+        List<String> groups = Arrays.asList(result.getMethod().getGroups());
+        NetworkInterception.of(driver)
+                .flatMap(n -> n.handler(RequestBlockingHandler.class))
+                .ifPresent(blocking -> blocking.startTest(groups));
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (!method.isTestMethod()) {
             return;
         }
+        WaitEngine.TestWaitReport waits = WaitEngine.current()
+                .finishTest(Duration.ofMillis(System.currentTimeMillis() - result.getStartMillis()));
+        logger.info("[ALLURE] " + result.getMethod().getMethodName() + " waited " + waits.waiting().toMillis()
+                + " ms, acted " + waits.acting().toMillis() + " ms");
+        Allure.addAttachment("Wait vs act", "text/plain", waits.toString());
 
-        WebDriver driver = baseTest.getDriver();
+        sampleSteps(testName(result));
+        if (ConfigManager.isCommandLatencyEnabled()) {
+            RunHistory.sample("commands:" + testName(result) + "#count", CommandLatency.currentTestCommands());
+            RunHistory.sample("commands:" + testName(result) + "#wire_ms", CommandLatency.currentTestWireMillis());
+        }
+        String commands = CommandLatency.finishTest();
+        if (ConfigManager.isCommandLatencyEnabled()) {
+            Allure.addAttachment("Command latency", "text/plain", commands);
+        }
+
+        // Performance budgets are soft assertions: their steps failed already, the test fails here
+        List<String> overBudget = PagePerformance.finishTest();
+        if (!overBudget.isEmpty() && result.getStatus() == ITestResult.SUCCESS) {
+            result.setStatus(ITestResult.FAILURE);
+            result.setThrowable(new AssertionError("Performance budget exceeded: " + String.join("; ", overBudget)));
+        }
+
+        WebDriver driver = driverOf(result);
         if (driver == null) {
-            logger.warning("[ALLURE] WebDriver is null, cannot take screenshot");
+            StepFrameRecorder.discardFrames();
             return;
         }
+        try {
+            SessionGuard.verifyOwner(driver);
+        } catch (IllegalStateException e) {
+            logger.severe(e.getMessage());
+            result.setStatus(ITestResult.FAILURE);
+            result.setThrowable(e);
+        }
+
+        // Captured here rather than in onTestFailure: the Allure test case is still open, so the
+        // attachments can be reserved now and written by the screenshot pipeline later.
+        // Only failures serialize the session's recorded console/network/actions.
+        if (result.getStatus() == ITestResult.FAILURE) {
+            attachScreenshot(result.getMethod().getMethodName(), driver);
+            StepFrameRecorder.attachFrames();
+            SessionRecorder.of(driver).ifPresent(recorder -> recorder.serialize(driver)
+                    .forEach((name, text) -> Allure.addAttachment(name, "text/plain", text)));
+        } else {
+            StepFrameRecorder.discardFrames();
+        }
+
+        NetworkInterception.of(driver)
+                .flatMap(n -> n.handler(RequestBlockingHandler.class))
+                .ifPresent(blocking -> {
+                    RequestBlockingHandler.Report report = blocking.finishTest();
+                    logger.info("[ALLURE] Blocked " + report.blocked() + " requests (~"
+                            + report.estimatedBytesSaved() / 1024 + " KiB) in " + result.getMethod().getMethodName());
+                    Allure.addAttachment("Blocked requests", "text/plain", report.toString());
+                });
+    }
+
+    private static String testName(ITestResult result) {
+        return result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+    }
+
+    // Top-level step durations for the run history; the test case is still open here
+    private static void sampleSteps(String test) {
+        Allure.getLifecycle().getCurrentTestCase().ifPresent(uuid -> Allure.getLifecycle().updateTestCase(uuid,
+                testCase -> {
+                    for (StepResult step : testCase.getSteps()) {
+                        if (step.getStart() != null && step.getStop() != null) {
+                            String name = step.getName().length() > 80 ? step.getName().substring(0, 80) : step.getName();
+                            RunHistory.sample("step:" + test + " > " + name + "#ms", step.getStop() - step.getStart());
+                        }
+                    }
+                }));
+    }
+
+    // The driver lives in the thread-confined test context, not on the (shared) test instance
+    private static WebDriver driverOf(ITestResult result) {
+        return result.getInstance() instanceof BaseTest ? BaseTest.currentDriver() : null;
+    }
+
+    // ---------- Streaming data-provider rows ----------
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        StreamingDataProvider.rowFinished(result.getMethod());
+        finishHistory(result, true);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        StreamingDataProvider.rowFinished(result.getMethod());
+        finishHistory(result, false);
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        StreamingDataProvider.rowFinished(result.getMethod());
+        finishHistory(result, false);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        StreamingDataProvider.rowFinished(result.getMethod());
+        finishHistory(result, false);
+        logger.info("[ALLURE] onTestFailure triggered for: " + result.getMethod().getMethodName());
+    }
 
-        attachScreenshot(result.getMethod().getMethodName(), driver);
+    // Passed tests feed the regression baseline; the others keep only their page metrics (budget overruns fail them)
+    private static void finishHistory(ITestResult result, boolean passed) {
+        RunHistory.finishTest(testName(result), result.getEndMillis() - result.getStartMillis(), passed);
     }
 
     private void attachScreenshot(String testName, WebDriver driver) {
@@ -39,8 +176,7 @@ public class AllureListener implements ITestListener {
             logger.info("[ALLURE] Capturing screenshot for failed test: " + testName);
             byte[] bytes = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
 
-            Allure.addAttachment("Failure screenshot - " + testName,
-                    new ByteArrayInputStream(bytes));
+            ScreenshotPipeline.attach("Failure screenshot - " + testName, bytes);
         } catch (Exception e) {
             logger.warning("[ALLURE] Failed to capture screenshot: " + e.getMessage());
         }
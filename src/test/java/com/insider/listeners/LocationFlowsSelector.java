@@ -0,0 +1,51 @@
+package com.insider.listeners;
+
+import com.insider.config.ConfigManager;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * {@code lever.locationFlows}: keeps only the location-flow variant of the selected mode, so the
+ * other one is neither run nor reported as skipped. Methods without {@link Mode} are kept.
+ * <p>
+ * Registered with {@code @Listeners} on the test class rather than in testng.xml, so it also
+ * applies to the coordinator's dry run and to every worker suite.
+ */
+public class LocationFlowsSelector implements IMethodInterceptor {
+
+    private static final Logger logger = Logger.getLogger(LocationFlowsSelector.class.getName());
+
+    /** The {@code lever.locationFlows} value a test method runs under. */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.METHOD)
+    public @interface Mode {
+        String value();
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        String mode = ConfigManager.getLeverLocationFlowsMode();
+        List<IMethodInstance> selected = methods.stream().filter(m -> runsUnder(m, mode)).toList();
+        if (selected.size() < methods.size()) {
+            logger.info("[LOCATIONS] lever.locationFlows=" + mode + ", not running: " + methods.stream()
+                    .filter(m -> !runsUnder(m, mode))
+                    .map(m -> m.getMethod().getMethodName())
+                    .distinct()
+                    .toList());
+        }
+        return selected;
+    }
+
+    private static boolean runsUnder(IMethodInstance instance, String mode) {
+        Mode declared = instance.getMethod().getConstructorOrMethod().getMethod().getAnnotation(Mode.class);
+        return declared == null || declared.value().equals(mode);
+    }
+}
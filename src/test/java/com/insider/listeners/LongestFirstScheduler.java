@@ -0,0 +1,124 @@
+package com.insider.listeners;
+
+import com.insider.config.ConfigManager;
+import com.insider.utils.DurationHistory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestResult;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Longest-processing-time-first scheduling (testng.xml listener).
+ * <p>
+ * With {@code parallel="methods"} a worker picks up the next queued method as soon as it is
+ * free, so the suite's wall time is decided by what starts last. Ordering the methods by their
+ * past duration, longest first, keeps a long E2E journey from starting when the other workers
+ * are almost done. Durations come from {@link DurationHistory}; methods without history are
+ * assumed to take {@code scheduler.defaultSeconds}. The predicted makespan (LPT vs the declared
+ * order) and the actual one are logged, and the history is updated when the suite finishes.
+ */
+public class LongestFirstScheduler implements IMethodInterceptor, ISuiteListener {
+
+    private static final Logger logger = Logger.getLogger(LongestFirstScheduler.class.getName());
+
+    private final Map<String, Long> predictedByTest = new ConcurrentHashMap<>();
+    private volatile long suiteStart;
+
+    @Override
+    public void onStart(ISuite suite) {
+        suiteStart = System.currentTimeMillis();
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!ConfigManager.isLongestFirstScheduling() || methods.size() < 2) {
+            return methods;
+        }
+        XmlTest test = context.getCurrentXmlTest();
+        int workers = test.getParallel().isParallel() ? Math.max(1, test.getThreadCount()) : 1;
+        int dataProviderThreads = Math.max(1, context.getSuite().getXmlSuite().getDataProviderThreadCount());
+
+        Map<IMethodInstance, Long> cost = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            cost.put(instance, DurationHistory.shared().estimateMillis(instance.getMethod(), dataProviderThreads));
+        }
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator.comparingLong((IMethodInstance m) -> cost.get(m)).reversed());
+
+        long declared = makespan(methods.stream().map(cost::get).toList(), workers);
+        long lpt = makespan(ordered.stream().map(cost::get).toList(), workers);
+        predictedByTest.put(test.getName(), lpt);
+
+        logger.info(String.format("[SCHEDULE] %s: %d methods on %d workers, predicted makespan %ds longest-first vs %ds declared order%n  %s",
+                test.getName(), methods.size(), workers, lpt / 1000, declared / 1000,
+                ordered.stream()
+                        .map(m -> m.getMethod().getMethodName() + "=" + cost.get(m) / 1000 + "s")
+                        .collect(Collectors.joining(", "))));
+        return ordered;
+    }
+
+    /** Wall time of running the jobs in this order, each on the first worker to become free. */
+    private static long makespan(List<Long> jobs, int workers) {
+        PriorityQueue<Long> freeAt = new PriorityQueue<>();
+        for (int i = 0; i < workers; i++) {
+            freeAt.add(0L);
+        }
+        long end = 0;
+        for (long job : jobs) {
+            long finish = freeAt.poll() + job;
+            freeAt.add(finish);
+            end = Math.max(end, finish);
+        }
+        return end;
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        long actual = System.currentTimeMillis() - suiteStart;
+
+        Map<String, long[]> runs = new HashMap<>();
+        for (var suiteResult : suite.getResults().values()) {
+            ITestContext context = suiteResult.getTestContext();
+            Stream.of(context.getPassedTests(), context.getFailedTests(), context.getFailedButWithinSuccessPercentageTests())
+                    .flatMap(results -> results.getAllResults().stream())
+                    .forEach(result -> accumulate(runs, result));
+
+            Long predicted = predictedByTest.get(context.getName());
+            if (predicted != null) {
+                long testWall = context.getEndDate().getTime() - context.getStartDate().getTime();
+                logger.info(String.format("[SCHEDULE] %s: predicted makespan %ds, actual %ds",
+                        context.getName(), predicted / 1000, testWall / 1000));
+            }
+        }
+        logger.info("[SCHEDULE] Suite wall time " + actual / 1000 + "s");
+
+        if (!runs.isEmpty()) {
+            DurationHistory durations = DurationHistory.shared();
+            // Stress runs repeat each method invocationCount times; history keeps the time of one pass
+            runs.forEach((method, run) -> durations.record(method, run[0] / run[2], (int) Math.max(1, run[1] / run[2])));
+            durations.save();
+        }
+    }
+
+    private static void accumulate(Map<String, long[]> runs, ITestResult result) {
+        long[] run = runs.computeIfAbsent(result.getMethod().getQualifiedName(),
+                k -> new long[]{0, 0, Math.max(1, result.getMethod().getInvocationCount())});
+        run[0] += result.getEndMillis() - result.getStartMillis();
+        run[1]++;
+    }
+}
@@ -0,0 +1,106 @@
+package com.insider.listeners;
+
+import com.insider.config.ConfigManager;
+import com.insider.utils.DurationHistory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * {@code -Dshard=i/n}: keeps only the test methods of the i-th (1-based) of n shards, so n
+ * machines (or JVMs) can run the suite in parallel.
+ * <p>
+ * Methods, not classes, are partitioned: sorted by their {@link DurationHistory} estimate
+ * (longest first, ties by name) and each one assigned to the shard with the least predicted time
+ * so far. Every shard JVM computes the same partition as long as they see the same history and
+ * test selection; data-provider rows stay with their method. Shards started together should read
+ * a snapshot of it ({@code shard.historySnapshot}): a shard that finishes early saves its durations
+ * into the history file while slower JVMs may not have partitioned yet. Merge the shards' results with
+ * {@link com.insider.utils.AllureResultsMerger}.
+ */
+public class ShardSelector implements IMethodInterceptor {
+
+    private static final Logger logger = Logger.getLogger(ShardSelector.class.getName());
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        String shard = ConfigManager.getShard();
+        if (shard.isEmpty()) {
+            return methods;
+        }
+        int[] spec = parse(shard);
+        int index = spec[0];
+        int count = spec[1];
+
+        int dataProviderThreads = Math.max(1, context.getSuite().getXmlSuite().getDataProviderThreadCount());
+        DurationHistory history = partitionHistory();
+        Map<String, Long> cost = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            cost.merge(instance.getMethod().getQualifiedName(),
+                    history.estimateMillis(instance.getMethod(), dataProviderThreads), Long::sum);
+        }
+
+        List<String> names = new ArrayList<>(cost.keySet());
+        names.sort(Comparator.comparingLong((String name) -> cost.get(name)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        long[] load = new long[count];
+        Set<String> mine = new HashSet<>();
+        for (String name : names) {
+            int target = 0;
+            for (int i = 1; i < count; i++) {
+                if (load[i] < load[target]) {
+                    target = i;
+                }
+            }
+            load[target] += cost.get(name);
+            if (target == index - 1) {
+                mine.add(name);
+            }
+        }
+
+        List<IMethodInstance> selected = methods.stream()
+                .filter(m -> mine.contains(m.getMethod().getQualifiedName()))
+                .toList();
+        logger.info(String.format("[SHARD] %s of %s: %d of %d methods, %ds of work (all shards: %s)%n  %s",
+                index, count, selected.size(), methods.size(), load[index - 1] / 1000,
+                Arrays.stream(load).mapToObj(l -> l / 1000 + "s").collect(Collectors.joining(", ")),
+                mine.stream().sorted().collect(Collectors.joining(", "))));
+        return selected;
+    }
+
+    private static DurationHistory partitionHistory() {
+        String snapshot = ConfigManager.getShardHistorySnapshot();
+        return snapshot.isEmpty()
+                ? DurationHistory.shared()
+                : DurationHistory.load(Path.of(snapshot), Path.of(ConfigManager.getSchedulerSeedResults()));
+    }
+
+    private static int[] parse(String shard) {
+        String[] parts = shard.split("/");
+        try {
+            if (parts.length == 2) {
+                int index = Integer.parseInt(parts[0].trim());
+                int count = Integer.parseInt(parts[1].trim());
+                if (count >= 1 && index >= 1 && index <= count) {
+                    return new int[]{index, count};
+                }
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Invalid shard '" + shard + "', expected i/n with 1 <= i <= n (e.g. 2/4)");
+    }
+}
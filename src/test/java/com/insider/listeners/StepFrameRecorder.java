@@ -0,0 +1,69 @@
+package com.insider.listeners;
+
+import com.insider.base.BaseTest;
+import com.insider.config.ConfigManager;
+import com.insider.utils.ScreenshotPipeline;
+import io.qameta.allure.listener.StepLifecycleListener;
+import io.qameta.allure.model.StepResult;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.logging.Logger;
+
+/**
+ * Keeps a screenshot after each Allure step of the running test, the last
+ * {@code screenshot.stepFrames} of them, so a failure shows how the test got there.
+ * <p>
+ * Frames are raw PNG bytes until {@link AllureListener} decides: a failed test attaches them
+ * through {@link ScreenshotPipeline}, any other outcome drops them unencoded.
+ * Registered through {@code META-INF/services}.
+ */
+public class StepFrameRecorder implements StepLifecycleListener {
+
+    private static final Logger logger = Logger.getLogger(StepFrameRecorder.class.getName());
+
+    private static final int FRAMES = ConfigManager.getScreenshotStepFrames();
+
+    private static final ThreadLocal<Deque<Frame>> RING = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private record Frame(String step, byte[] png) {
+    }
+
+    @Override
+    public void afterStepStop(StepResult result) {
+        if (FRAMES <= 0) {
+            return;
+        }
+        WebDriver driver = BaseTest.currentDriver();
+        if (!(driver instanceof TakesScreenshot screenshots)) {
+            return;
+        }
+        try {
+            Deque<Frame> ring = RING.get();
+            if (ring.size() == FRAMES) {
+                ring.removeFirst();
+            }
+            ring.addLast(new Frame(result.getName(), screenshots.getScreenshotAs(OutputType.BYTES)));
+        } catch (Exception e) {
+            logger.fine("[SCREENSHOT] No frame after step '" + result.getName() + "': " + e.getMessage());
+        }
+    }
+
+    /** Attaches the frames recorded on this thread to the current test, oldest first. */
+    static void attachFrames() {
+        Deque<Frame> ring = RING.get();
+        int index = 1;
+        int total = ring.size();
+        for (Frame frame : ring) {
+            ScreenshotPipeline.attach("Step frame " + index++ + "/" + total + " - " + frame.step(), frame.png());
+        }
+        ring.clear();
+    }
+
+    static void discardFrames() {
+        RING.get().clear();
+    }
+}
@@ -0,0 +1,42 @@
+package com.insider.listeners;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.IAnnotationTransformer;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.xml.XmlSuite;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Stress mode (testng-stress.xml / {@code mvn test -Pstress}): runs every test method
+ * {@code stress.invocations} times on {@code stress.threads} threads at method granularity,
+ * so any driver or page object shared between tests shows up as a {@code SessionGuard} failure.
+ */
+public class StressModeListener implements IAlterSuiteListener, IAnnotationTransformer {
+
+    private static final Logger logger = Logger.getLogger(StressModeListener.class.getName());
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        int threads = Integer.getInteger("stress.threads", 12);
+        for (XmlSuite suite : suites) {
+            suite.setParallel(XmlSuite.ParallelMode.METHODS);
+            suite.setThreadCount(threads);
+            suite.setDataProviderThreadCount(threads);
+        }
+        logger.info("[STRESS] Running at method granularity on " + threads + " threads");
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        int invocations = Integer.getInteger("stress.invocations", 3);
+        if (testMethod != null && invocations > 1) {
+            annotation.setInvocationCount(invocations);
+            annotation.setThreadPoolSize(invocations);
+        }
+    }
+}
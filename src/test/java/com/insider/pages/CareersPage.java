@@ -1,12 +1,16 @@
 package com.insider.pages;
 
 import com.insider.base.BasePage;
+import com.insider.base.DomField;
+import com.insider.base.DomRecord;
 import com.insider.config.ConfigManager;
+import com.insider.testdata.CareersPageData;
+import com.insider.testdata.PerformanceBudget;
+import com.insider.utils.TestDataLoader;
 import io.qameta.allure.Step;
 import org.openqa.selenium.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class CareersPage extends BasePage {
 
@@ -24,6 +28,16 @@ public class CareersPage extends BasePage {
         super(driver);
     }
 
+    @Override
+    protected By readinessAnchor() {
+        return lifeSection;
+    }
+
+    @Override
+    protected PerformanceBudget performanceBudget() {
+        return TestDataLoader.load("testdata/careerspage.json", CareersPageData.class).getPerformanceBudget();
+    }
+
     // ---------- Navigation ----------
 
     @Step("Open Careers page")
@@ -43,17 +57,17 @@ public class CareersPage extends BasePage {
 
     @Step("Get 'Life at Insider One' title text")
     public String getLifeTitle() {
-        return driver.findElement(lifeTitle).getText().trim();
+        return textOf(lifeTitle);
     }
 
     @Step("Get 'Life at Insider One' subtitle text")
     public String getLifeSubtitle() {
-        return driver.findElement(lifeSubtitle).getText().trim();
+        return textOf(lifeSubtitle);
     }
 
     @Step("Get total count of Life at Insider slides")
     public int getLifeSlidesCount() {
-        return driver.findElements(lifeSlides).size();
+        return countOf(lifeSlides);
     }
 
     @Step("Check Life slider right arrow is displayed")
@@ -77,11 +91,13 @@ public class CareersPage extends BasePage {
     @Step("Click Life slider right arrow")
     public void clickLifeRightArrow() {
         getRightArrow().click();
+        invalidateSnapshot();
     }
 
     @Step("Click Life slider left arrow")
     public void clickLifeLeftArrow() {
         getLeftArrow().click();
+        invalidateSnapshot();
     }
 
     @Step("Check all Life slides have img with non-empty src")
@@ -100,7 +116,7 @@ public class CareersPage extends BasePage {
 
     @Step("Get count of active Life slides")
     public int getActiveLifeSlidesCount() {
-        return driver.findElements(activeLifeSlide).size();
+        return countOf(activeLifeSlide);
     }
 
 
@@ -112,20 +128,10 @@ public class CareersPage extends BasePage {
     // Top (collapsed) cards: direct children of the grid
     private final By collapsedTeamCards = By.cssSelector(".insiderone-icon-cards-grid > .insiderone-icon-cards-grid-item");
 
-    // All cards (top + inside see-more container)
-    private final By allTeamCards = By.cssSelector(".insiderone-icon-cards-grid-item");
-
     // See-more container and its cards
     private final By seeMoreContainer = By.cssSelector(".insiderone-icon-cards-see-more-div");
     private final By seeMoreTeamCards = By.cssSelector(".insiderone-icon-cards-see-more-div .insiderone-icon-cards-grid-item");
 
-    private final By teamCardTitle = By.xpath(
-            "//div[contains(@class,'insiderone-icon-cards-grid-item-title')]//h3");
-    private final By teamCardDescription = By.xpath(
-            "//div[contains(@class,'insiderone-icon-cards-grid-item-description')]//p");
-    private final By teamCardButton = By.xpath(
-            "//a[contains(@class,'insiderone-icon-cards-grid-item-btn')]");
-
     private final By seeAllTeamsButton = By.cssSelector(".insiderone-icon-cards-button-group .see-more");
 
     @Step("Wait for 'Explore open roles' section to be visible")
@@ -136,36 +142,27 @@ public class CareersPage extends BasePage {
 
     @Step("Get 'Explore open roles' title")
     public String getTeamsTitle() {
-        return driver.findElement(teamsSection).getText().trim();
+        return textOf(teamsSection);
     }
 
     @Step("Get 'Explore open roles' subtitle")
     public String getTeamsSubtitle() {
-        return driver.findElement(teamsSubtitle).getText().trim();
+        return textOf(teamsSubtitle);
     }
 
     @Step("Get count of collapsed (top 3x2 grid) team cards")
     public int getCollapsedTeamsCount() {
-        return driver.findElements(collapsedTeamCards).size();
+        return countOf(collapsedTeamCards);
     }
 
     @Step("Get count of 'See more' team cards (inside see-more container)")
     public int getSeeMoreTeamsCount() {
-        return driver.findElements(seeMoreTeamCards).size();
+        return countOf(seeMoreTeamCards);
     }
 
     @Step("Get ALL team card details (top + see-more container)")
     public List<TeamCardView> getAllTeamCards() {
-        return driver.findElements(allTeamCards).stream()
-                .map(card -> {
-                    String name = card.findElement(teamCardTitle).getText().trim();
-                    String desc = card.findElement(teamCardDescription).getText().trim();
-                    WebElement btn = card.findElement(teamCardButton);
-                    String buttonText = btn.getText().trim();
-                    String href = btn.getAttribute("href");
-                    return new TeamCardView(name, desc, buttonText, href);
-                })
-                .collect(Collectors.toList());
+        return readAll(TeamCardView.class);
     }
 
     @Step("Click 'See all teams' / 'See less' toggle button")
@@ -180,41 +177,33 @@ public class CareersPage extends BasePage {
 
     @Step("Get current text of 'See all teams' toggle button")
     public String getSeeAllButtonText() {
-        return driver.findElement(seeAllTeamsButton).getText().trim();
+        return textOf(seeAllTeamsButton);
     }
 
     @Step("Get 'See all teams' aria-expanded attribute")
     public String getSeeAllButtonAriaExpanded() {
-        return driver.findElement(seeAllTeamsButton).getAttribute("aria-expanded");
+        return attributeOf(seeAllTeamsButton, "aria-expanded");
     }
 
     @Step("Check if see-more container has 'open' class")
     public boolean isSeeMoreContainerOpen() {
-        String classes = driver.findElement(seeMoreContainer).getAttribute("class");
+        String classes = attributeOf(seeMoreContainer, "class");
         return classes != null && classes.contains("open");
     }
 
     @Step("Get team card view by index: {index}")
     public TeamCardView getTeamCardByIndex(int index) {
-        String baseXpath = "(//div[contains(@class,'insiderone-icon-cards-grid-item')])[" + index + "]";
-        WebElement card = driver.findElement(By.xpath(baseXpath));
-
-        String name = card.findElement(teamCardTitle).getText().trim();
-        String desc = card.findElement(teamCardDescription).getText().trim();
-
-        WebElement btn = card.findElement(teamCardButton);
-        String openPositionsText = btn.getText().trim();
-        String href = btn.getAttribute("href") != null ? btn.getAttribute("href").trim() : "";
-
-        return new TeamCardView(name, desc, openPositionsText, href);
+        // 1-based, same order as getAllTeamCards()
+        return getAllTeamCards().get(index - 1);
     }
 
 
-    // Small DTO for what we read from the UI
-    public record TeamCardView(String name,
-                               String description,
-                               String openPositionsText,
-                               String href) {
+    // Small DTO for what we read from the UI (all cards: top + inside see-more container)
+    @DomRecord(".insiderone-icon-cards-grid-item")
+    public record TeamCardView(@DomField(".insiderone-icon-cards-grid-item-title h3") String name,
+                               @DomField(".insiderone-icon-cards-grid-item-description p") String description,
+                               @DomField("a.insiderone-icon-cards-grid-item-btn") String openPositionsText,
+                               @DomField(value = "a.insiderone-icon-cards-grid-item-btn", attribute = "href") String href) {
 
     }
 
@@ -236,70 +225,52 @@ public class CareersPage extends BasePage {
 
     @Step("Get 'Our locations' title")
     public String getLocationsTitle() {
-        return driver.findElement(locationsTitle).getText().trim();
+        return textOf(locationsTitle);
     }
 
     @Step("Get 'Our locations' subtitle")
     public String getLocationsSubtitle() {
-        return driver.findElement(locationsSubtitle).getText().trim();
+        return textOf(locationsSubtitle);
     }
 
     @Step("Get total count of location cards in slider")
     public int getLocationsCount() {
-        return driver.findElements(locationSlides).size();
+        return countOf(locationSlides);
+    }
+
+    @Step("Get all location cards in slider")
+    public List<LocationCardView> getAllLocationCards() {
+        return readAll(LocationCardView.class);
     }
 
     @Step("Get location card view by index: {index}")
     public LocationCardView getLocationCardByIndex(int index) {
-        // base for this card
-        String baseXpath = "//div[contains(@class,'insiderone-locations-slider-item')]";
-
-        By nameLocator    = By.xpath("(" + baseXpath + "//h3)[" + index + "]");
-        By addressLocator = By.xpath("(" + baseXpath + "//p)[" + index + "]");
-        By emailLocator   = By.xpath("(" + baseXpath + "//div[contains(@class,'email')]//a)[" + index + "]");
-        By mapsLocator    = By.xpath("(" + baseXpath + "//div[contains(@class,'link')]//a)[" +index +"]");
-
-                // name (mandatory)
-        String nameText = driver.findElement(nameLocator).getText().trim();
-
-        // address (mandatory)
-        String addressText = driver.findElement(addressLocator).getText().trim();
-
-        // email (optional)
-        String emailText = "";
-        String emailHref = "";
-        List<WebElement> emailAnchors = driver.findElements(emailLocator);
-        if (!emailAnchors.isEmpty()) {
-            WebElement emailAnchor = emailAnchors.get(0);
-            emailText = emailAnchor.getText().trim();
-            String href = emailAnchor.getAttribute("href");
-            emailHref = href != null ? href.trim() : "";
-        }
-
-        // maps link (mandatory)
-        WebElement mapsAnchor = driver.findElement(mapsLocator);
-        String mapsHref = mapsAnchor.getAttribute("href") != null
-                ? mapsAnchor.getAttribute("href").trim()
-                : "";
-
-        return new LocationCardView(
-                nameText,
-                addressText,
-                emailText,
-                emailHref,
-                mapsHref
-        );
+        // 1-based, same order as the slider
+        return getAllLocationCards().get(index - 1);
     }
 
+    @DomRecord(".insiderone-locations-slider-slides .swiper-slide")
     public record LocationCardView(
-            String name,
-            String address,
-            String emailText,
-            String emailHref,
-            String mapsHref
+            @DomField("h3") String name,
+            @DomField("p") String address,
+            @DomField(value = "div[class*='email'] a", optional = true) String emailText,
+            @DomField(value = "div[class*='email'] a", attribute = "href", optional = true) String emailHref,
+            @DomField(value = "div[class*='link'] a", attribute = "href") String mapsHref
     ) {}
 
 
+    // ---------- Links and assets ----------
+
+    // Life gallery, team cards (top grid + see-more) and location cards
+    private final By linkSections = By.cssSelector(".insiderone-gallery-slider-container, "
+            + ".insiderone-icon-cards-grid, .insiderone-icon-cards-see-more-div, .insiderone-locations-slider-container");
+
+    @Step("Collect link and image URLs of the Careers page sections")
+    public List<String> getLinkAndAssetUrls() {
+        return linkTargets(linkSections);
+    }
+
+
     // ---------- Generic Careers page helpers ----------
 
     @Step("Check Locations section is visible on Careers page")
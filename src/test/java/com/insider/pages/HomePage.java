@@ -2,19 +2,23 @@ package com.insider.pages;
 
 import com.insider.base.BasePage;
 import com.insider.config.ConfigManager;
+import com.insider.testdata.HomePageData;
+import com.insider.testdata.PerformanceBudget;
+import com.insider.utils.TestDataLoader;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class HomePage extends BasePage {
 
     // Simple "page loaded" element
     private final By header = By.tagName("header");
 
+    // Header and footer navigation, checked for broken links
+    private final By navigation = By.cssSelector("header, footer");
+
     // COMPANY heading
     private final By companySectionHeading = By.xpath(
             "//div[@class='footer-links']//h3[contains(text(),'COMPANY')]"
@@ -33,6 +37,17 @@ public class HomePage extends BasePage {
     public HomePage(WebDriver driver) {
         super(driver);
     }
+
+    @Override
+    protected By readinessAnchor() {
+        return header;
+    }
+
+    @Override
+    protected PerformanceBudget performanceBudget() {
+        return TestDataLoader.load("testdata/homepage.json", HomePageData.class).getPerformanceBudget();
+    }
+
     @Step("Open Insider home page")
     public void openHomePage() {
         logger.info("[HomePage] Opening home page");
@@ -66,10 +81,12 @@ public class HomePage extends BasePage {
 
     @Step("Verify all link texts under COMPANY section")
     public List<String> getCompanyLinksTexts() {
-        List<WebElement> elements = driver.findElements(companyLinks);
-        return elements.stream()
-                .map(e -> e.getText().trim())
-                .collect(Collectors.toList());
+        return textsOf(companyLinks);
+    }
+
+    @Step("Collect link and image URLs of the header and footer")
+    public List<String> getNavigationLinkUrls() {
+        return linkTargets(navigation);
     }
 
     @Step("Click \"We're hiring\" link under COMPANY section")
@@ -21,19 +21,24 @@ public class LeverApplyJobPage extends BasePage {
         super(driver);
     }
 
+    @Override
+    protected By readinessAnchor() {
+        return jobTitle;
+    }
+
     @Step("Get job title on apply page")
     public String getJobTitle() {
-        return driver.findElement(jobTitle).getText().trim();
+        return textOf(jobTitle);
     }
 
     @Step("Get location on apply page")
     public String getLocation() {
-        return driver.findElement(location).getText().trim();
+        return textOf(location);
     }
 
     @Step("Get department on apply page")
     public String getDepartment() {
-        return driver.findElement(department).getText().trim();
+        return textOf(department);
     }
 
     @Step("Get commitment on apply page")
@@ -53,7 +58,7 @@ public class LeverApplyJobPage extends BasePage {
 
     @Step("Get workplace type on apply page")
     public String getWorkplaceType() {
-        return driver.findElement(workplaceTypes).getText().trim();
+        return textOf(workplaceTypes);
     }
 
 //    @Step("Check 'Submit your application' section is visible")
@@ -19,19 +19,24 @@ public class LeverJobDetailPage extends BasePage {
         super(driver);
     }
 
+    @Override
+    protected By readinessAnchor() {
+        return jobTitle;
+    }
+
     @Step("Get job title on detail page")
     public String getJobTitle() {
-        return driver.findElement(jobTitle).getText().trim();
+        return textOf(jobTitle);
     }
 
     @Step("Get location on detail page")
     public String getLocation() {
-        return driver.findElement(location).getText().trim();
+        return textOf(location);
     }
 
     @Step("Get department on detail page")
     public String getDepartment() {
-        return driver.findElement(department).getText().trim();
+        return textOf(department);
     }
 
     @Step("Get commitment on detail page (optional)")
@@ -50,7 +55,7 @@ public class LeverJobDetailPage extends BasePage {
     }
     @Step("Get workplace type on detail page")
     public String getWorkplaceType() {
-        return driver.findElement(workplaceTypes).getText().trim();
+        return textOf(workplaceTypes);
     }
 
     @Step("Check 'Apply for this job' button is visible")
@@ -61,5 +66,12 @@ public class LeverJobDetailPage extends BasePage {
     @Step("Click 'Apply for this job' on detail page")
     public void clickApplyForThisJob() {
         driver.findElement(applyForThisJobButton).click();
+        invalidateSnapshot();
+    }
+
+    /** Like {@link #clickApplyForThisJob()}, but returns once the apply page starts loading (tab flows). */
+    @Step("Start 'Apply for this job' on detail page")
+    public void startApplyForThisJob() {
+        clickWithoutWaiting(applyForThisJobButton);
     }
 }
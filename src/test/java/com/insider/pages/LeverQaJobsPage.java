@@ -1,13 +1,18 @@
 package com.insider.pages;
 
 import com.insider.base.BasePage;
+import com.insider.base.DomField;
+import com.insider.base.DomRecord;
+import com.insider.testdata.LeverQaJobsData;
+import com.insider.testdata.PerformanceBudget;
+import com.insider.utils.LeverPostingsOracle;
+import com.insider.utils.TestDataLoader;
 import io.qameta.allure.Step;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class LeverQaJobsPage extends BasePage {
 
@@ -15,6 +20,26 @@ public class LeverQaJobsPage extends BasePage {
         super(driver);
     }
 
+    @Override
+    protected By readinessAnchor() {
+        return filterBar;
+    }
+
+    @Override
+    protected PerformanceBudget performanceBudget() {
+        return TestDataLoader.load("testdata/leverQAjobs.json", LeverQaJobsData.class).getPerformanceBudget();
+    }
+
+    @Override
+    protected List<By> checkpointLocators() {
+        return List.of(filterBar, postingCards);
+    }
+
+    /** Checkpoint name of the QA listing filtered by {@code locationText}. */
+    public static String locationCheckpoint(String locationText) {
+        return "lever-qa-listing:" + locationText;
+    }
+
     // Top filters
     private final By filterBar            = By.cssSelector(".filter-bar");
     private final By filterButtonsWrapper = By.cssSelector(".filter-bar .filter-button-wrapper");
@@ -74,12 +99,20 @@ public class LeverQaJobsPage extends BasePage {
     public void selectLocation(String locationText) {
         driver.findElement(locationFilterWrapper).click();
         driver.findElement(By.linkText(locationText)).click();
+        invalidateSnapshot();
         waitUntilVisible(postingCards);
     }
 
 
 
 
+    /** Like {@link #selectLocation(String)}, but returns once the filtered listing starts loading (tab flows). */
+    @Step("Start selecting Location: {locationText}")
+    public void startSelectLocation(String locationText) {
+        driver.findElement(locationFilterWrapper).click();
+        clickWithoutWaiting(By.linkText(locationText));
+    }
+
     @Step("Check posting group title is visible")
     public boolean isPostingGroupTitleVisible() {
         return driver.findElement(postingsGroupTitle).isDisplayed();
@@ -87,7 +120,7 @@ public class LeverQaJobsPage extends BasePage {
 
     @Step("Get posting group title text")
     public String getPostingGroupTitleText() {
-        String text = driver.findElement(postingsGroupTitle).getText().trim();
+        String text = textOf(postingsGroupTitle);
         logger.info("Posting group title text: [" + text + "]");
         return text;
     }
@@ -99,17 +132,17 @@ public class LeverQaJobsPage extends BasePage {
 
     @Step("Get job title from list")
     public String getJobTitle() {
-        return driver.findElement(postingTitle).getText().trim();
+        return textOf(postingTitle);
     }
 
     @Step("Get job location from list")
     public String getJobLocation() {
-        return driver.findElement(postingLocation).getText().trim();
+        return textOf(postingLocation);
     }
 
     @Step("Get job work type from list")
     public String getJobWorkplaceType() {
-        return driver.findElement(postingWorkPlaceType).getText().trim();
+        return textOf(postingWorkPlaceType);
     }
 
     @Step("Get job commitment from list")
@@ -129,7 +162,7 @@ public class LeverQaJobsPage extends BasePage {
 
     @Step("Get job link href from list")
     public String getJobLinkHref() {
-        return driver.findElement(postingTitleLink).getAttribute("href");
+        return attributeOf(postingTitleLink, "href");
     }
 
     @Step("Check job Apply button is visible")
@@ -140,46 +173,33 @@ public class LeverQaJobsPage extends BasePage {
     @Step("Click Apply button on first job card")
     public void clickJobApply() {
         driver.findElement(postingApplyBtn).click();
+        invalidateSnapshot();
+    }
+
+    /** Like {@link #clickJobApply()}, but returns once the job's page starts loading (tab flows). */
+    @Step("Start opening first job card")
+    public void startJobApply() {
+        clickWithoutWaiting(postingApplyBtn);
     }
+
+    @DomRecord(".postings-group .posting")
     public record JobCardView(
-            String title,
-            String location,
-            String workplaceType,
-            String commitment,
-            String detailHref,
-            String applyHref
-    ) {}
+            @DomField("h5[data-qa='posting-name']") String title,
+            @DomField(".location") String location,
+            @DomField(value = ".workplaceTypes", optional = true) String workplaceType,
+            @DomField(value = ".commitment", optional = true) String commitment,
+            @DomField(value = "a.posting-title", attribute = "href") String detailHref,
+            @DomField(value = ".posting-btn-submit", attribute = "href") String applyHref
+    ) {
+
+        /** This card in the shape {@link LeverPostingsOracle#diff} compares against the postings API. */
+        public LeverPostingsOracle.ListedPosting toListed() {
+            return new LeverPostingsOracle.ListedPosting(title, location, workplaceType, commitment, detailHref, applyHref);
+        }
+    }
 
     @Step("Get all job cards on QA jobs listing")
     public List<JobCardView> getAllJobCards() {
-        return driver.findElements(postingCards).stream()
-                .map(card -> {
-                    String title = card.findElement(By.cssSelector("h5[data-qa='posting-name']"))
-                            .getText().trim();
-
-                    String location = card.findElement(By.cssSelector(".location"))
-                            .getText().trim();
-
-                    String workType = "";
-                    var wt = card.findElements(By.cssSelector(".workplaceTypes"));
-                    if (!wt.isEmpty()) {
-                        workType = wt.get(0).getText().trim();
-                    }
-
-                    String commitment = "";
-                    var cm = card.findElements(By.cssSelector(".commitment"));
-                    if (!cm.isEmpty()) {
-                        commitment = cm.get(0).getText().trim();
-                    }
-
-                    String detailHref = card.findElement(By.cssSelector("a.posting-title"))
-                            .getAttribute("href");
-
-                    String applyHref = card.findElement(By.cssSelector(".posting-btn-submit"))
-                            .getAttribute("href");
-
-                    return new JobCardView(title, location, workType, commitment, detailHref, applyHref);
-                })
-                .collect(Collectors.toList());
+        return readAll(JobCardView.class);
     }
 }
@@ -0,0 +1,430 @@
+package com.insider.runner;
+
+import com.insider.config.ConfigManager;
+import com.insider.utils.AllureResultsMerger;
+import com.insider.utils.DurationHistory;
+import com.insider.utils.RunHistory;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.TestNG;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.internal.Parser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Work-stealing runner: owns the queue of test methods and data-provider rows of a suite and
+ * hands them one at a time to worker JVMs ({@link Worker}) connecting over a loopback socket.
+ * <p>
+ * The queue is enumerated with a TestNG dry run (data providers are evaluated, no test runs) and
+ * ordered longest-first from {@link DurationHistory}; a worker that finishes early simply pulls
+ * the next item, so no JVM idles while another still has a backlog. An item whose worker
+ * disconnects before reporting it (crash, kill, lost browser) goes back to the front of the queue,
+ * up to {@code runner.maxAttempts} hand-outs. Each worker writes its own Allure results; they are
+ * merged into {@code <runner.dir>/allure-results} at the end.
+ * <p>
+ * Usage: {@code Coordinator [suite-xml]}; starts {@code runner.workers} workers itself, extra
+ * ones can join with {@code Worker <port>}.
+ */
+public final class Coordinator {
+
+    private static final Logger logger = Logger.getLogger(Coordinator.class.getName());
+
+    private static final String DEFAULT_SUITE = "src/test/resources/testng.xml";
+
+    // Workers still shutting down (pool, metrics) after the last item
+    private static final long WORKER_EXIT_SECONDS = 120;
+
+    private final String suiteFile;
+    private final int maxAttempts;
+    private final int total;
+    private final Deque<WorkItem> queue;
+    private final Map<Integer, Integer> attempts = new HashMap<>();
+    private final Map<Integer, ItemResult> results = new TreeMap<>();
+    private final Map<String, WorkerStats> workers = new LinkedHashMap<>();
+    private int requeued;
+
+    private Coordinator(String suiteFile, List<WorkItem> items, int maxAttempts) {
+        this.suiteFile = suiteFile;
+        this.maxAttempts = maxAttempts;
+        this.total = items.size();
+        this.queue = new ArrayDeque<>(items);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String suiteFile = args.length > 0 ? args[0] : DEFAULT_SUITE;
+        Path dir = Path.of(ConfigManager.getRunnerDir());
+        clean(dir);
+
+        List<WorkItem> items = enumerate(suiteFile, dir.resolve("enumeration"));
+        Coordinator coordinator = new Coordinator(suiteFile, items, ConfigManager.getRunnerMaxAttempts());
+
+        List<Process> spawned = new ArrayList<>();
+        try (ServerSocket server = new ServerSocket(ConfigManager.getRunnerPort(), 50, InetAddress.getLoopbackAddress())) {
+            logger.info("[RUNNER] Coordinator listening on 127.0.0.1:" + server.getLocalPort());
+            Thread acceptor = new Thread(() -> coordinator.accept(server), "runner-accept");
+            acceptor.setDaemon(true);
+            acceptor.start();
+
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> spawned.forEach(Process::destroy)));
+            for (int i = 1; i <= ConfigManager.getRunnerWorkers(); i++) {
+                spawned.add(spawn("worker-" + i, server.getLocalPort(), dir));
+            }
+            coordinator.awaitCompletion(spawned);
+        }
+        for (Process process : spawned) {
+            if (!process.waitFor(WORKER_EXIT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroy();
+            }
+        }
+
+        List<Path> workerResults;
+        try (Stream<Path> children = Files.list(dir)) {
+            workerResults = children.filter(p -> p.getFileName().toString().startsWith("worker-"))
+                    .map(p -> p.resolve("allure-results"))
+                    .sorted()
+                    .toList();
+        }
+        AllureResultsMerger.merge(dir.resolve("allure-results"), workerResults);
+
+        coordinator.recordHistory();
+        boolean green = coordinator.report();
+        System.exit(green ? 0 : 1);
+    }
+
+    // ---------- Work enumeration ----------
+
+    /** Dry-runs the suite (no browser, no test body) to list its methods and data-provider rows. */
+    private static List<WorkItem> enumerate(String suiteFile, Path scratchResults) throws IOException {
+        List<XmlSuite> suites = new ArrayList<>(new Parser(suiteFile).parseToList());
+        // Scheduling / sharding listeners would act on (and record) the dry run
+        suites.forEach(suite -> suite.getListeners().clear());
+
+        Map<String, int[]> invocations = new TreeMap<>();
+        Map<String, Boolean> dataDriven = new HashMap<>();
+        ITestListener collector = new ITestListener() {
+            @Override
+            public void onTestSuccess(ITestResult result) {
+                String key = String.join("\t", result.getTestContext().getName(),
+                        result.getMethod().getRealClass().getName(), result.getMethod().getMethodName());
+                synchronized (invocations) {
+                    invocations.computeIfAbsent(key, k -> new int[1])[0]++;
+                    dataDriven.put(key, result.getMethod().isDataDriven());
+                }
+            }
+        };
+
+        String previousResults = System.getProperty("allure.results.directory");
+        System.setProperty("allure.results.directory", scratchResults.toString());
+        System.setProperty("testng.mode.dryrun", "true");
+        try {
+            TestNG testng = new TestNG(false);
+            testng.setVerbose(0);
+            testng.setXmlSuites(suites);
+            testng.addListener(collector);
+            testng.run();
+        } finally {
+            System.clearProperty("testng.mode.dryrun");
+            if (previousResults == null) {
+                System.clearProperty("allure.results.directory");
+            } else {
+                System.setProperty("allure.results.directory", previousResults);
+            }
+            clean(scratchResults);
+        }
+
+        DurationHistory history = DurationHistory.shared();
+        List<WorkItem> items = new ArrayList<>();
+        invocations.forEach((key, count) -> {
+            String[] name = key.split("\t");
+            String qualifiedName = name[1] + "." + name[2];
+            if (dataDriven.get(key)) {
+                long perRow = history.get(qualifiedName)
+                        .map(entry -> entry.millis() / Math.max(1, entry.rows()))
+                        .orElse(ConfigManager.getSchedulerDefaultSeconds() * 1000L);
+                for (int row = 0; row < count[0]; row++) {
+                    items.add(new WorkItem(0, name[0], name[1], name[2], row, perRow));
+                }
+            } else {
+                long millis = history.get(qualifiedName).map(DurationHistory.Entry::millis)
+                        .orElse(ConfigManager.getSchedulerDefaultSeconds() * 1000L);
+                items.add(new WorkItem(0, name[0], name[1], name[2], -1, millis));
+            }
+        });
+
+        // Longest first; stable, so rows of one method stay in order
+        items.sort(Comparator.comparingLong(WorkItem::estimateMillis).reversed());
+        List<WorkItem> numbered = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            numbered.add(items.get(i).withId(i + 1));
+        }
+        long work = numbered.stream().mapToLong(WorkItem::estimateMillis).sum();
+        logger.info(String.format("[RUNNER] %d work items from %d methods of %s, ~%ds of work",
+                numbered.size(), invocations.size(), suiteFile, work / 1000));
+        return numbered;
+    }
+
+    // ---------- Workers ----------
+
+    /** Starts a worker JVM with this JVM's classpath, agents and {@code -D} options. */
+    private static Process spawn(String id, int port, Path dir) throws IOException {
+        Path workerDir = dir.resolve(id);
+        Files.createDirectories(workerDir);
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+                .filter(arg -> !arg.startsWith("-Dallure.results.directory=") && !arg.startsWith("-agentlib:jdwp")
+                        && !arg.startsWith("-Dhistory.runId="))
+                .forEach(command::add);
+        command.add("-Dallure.results.directory=" + workerDir.resolve("allure-results"));
+        // workers record their timings as part of the coordinator's run
+        command.add("-Dhistory.runId=" + RunHistory.runId());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(Worker.class.getName());
+        command.add(String.valueOf(port));
+        command.add(id);
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(workerDir.resolve("worker.log").toFile())
+                .start();
+        logger.info("[RUNNER] Started " + id + " (pid " + process.pid() + ", log " + workerDir.resolve("worker.log") + ")");
+        return process;
+    }
+
+    private void accept(ServerSocket server) {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                Thread connection = new Thread(() -> serve(socket), "runner-connection");
+                connection.setDaemon(true);
+                connection.start();
+            } catch (SocketException closed) {
+                return;
+            } catch (IOException e) {
+                logger.warning("[RUNNER] Accept failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * One worker connection: {@code HELLO <id>} / {@code SUITE <file>}, then {@code NEXT} answered
+     * by {@code RUN <item>}, {@code WAIT} (items are still running and may come back) or
+     * {@code DONE}, and {@code RESULT <id> <passed> <failed> <skipped> <millis>} per item.
+     */
+    private void serve(Socket socket) {
+        WorkerStats worker = null;
+        WorkItem current = null;
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+
+            String hello = in.readLine();
+            if (hello == null || !hello.startsWith("HELLO ")) {
+                logger.warning("[RUNNER] Dropping connection without HELLO: " + hello);
+                return;
+            }
+            worker = join(hello.substring("HELLO ".length()).trim());
+            out.println("SUITE " + Path.of(suiteFile).toAbsolutePath());
+
+            for (String line; (line = in.readLine()) != null; ) {
+                if (line.equals("NEXT")) {
+                    current = assign(worker);
+                    out.println(current != null ? "RUN " + current.encode() : isFinished() ? "DONE" : "WAIT");
+                } else if (line.startsWith("RESULT ") && current != null) {
+                    complete(worker, current, ItemResult.decode(line.substring("RESULT ".length())));
+                    current = null;
+                } else {
+                    logger.warning("[RUNNER] Unexpected message from " + worker.id + ": " + line);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warning("[RUNNER] Connection to " + (worker == null ? "worker" : worker.id) + " failed: " + e.getMessage());
+        } finally {
+            if (worker != null) {
+                leave(worker, current);
+            }
+        }
+    }
+
+    // ---------- Queue ----------
+
+    private synchronized WorkerStats join(String id) {
+        WorkerStats worker = workers.computeIfAbsent(id, WorkerStats::new);
+        worker.connected = true;
+        logger.info("[RUNNER] " + id + " connected");
+        return worker;
+    }
+
+    private synchronized WorkItem assign(WorkerStats worker) {
+        WorkItem item = queue.pollFirst();
+        if (item != null) {
+            attempts.merge(item.id(), 1, Integer::sum);
+            logger.fine("[RUNNER] " + item + " -> " + worker.id);
+        }
+        return item;
+    }
+
+    private synchronized void complete(WorkerStats worker, WorkItem item, ItemResult result) {
+        results.put(item.id(), result.of(item, worker.id));
+        worker.add(result);
+        logger.info(String.format("[RUNNER] %s %s on %s in %dms (%d/%d)",
+                item, result.status(), worker.id, result.millis(), results.size(), total));
+        notifyAll();
+    }
+
+    /** A worker disconnected; the item it was running goes back to the front of the queue. */
+    private synchronized void leave(WorkerStats worker, WorkItem inFlight) {
+        worker.connected = false;
+        if (inFlight != null) {
+            if (attempts.getOrDefault(inFlight.id(), 0) < maxAttempts) {
+                queue.addFirst(inFlight);
+                requeued++;
+                logger.warning("[RUNNER] " + worker.id + " died running " + inFlight + ", re-queued");
+            } else {
+                results.put(inFlight.id(), ItemResult.lost(inFlight, worker.id));
+                logger.severe("[RUNNER] " + inFlight + " lost its worker " + maxAttempts + " times, giving up on it");
+            }
+        } else {
+            logger.info("[RUNNER] " + worker.id + " disconnected");
+        }
+        notifyAll();
+    }
+
+    private synchronized boolean isFinished() {
+        return results.size() == total;
+    }
+
+    private synchronized void awaitCompletion(List<Process> spawned) throws InterruptedException {
+        while (!isFinished()) {
+            wait(1000);
+            boolean anyConnected = workers.values().stream().anyMatch(w -> w.connected);
+            if (!spawned.isEmpty() && !anyConnected && spawned.stream().noneMatch(Process::isAlive)) {
+                logger.severe("[RUNNER] All workers exited with " + (total - results.size()) + " items left");
+                queue.forEach(item -> results.put(item.id(), ItemResult.lost(item, "-")));
+                queue.clear();
+                return;
+            }
+        }
+    }
+
+    // ---------- Reporting ----------
+
+    private void recordHistory() {
+        Map<String, long[]> byMethod = new HashMap<>();
+        results.values().stream()
+                .filter(r -> r.passed() + r.failed() > 0) // skipped / lost items did not really run
+                .forEach(r -> {
+                    long[] sum = byMethod.computeIfAbsent(r.item().qualifiedName(), k -> new long[2]);
+                    sum[0] += r.millis();
+                    sum[1]++;
+                });
+        DurationHistory history = DurationHistory.shared();
+        byMethod.forEach((method, sum) -> history.record(method, sum[0], (int) sum[1]));
+        history.save();
+    }
+
+    private boolean report() {
+        StringBuilder summary = new StringBuilder("[RUNNER] Work-stealing run of " + suiteFile + ":");
+        workers.values().forEach(w -> summary.append(String.format(
+                "%n  %-10s items=%d passed=%d failed=%d skipped=%d busy=%ds",
+                w.id, w.items, w.passed, w.failed, w.skipped, w.busyMillis / 1000)));
+        List<ItemResult> red = results.values().stream().filter(r -> !r.green()).toList();
+        summary.append(String.format("%n  items=%d re-queued=%d not green=%d", total, requeued, red.size()));
+        red.forEach(r -> summary.append("\n    ").append(r.item()).append(' ').append(r.status()));
+        logger.info(summary.toString());
+        return red.isEmpty() && results.size() == total;
+    }
+
+    private static void clean(Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (Stream<Path> tree = Files.walk(dir)) {
+            for (Path path : tree.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class WorkerStats {
+        private final String id;
+        private boolean connected;
+        private int items;
+        private int passed;
+        private int failed;
+        private int skipped;
+        private long busyMillis;
+
+        private WorkerStats(String id) {
+            this.id = id;
+        }
+
+        private void add(ItemResult result) {
+            items++;
+            passed += result.passed();
+            failed += result.failed();
+            skipped += result.skipped();
+            busyMillis += result.millis();
+        }
+    }
+
+    /** Outcome of one item as reported by its worker; {@code lost} when no worker finished it. */
+    private record ItemResult(WorkItem item, String worker, int passed, int failed, int skipped, long millis,
+                              boolean lost) {
+
+        static ItemResult decode(String line) {
+            String[] f = line.split("\t");
+            return new ItemResult(null, null, Integer.parseInt(f[1]), Integer.parseInt(f[2]),
+                    Integer.parseInt(f[3]), Long.parseLong(f[4]), false);
+        }
+
+        static ItemResult lost(WorkItem item, String worker) {
+            return new ItemResult(item, worker, 0, 0, 0, 0, true);
+        }
+
+        ItemResult of(WorkItem workItem, String workerId) {
+            return new ItemResult(workItem, workerId, passed, failed, skipped, millis, lost);
+        }
+
+        boolean green() {
+            return !lost && failed == 0 && skipped == 0 && passed > 0;
+        }
+
+        String status() {
+            if (lost) {
+                return "LOST";
+            }
+            if (passed + failed + skipped == 0) {
+                return "NO RESULT";
+            }
+            return failed > 0 ? "FAILED" : skipped > 0 ? "SKIPPED" : "PASSED";
+        }
+    }
+}
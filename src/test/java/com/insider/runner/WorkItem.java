@@ -0,0 +1,38 @@
+package com.insider.runner;
+
+/**
+ * One schedulable unit of the suite: a test method, or a single data-provider row of it
+ * ({@code invocation} is the row index, -1 for a plain method).
+ * <p>
+ * Sent to workers as one tab-separated line.
+ */
+public record WorkItem(int id, String testName, String className, String methodName, int invocation,
+                       long estimateMillis) {
+
+    public String qualifiedName() {
+        return className + "." + methodName;
+    }
+
+    WorkItem withId(int newId) {
+        return new WorkItem(newId, testName, className, methodName, invocation, estimateMillis);
+    }
+
+    String encode() {
+        return String.join("\t", String.valueOf(id), testName, className, methodName,
+                String.valueOf(invocation), String.valueOf(estimateMillis));
+    }
+
+    static WorkItem decode(String line) {
+        String[] fields = line.split("\t");
+        if (fields.length != 6) {
+            throw new IllegalArgumentException("Malformed work item: " + line);
+        }
+        return new WorkItem(Integer.parseInt(fields[0]), fields[1], fields[2], fields[3],
+                Integer.parseInt(fields[4]), Long.parseLong(fields[5]));
+    }
+
+    @Override
+    public String toString() {
+        return "#" + id + " " + qualifiedName() + (invocation >= 0 ? "[" + invocation + "]" : "");
+    }
+}
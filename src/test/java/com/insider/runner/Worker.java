@@ -0,0 +1,156 @@
+package com.insider.runner;
+
+import com.insider.base.BaseTest;
+import com.insider.config.ConfigManager;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.TestNG;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import org.testng.xml.internal.Parser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Worker JVM of the work-stealing runner: pulls items from the {@link Coordinator} until it
+ * says {@code DONE} and runs each one as its own single-method TestNG suite (one row of a data
+ * provider via {@code invocation-numbers}). The driver pool, caches and metrics of this JVM
+ * carry over from item to item and are reported once when the worker ends.
+ * <p>
+ * Usage: {@code Worker [port] [id]} (port defaults to {@code runner.port}).
+ */
+public final class Worker {
+
+    private static final Logger logger = Logger.getLogger(Worker.class.getName());
+
+    // Poll interval while the queue is empty but items may still come back from a dying worker
+    private static final long WAIT_MILLIS = 500;
+
+    private Worker() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : ConfigManager.getRunnerPort();
+        String id = args.length > 1 ? args[1] : "worker-" + ProcessHandle.current().pid();
+        if (port <= 0) {
+            throw new IllegalArgumentException("Worker needs the coordinator's port (argument or -Drunner.port)");
+        }
+
+        BaseTest.deferSuiteMetrics();
+        int items = 0;
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+
+            out.println("HELLO " + id);
+            String suiteLine = in.readLine();
+            if (suiteLine == null || !suiteLine.startsWith("SUITE ")) {
+                throw new IllegalStateException("Coordinator did not send the suite: " + suiteLine);
+            }
+            List<XmlSuite> suites = new Parser(suiteLine.substring("SUITE ".length())).parseToList();
+            logger.info("[RUNNER] " + id + " connected to coordinator on port " + port);
+
+            while (true) {
+                out.println("NEXT");
+                String reply = in.readLine();
+                if (reply == null || reply.equals("DONE")) {
+                    break;
+                }
+                if (reply.equals("WAIT")) {
+                    Thread.sleep(WAIT_MILLIS);
+                    continue;
+                }
+                WorkItem item = WorkItem.decode(reply.substring("RUN ".length()));
+                out.println("RESULT " + run(item, suites));
+                items++;
+            }
+        } catch (IOException e) {
+            logger.warning("[RUNNER] " + id + " lost the coordinator: " + e.getMessage());
+        } finally {
+            logger.info("[RUNNER] " + id + " ran " + items + " items");
+            BaseTest.logSuiteMetrics();
+        }
+        System.exit(0);
+    }
+
+    /** Runs one item; returns {@code <id> <passed> <failed> <skipped> <millis>}, tab-separated. */
+    private static String run(WorkItem item, List<XmlSuite> suites) {
+        logger.info("[RUNNER] Running " + item);
+        AtomicInteger passed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger skipped = new AtomicInteger();
+        ITestListener counter = new ITestListener() {
+            @Override
+            public void onTestSuccess(ITestResult result) {
+                passed.incrementAndGet();
+            }
+
+            @Override
+            public void onTestFailure(ITestResult result) {
+                failed.incrementAndGet();
+            }
+
+            @Override
+            public void onTestSkipped(ITestResult result) {
+                skipped.incrementAndGet();
+            }
+
+            @Override
+            public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+                passed.incrementAndGet();
+            }
+        };
+
+        long start = System.currentTimeMillis();
+        TestNG testng = new TestNG(false);
+        testng.setVerbose(0);
+        testng.setXmlSuites(List.of(suiteFor(item, suites)));
+        testng.addListener(counter);
+        testng.run();
+        long millis = System.currentTimeMillis() - start;
+
+        return String.join("\t", String.valueOf(item.id()), String.valueOf(passed.get()),
+                String.valueOf(failed.get()), String.valueOf(skipped.get()), String.valueOf(millis));
+    }
+
+    /** The item's {@code <test>} (parameters, groups) narrowed to its one method / row, run sequentially. */
+    private static XmlSuite suiteFor(WorkItem item, List<XmlSuite> suites) {
+        XmlTest original = suites.stream()
+                .flatMap(s -> s.getTests().stream())
+                .filter(t -> t.getName().equals(item.testName()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No <test> named " + item.testName()));
+
+        XmlSuite suite = new XmlSuite();
+        suite.setName(original.getSuite().getName());
+        suite.setParameters(original.getSuite().getParameters());
+        suite.setParallel(XmlSuite.ParallelMode.NONE);
+        suite.setThreadCount(1);
+        suite.setDataProviderThreadCount(1);
+
+        XmlTest test = new XmlTest(suite);
+        test.setName(original.getName());
+        test.setParameters(original.getLocalParameters());
+        test.setIncludedGroups(original.getIncludedGroups());
+        test.setExcludedGroups(original.getExcludedGroups());
+
+        XmlClass xmlClass = new XmlClass(item.className(), false);
+        XmlInclude include = item.invocation() >= 0
+                ? new XmlInclude(item.methodName(), List.of(item.invocation()), 0)
+                : new XmlInclude(item.methodName());
+        xmlClass.setIncludedMethods(List.of(include));
+        test.setXmlClasses(List.of(xmlClass));
+        return suite;
+    }
+}
@@ -7,6 +7,7 @@ public class CareersPageData {
     private LifeAtInsiderData lifeAtInsider;
     private TeamsSectionData teams;
     private LocationsSectionData locations;
+    private PerformanceBudget performanceBudget;
 
 
     public LifeAtInsiderData getLifeAtInsider() {
@@ -21,6 +22,10 @@ public class CareersPageData {
         return locations;
     }
 
+    public PerformanceBudget getPerformanceBudget() {
+        return performanceBudget;
+    }
+
     // nested DTOs
 
     public static class LifeAtInsiderData {
@@ -7,6 +7,7 @@ public class HomePageData {
     private String homeUrl;
     private String title;
     private Footer footer;
+    private PerformanceBudget performanceBudget;
 
     public String getHomeUrl() {
         return homeUrl;
@@ -20,6 +21,10 @@ public class HomePageData {
         return footer;
     }
 
+    public PerformanceBudget getPerformanceBudget() {
+        return performanceBudget;
+    }
+
     public static class Footer {
         private List<String> companyLinks;
         private List<String> resources;
@@ -10,6 +10,7 @@ public class LeverQaJobsData {
     private String workTypeContains;
     private int expectedInitialJobsCount;
     private List<LocationFlow> locationFlows;
+    private PerformanceBudget performanceBudget;
 
     public String getListingUrl() {
         return listingUrl;
@@ -35,6 +36,10 @@ public class LeverQaJobsData {
         return locationFlows;
     }
 
+    public PerformanceBudget getPerformanceBudget() {
+        return performanceBudget;
+    }
+
     public static class LocationFlow {
         private String name;
         private String locationFilterText;
@@ -51,5 +56,11 @@ public class LeverQaJobsData {
         public String getLocationShouldContain() {
             return locationShouldContain;
         }
+
+        // Shown as the data-provider parameter in TestNG and Allure results
+        @Override
+        public String toString() {
+            return name + " (" + locationFilterText + ")";
+        }
     }
 }
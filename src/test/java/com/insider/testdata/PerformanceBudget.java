@@ -0,0 +1,49 @@
+package com.insider.testdata;
+
+/**
+ * Performance budget of one page, declared as {@code "performanceBudget"} in the page's test data.
+ * Missing limits are not checked; times are milliseconds since navigation start.
+ */
+public class PerformanceBudget {
+
+    private Double maxTtfbMs;
+    private Double maxDomContentLoadedMs;
+    private Double maxLoadMs;
+    private Double maxFcpMs;
+    private Double maxLcpMs;
+    private Double maxCls;
+    private Integer maxResources;
+    private Integer maxTransferKb;
+
+    public Double getMaxTtfbMs() {
+        return maxTtfbMs;
+    }
+
+    public Double getMaxDomContentLoadedMs() {
+        return maxDomContentLoadedMs;
+    }
+
+    public Double getMaxLoadMs() {
+        return maxLoadMs;
+    }
+
+    public Double getMaxFcpMs() {
+        return maxFcpMs;
+    }
+
+    public Double getMaxLcpMs() {
+        return maxLcpMs;
+    }
+
+    public Double getMaxCls() {
+        return maxCls;
+    }
+
+    public Integer getMaxResources() {
+        return maxResources;
+    }
+
+    public Integer getMaxTransferKb() {
+        return maxTransferKb;
+    }
+}
@@ -4,6 +4,7 @@ import com.insider.base.BaseTest;
 import com.insider.listeners.AllureListener;
 import com.insider.pages.CareersPage;
 import com.insider.testdata.CareersPageData;
+import com.insider.utils.LinkVerifier;
 import com.insider.utils.TestDataLoader;
 import io.qameta.allure.*;
 import io.qameta.allure.testng.AllureTestNg;
@@ -13,7 +14,9 @@ import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 import org.testng.asserts.SoftAssert;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 
@@ -42,55 +45,55 @@ public class CareersPageTest extends BaseTest {
             """)
     public void verifyLifeAtInsiderGallery() {
 
-        Allure.step("Open Careers page", careersPage::openCareersPage);
-        Allure.step("Wait for Life at Insider section", careersPage::waitForLifeSection);
+        Allure.step("Open Careers page", careersPage()::openCareersPage);
+        Allure.step("Wait for Life at Insider section", careersPage()::waitForLifeSection);
 
         // 1) Title
-        String expectedTitle = careersData.getLifeAtInsider().getTitle();
-        String actualTitle = careersPage.getLifeTitle();
+        String expectedTitle = careersData().getLifeAtInsider().getTitle();
+        String actualTitle = careersPage().getLifeTitle();
         Assert.assertEquals(actualTitle, expectedTitle, "Life at Insider title mismatch");
 
         // 2) Subtitle
-        String expectedSubtitle = careersData.getLifeAtInsider().getSubtitle();
-        String actualSubtitle = careersPage.getLifeSubtitle();
+        String expectedSubtitle = careersData().getLifeAtInsider().getSubtitle();
+        String actualSubtitle = careersPage().getLifeSubtitle();
         Assert.assertEquals(actualSubtitle, expectedSubtitle, "Life at Insider subtitle mismatch");
 
         // 3) Image/slide count
-        int expectedCount = careersData.getLifeAtInsider().getExpectedImageCount();
-        int actualCount = careersPage.getLifeSlidesCount();
+        int expectedCount = careersData().getLifeAtInsider().getExpectedImageCount();
+        int actualCount = careersPage().getLifeSlidesCount();
         Assert.assertEquals(actualCount, expectedCount, "Life at Insider slides count mismatch");
 
         // 4) Arrows visible
-        Assert.assertTrue(careersPage.isRightArrowDisplayed(), "Right arrow should be visible");
-        Assert.assertTrue(careersPage.isLeftArrowDisplayed(), "Left arrow should be visible");
+        Assert.assertTrue(careersPage().isRightArrowDisplayed(), "Right arrow should be visible");
+        Assert.assertTrue(careersPage().isLeftArrowDisplayed(), "Left arrow should be visible");
 
         // 5) Each slide has <img> with non-empty src
         Allure.step("Verify each Life slide has non-empty image src", () -> {
             Assert.assertTrue(
-                    careersPage.allLifeSlidesHaveNonEmptyImgSrc(),
+                    careersPage().allLifeSlidesHaveNonEmptyImgSrc(),
                     "All Life at Insider slides should have an <img> with non-empty src"
             );
         });
 
         // 6) Only one .swiper-slide-active at any time (initial + after a couple of moves)
         Allure.step("Verify only one active Life slide exists at all times", () -> {
-            int initialActiveCount = careersPage.getActiveLifeSlidesCount();
+            int initialActiveCount = careersPage().getActiveLifeSlidesCount();
             Assert.assertEquals(
                     initialActiveCount, 1,
                     "Initially, there should be exactly one active Life slide"
             );
 
             // Move right once and check again
-            careersPage.clickLifeRightArrow();
-            int activeAfterRight = careersPage.getActiveLifeSlidesCount();
+            careersPage().clickLifeRightArrow();
+            int activeAfterRight = careersPage().getActiveLifeSlidesCount();
             Assert.assertEquals(
                     activeAfterRight, 1,
                     "After clicking right arrow, there should still be exactly one active Life slide"
             );
 
             // Move left once and check again
-            careersPage.clickLifeLeftArrow();
-            int activeAfterLeft = careersPage.getActiveLifeSlidesCount();
+            careersPage().clickLifeLeftArrow();
+            int activeAfterLeft = careersPage().getActiveLifeSlidesCount();
             Assert.assertEquals(
                     activeAfterLeft, 1,
                     "After clicking left arrow, there should still be exactly one active Life slide"
@@ -118,11 +121,11 @@ public class CareersPageTest extends BaseTest {
         - Optional: collapse back and verify aria-expanded & counts.
         """)
     public void verifyTeamsSectionAndSeeAllBehavior() {
-        CareersPage page = new CareersPage(driver);
+        CareersPage page = new CareersPage(driver());
         page.openCareersPage();
         page.waitForTeamsSection();
 
-        CareersPageData.TeamsSectionData teamsData = careersData.getTeams();
+        CareersPageData.TeamsSectionData teamsData = careersData().getTeams();
         int totalExpectedTeams = teamsData.getTeams().size();
 
         // ---------- 1) Section title & subtitle ----------
@@ -200,7 +203,7 @@ public class CareersPageTest extends BaseTest {
 
             int cardIndex = i + 1;
             CareersPageData.TeamCardData expected = expectedTeams.get(i);
-            CareersPage.TeamCardView card = page.getTeamCardByIndex(cardIndex);
+            CareersPage.TeamCardView card = allCardsAfterExpand.get(i);
 
             String uiName = card.name().trim();
             String uiDesc = card.description().trim();
@@ -280,14 +283,14 @@ public class CareersPageTest extends BaseTest {
       * 'Get Direction' href matches JSON.mapsUrl.
     """)
     public void verifyLocationsSectionIndexBased() {
-        CareersPage page = new CareersPage(driver);
+        CareersPage page = new CareersPage(driver());
 
         page.openCareersPage();
         page.waitForLocationsSection();
 
         SoftAssert soft = new SoftAssert();
 
-        CareersPageData.LocationsSectionData locationsData = careersData.getLocations();
+        CareersPageData.LocationsSectionData locationsData = careersData().getLocations();
 
         // 1) Header text
         soft.assertEquals(
@@ -311,12 +314,13 @@ public class CareersPageTest extends BaseTest {
         );
 
         List<CareersPageData.LocationData> locations = locationsData.getLocationsList();
+        List<CareersPage.LocationCardView> cards = page.getAllLocationCards();
 
         for (int i = 0; i < locations.size(); i++) {
             CareersPageData.LocationData expected = locations.get(i);
-            int cardIndex = i + 1; // 1-based for XPath
+            int cardIndex = i + 1; // 1-based, for messages
 
-            CareersPage.LocationCardView card = page.getLocationCardByIndex(cardIndex);
+            CareersPage.LocationCardView card = cards.get(i);
 
             String uiName = card.name().trim();
             String uiAddress = card.address().trim();
@@ -370,4 +374,44 @@ public class CareersPageTest extends BaseTest {
         }
         soft.assertAll();
     }
-}
\ No newline at end of file
+
+    //  ------------------------- LINKS & ASSETS --------------------------
+
+    @Test(
+            description = "Verify Careers page images, team and location links (page + JSON) resolve",
+            groups = {"regression"}
+    )
+    @Severity(SeverityLevel.NORMAL)
+    @Description("""
+    ### 🔗 Links & assets
+
+    Validations:
+    - Every image src and link href of the Life, Teams and Locations sections is collected in one pass.
+    - The team URLs, maps URLs and emails from JSON are added to the same batch.
+    - All URLs are fetched outside the browser (HEAD, GET fallback, per-host limits);
+      the per-URL status/latency table is attached to the report.
+    - No URL is broken and every email is a well-formed mailto address.
+    """)
+    public void verifyLinksAndAssetsResolve() {
+        careersPage().openCareersPage();
+        careersPage().waitForLifeSection();
+
+        Set<String> urls = new LinkedHashSet<>(careersPage().getLinkAndAssetUrls());
+        Assert.assertFalse(urls.isEmpty(), "Careers page sections should contain links and images");
+
+        careersData().getTeams().getTeams().forEach(team -> urls.add(team.getUrl()));
+        for (CareersPageData.LocationData location : careersData().getLocations().getLocationsList()) {
+            urls.add(location.getMapsUrl());
+            if (location.getEmail() != null && !location.getEmail().isBlank()) {
+                urls.add("mailto:" + location.getEmail().trim());
+            }
+        }
+
+        List<LinkVerifier.LinkCheck> results = Allure.step("Check " + urls.size() + " link and asset URLs",
+                () -> LinkVerifier.verify(urls));
+        LinkVerifier.attach("Careers page link check", results);
+
+        List<LinkVerifier.LinkCheck> broken = results.stream().filter(check -> !check.ok()).toList();
+        Assert.assertTrue(broken.isEmpty(), "Broken links/assets on Careers page: " + broken);
+    }
+}
@@ -41,11 +41,11 @@ public class E2EJourneyTest extends BaseTest {
         """)
     public void verifyHomeToLeverApplyForIstanbulQaJob() {
 
-        HomePage homePage = new HomePage(driver);
-        CareersPage careersPage = new CareersPage(driver);
-        LeverQaJobsPage leverQaJobsPage = new LeverQaJobsPage(driver);
-        LeverJobDetailPage leverJobDetailPage = new LeverJobDetailPage(driver);
-        LeverApplyJobPage leverApplyPage = new LeverApplyJobPage(driver);
+        HomePage homePage = new HomePage(driver());
+        CareersPage careersPage = new CareersPage(driver());
+        LeverQaJobsPage leverQaJobsPage = new LeverQaJobsPage(driver());
+        LeverJobDetailPage leverJobDetailPage = new LeverJobDetailPage(driver());
+        LeverApplyJobPage leverApplyPage = new LeverApplyJobPage(driver());
 
         // ---------------- 1) Home page ----------------
         Allure.step("Open Insider home page & verify COMPANY section", () -> {
@@ -86,7 +86,7 @@ public class E2EJourneyTest extends BaseTest {
         // ---------------- 3) Go to Lever QA jobs listing ----------------
         Allure.step("Open Lever QA jobs listing (team=Quality Assurance)", () -> {
             // Reuse same method & data as in LeverQaJobsTest
-            leverQaJobsPage.openQaJobsPage(leverQaData.getListingUrl());
+            leverQaJobsPage.openQaJobsPage(leverQaData().getListingUrl());
         });
 
         // ---------------- 4) Lever QA jobs listing basic checks ----------------
@@ -107,8 +107,8 @@ public class E2EJourneyTest extends BaseTest {
             String groupTitle = leverQaJobsPage.getPostingGroupTitleText();
             Assert.assertEquals(
                     groupTitle,
-                    leverQaData.getPostingGroupTitle(),
-                    "Posting group title should be '" + leverQaData.getPostingGroupTitle() + "'"
+                    leverQaData().getPostingGroupTitle(),
+                    "Posting group title should be '" + leverQaData().getPostingGroupTitle() + "'"
             );
         });
 
@@ -125,6 +125,8 @@ public class E2EJourneyTest extends BaseTest {
         final String targetLocationFilter = "Istanbul, Turkiye";
         Allure.step("Filter QA jobs by Location = " + targetLocationFilter, () -> {
             leverQaJobsPage.selectLocation(targetLocationFilter);
+            // Lets LeverQaJobsTest's row for this location start here instead of replaying the navigation
+            leverQaJobsPage.checkpoint(LeverQaJobsPage.locationCheckpoint(targetLocationFilter));
 
             Assert.assertTrue(
                     leverQaJobsPage.isPostingCardVisible(),
@@ -11,6 +11,7 @@ import org.testng.annotations.Test;
 import java.util.List;
 
 import com.insider.testdata.HomePageData;
+import com.insider.utils.LinkVerifier;
 import com.insider.utils.TestDataLoader;
 
 @Epic("Insider Site")
@@ -42,35 +43,35 @@ public class HomePageTest extends BaseTest {
 
 
 
-        homePage.openHomePage();
-        homePage.waitForHomePageLoaded();
+        homePage().openHomePage();
+        homePage().waitForHomePageLoaded();
 
         // 2) Verify URL from JSON
-        String actualUrl = homePage.currentUrl();
+        String actualUrl = homePage().currentUrl();
         Assert.assertEquals(
                 actualUrl,
-                homeData.getHomeUrl(),
+                homeData().getHomeUrl(),
                 "Home page URL mismatch"
         );
 
         // 3) Verify title from JSON
-        String actualTitle = homePage.currentTitle();
+        String actualTitle = homePage().currentTitle();
         Assert.assertEquals(
                 actualTitle,
-                homeData.getTitle(),
+                homeData().getTitle(),
                 "Home page title mismatch"
         );
 
         // 4) Scroll to COMPANY section and verify it's visible
-        homePage.scrollToCompanySection();
+        homePage().scrollToCompanySection();
         Assert.assertTrue(
-                homePage.isCompanySectionVisible(),
+                homePage().isCompanySectionVisible(),
                 "COMPANY section heading should be visible in footer"
         );
 
         // 5) Verify COMPANY list contains expected links from JSON
-        List<String> expectedLinks = homeData.getFooter().getCompanyLinks();
-        List<String> actualLinks = homePage.getCompanyLinksTexts();
+        List<String> expectedLinks = homeData().getFooter().getCompanyLinks();
+        List<String> actualLinks = homePage().getCompanyLinksTexts();
 
         Assert.assertTrue(
                 actualLinks.containsAll(expectedLinks),
@@ -95,13 +96,41 @@ public class HomePageTest extends BaseTest {
         );
 
         // 6) Click "We're hiring"
-        homePage.clickWereHiring();
+        homePage().clickWereHiring();
 
         // Optional: verify we really navigated to Careers
-        String careersUrl = homePage.currentUrl();
+        String careersUrl = homePage().currentUrl();
         Assert.assertTrue(
                 careersUrl.toLowerCase().contains("/careers"),
                 "Expected Careers page URL to contain '/careers' but was: " + careersUrl
         );
     }
+
+    @Test(
+            description = "Verify header and footer links and images of the home page resolve",
+            groups = {"regression"}
+    )
+    @Description("""
+        ### 🔗 Header & footer links
+
+        Steps:
+        1. Open Insider home page.
+        2. Collect every link href and image src in the header and footer in one pass.
+        3. Fetch them outside the browser (HEAD, GET fallback) and attach the status table.
+        4. Verify none of them is broken.
+        """)
+    public void verifyNavigationLinksResolve() {
+        homePage().openHomePage();
+        homePage().waitForHomePageLoaded();
+
+        List<String> urls = homePage().getNavigationLinkUrls();
+        Assert.assertFalse(urls.isEmpty(), "Header/footer should contain links");
+
+        List<LinkVerifier.LinkCheck> results = Allure.step("Check " + urls.size() + " header/footer URLs",
+                () -> LinkVerifier.verify(urls));
+        LinkVerifier.attach("Home page link check", results);
+
+        List<LinkVerifier.LinkCheck> broken = results.stream().filter(check -> !check.ok()).toList();
+        Assert.assertTrue(broken.isEmpty(), "Broken header/footer links: " + broken);
+    }
 }
@@ -0,0 +1,218 @@
+package com.insider.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Combines the {@code allure-results} directories of several shards into one.
+ * <p>
+ * Results, attachments and per-method fixture containers are unique per shard and copied as is.
+ * Each shard also writes its own suite, {@code <test>} and class containers; these are merged
+ * by their name (prefixed with their parent containers' names) (e.g. {@code InsiderSuite/all-tests/com.insider.tests.CareersPageTest}) into
+ * one container holding the children and fixtures of all shards, so the report shows one suite
+ * instead of one per shard. Other files ({@code environment.properties}, {@code history/}...)
+ * are taken from the first shard that has them.
+ * <p>
+ * Usage: {@code AllureResultsMerger <target-dir> <shard-results-dir>...}
+ */
+public final class AllureResultsMerger {
+
+    private static final Logger logger = Logger.getLogger(AllureResultsMerger.class.getName());
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String CONTAINER = "-container.json";
+
+    private final Map<String, ObjectNode> structural = new LinkedHashMap<>();
+    private int copied;
+    private int merged;
+
+    private AllureResultsMerger() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: AllureResultsMerger <target-dir> <shard-results-dir>...");
+            System.exit(2);
+        }
+        List<Path> sources = Arrays.stream(args).skip(1).map(Path::of).toList();
+        merge(Path.of(args[0]), sources);
+    }
+
+    public static void merge(Path target, List<Path> sources) {
+        AllureResultsMerger merger = new AllureResultsMerger();
+        try {
+            Files.createDirectories(target);
+            for (Path source : sources) {
+                if (Files.isDirectory(source)) {
+                    merger.add(source, target);
+                } else {
+                    logger.warning("[SHARD] No results in " + source);
+                }
+            }
+            merger.writeStructural(target);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to merge Allure results into " + target, e);
+        }
+        logger.info("[SHARD] Merged " + sources.size() + " result dirs into " + target + ": "
+                + merger.copied + " files copied, " + merger.merged + " shard containers folded into "
+                + merger.structural.size());
+    }
+
+    private void add(Path source, Path target) throws IOException {
+        Map<String, ObjectNode> containers = new HashMap<>();
+        try (Stream<Path> files = Files.list(source)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(CONTAINER)) {
+                    containers.put(name.substring(0, name.length() - CONTAINER.length()),
+                            (ObjectNode) MAPPER.readTree(file.toFile()));
+                } else {
+                    copy(file, target.resolve(name));
+                }
+            }
+        }
+
+        Map<String, String> parentOf = new HashMap<>();
+        containers.forEach((uuid, c) -> children(c).stream()
+                .filter(containers::containsKey)
+                .forEach(child -> parentOf.put(child, uuid)));
+
+        Map<String, String> uuidToPath = new HashMap<>();
+        for (Map.Entry<String, ObjectNode> entry : containers.entrySet()) {
+            String uuid = entry.getKey();
+            ObjectNode container = entry.getValue();
+            if (isFixtureContainer(container)) {
+                copy(source.resolve(uuid + CONTAINER), target.resolve(uuid + CONTAINER));
+                continue;
+            }
+            uuidToPath.put(uuid, namePath(uuid, containers, parentOf));
+        }
+
+        for (Map.Entry<String, String> entry : uuidToPath.entrySet()) {
+            ObjectNode container = containers.get(entry.getKey());
+            List<String> children = new ArrayList<>();
+            for (String child : children(container)) {
+                // Child containers are merged too, so point at the surviving one of their path
+                children.add(uuidToPath.containsKey(child) ? key(uuidToPath.get(child)) : child);
+            }
+            fold(entry.getValue(), container, children);
+        }
+    }
+
+    private void fold(String path, ObjectNode container, List<String> children) {
+        ObjectNode existing = structural.get(path);
+        if (existing == null) {
+            ObjectNode copy = container.deepCopy();
+            copy.put("uuid", key(path));
+            setChildren(copy, new LinkedHashSet<>(children));
+            structural.put(path, copy);
+            return;
+        }
+        merged++;
+        Set<String> union = new LinkedHashSet<>(children(existing));
+        union.addAll(children);
+        setChildren(existing, union);
+        for (String fixtures : List.of("befores", "afters")) {
+            if (container.path(fixtures).isArray()) {
+                ArrayNode all = existing.withArray(fixtures);
+                container.path(fixtures).forEach(all::add);
+            }
+        }
+        if (container.has("start")) {
+            existing.put("start", Math.min(existing.path("start").asLong(Long.MAX_VALUE), container.path("start").asLong()));
+        }
+        if (container.has("stop")) {
+            existing.put("stop", Math.max(existing.path("stop").asLong(0), container.path("stop").asLong()));
+        }
+    }
+
+    private void writeStructural(Path target) throws IOException {
+        for (ObjectNode container : structural.values()) {
+            MAPPER.writeValue(target.resolve(container.path("uuid").asText() + CONTAINER).toFile(), container);
+        }
+    }
+
+    private void copy(Path from, Path to) throws IOException {
+        if (Files.isDirectory(from)) {
+            // e.g. history/: keep the first shard's
+            if (!Files.exists(to)) {
+                try (Stream<Path> tree = Files.walk(from)) {
+                    for (Path file : tree.toList()) {
+                        Path dest = to.resolve(from.relativize(file).toString());
+                        if (Files.isDirectory(file)) {
+                            Files.createDirectories(dest);
+                        } else {
+                            Files.copy(file, dest);
+                        }
+                    }
+                }
+            }
+            return;
+        }
+        if (!Files.exists(to)) {
+            Files.copy(from, to);
+            copied++;
+        }
+    }
+
+    // ---------- Container helpers ----------
+
+    /**
+     * Per-method fixture containers ({@code BaseTest.setUp} around one result) are named after
+     * their fixture; suite, {@code <test>} and class containers are named after what they group.
+     */
+    private static boolean isFixtureContainer(JsonNode container) {
+        String name = container.path("name").asText();
+        return Stream.of("befores", "afters")
+                .flatMap(fixtures -> Stream.of(container.path(fixtures)))
+                .flatMap(array -> {
+                    List<String> names = new ArrayList<>();
+                    array.forEach(fixture -> names.add(fixture.path("name").asText()));
+                    return names.stream();
+                })
+                .anyMatch(fixture -> !fixture.isEmpty() && name.endsWith("." + fixture));
+    }
+
+    private static String namePath(String uuid, Map<String, ObjectNode> containers, Map<String, String> parentOf) {
+        List<String> names = new ArrayList<>();
+        for (String current = uuid; current != null; current = parentOf.get(current)) {
+            names.add(0, containers.get(current).path("name").asText());
+        }
+        return String.join("/", names);
+    }
+
+    /** Stable uuid for a merged container, so re-merging the same shards yields the same files. */
+    private static String key(String path) {
+        return UUID.nameUUIDFromBytes(path.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    private static List<String> children(JsonNode container) {
+        List<String> children = new ArrayList<>();
+        container.path("children").forEach(child -> children.add(child.asText()));
+        return children;
+    }
+
+    private static void setChildren(ObjectNode container, Set<String> children) {
+        ArrayNode array = container.putArray("children");
+        children.forEach(array::add);
+    }
+}
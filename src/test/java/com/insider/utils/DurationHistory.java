@@ -0,0 +1,201 @@
+package com.insider.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insider.config.ConfigManager;
+import org.testng.ITestNGMethod;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Past run time of every test method ({@code Class.method}), used to schedule and split the suite.
+ * <p>
+ * Kept as a small JSON file: per method an exponentially weighted average of its total time per
+ * run (all data-provider rows / invocations summed) and the row count of the last run. Methods
+ * missing from the file are seeded from Allure's {@code *-result.json} files of the latest run
+ * found for them. Several JVMs (e.g. shards on one box) may save the same file; each one merges
+ * only the methods it ran into the file's current content.
+ */
+public final class DurationHistory {
+
+    private static final Logger logger = Logger.getLogger(DurationHistory.class.getName());
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // Weight of the newest run; recent changes (e.g. a page getting slower) show up within a few runs
+    private static final double ALPHA = 0.5;
+
+    // Results of one method finishing further apart than this belong to different runs
+    private static final long RUN_GAP_MILLIS = 30 * 60 * 1000L;
+
+    private static volatile DurationHistory shared;
+
+    private final Path file;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Entry> runs = new ConcurrentHashMap<>();
+
+    private DurationHistory(Path file) {
+        this.file = file;
+    }
+
+    /** The history at {@code scheduler.historyFile}, loaded once per JVM. */
+    public static DurationHistory shared() {
+        DurationHistory loaded = shared;
+        if (loaded == null) {
+            synchronized (DurationHistory.class) {
+                if (shared == null) {
+                    shared = load(Path.of(ConfigManager.getSchedulerHistoryFile()),
+                            Path.of(ConfigManager.getSchedulerSeedResults()));
+                }
+                loaded = shared;
+            }
+        }
+        return loaded;
+    }
+
+    public static DurationHistory load(Path file, Path allureResults) {
+        DurationHistory history = new DurationHistory(file);
+        history.entries.putAll(read(file));
+        int seeded = 0;
+        for (Map.Entry<String, Entry> fromAllure : readAllureResults(allureResults).entrySet()) {
+            if (history.entries.putIfAbsent(fromAllure.getKey(), fromAllure.getValue()) == null) {
+                seeded++;
+            }
+        }
+        logger.info("[SCHEDULE] Duration history: " + history.entries.size() + " methods"
+                + (seeded > 0 ? " (" + seeded + " seeded from " + allureResults + ")" : ""));
+        return history;
+    }
+
+    private static Map<String, Entry> read(Path file) {
+        if (!Files.exists(file)) {
+            return Map.of();
+        }
+        try {
+            return MAPPER.readValue(file.toFile(), new TypeReference<Map<String, Entry>>() {
+            });
+        } catch (IOException e) {
+            logger.warning("[SCHEDULE] Ignoring unreadable duration history " + file + ": " + e.getMessage());
+            return Map.of();
+        }
+    }
+
+    public Optional<Entry> get(String qualifiedName) {
+        return Optional.ofNullable(entries.get(qualifiedName));
+    }
+
+    /**
+     * Time the method keeps one test worker busy, or {@code scheduler.defaultSeconds} without
+     * history. Rows of a parallel data provider are spread over the data-provider threads.
+     */
+    public long estimateMillis(ITestNGMethod method, int dataProviderThreads) {
+        return get(method.getQualifiedName())
+                .map(entry -> {
+                    boolean parallelRows = method.isDataDriven() && method.getDataProviderMethod() != null
+                            && method.getDataProviderMethod().isParallel();
+                    int lanes = parallelRows ? Math.max(1, Math.min(entry.rows(), dataProviderThreads)) : 1;
+                    return entry.millis() / lanes;
+                })
+                .orElse(ConfigManager.getSchedulerDefaultSeconds() * 1000L);
+    }
+
+    /** Records one run of a method (all its rows together); folded into the average by {@link #save()}. */
+    public void record(String qualifiedName, long totalMillis, int rows) {
+        runs.put(qualifiedName, new Entry(totalMillis, rows, 1));
+    }
+
+    public void save() {
+        if (runs.isEmpty()) {
+            return;
+        }
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            try (FileChannel lockFile = FileChannel.open(dir.resolve(file.getFileName() + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                // released when the channel is closed
+                lockFile.lock();
+
+                Map<String, Entry> merged = new TreeMap<>(read(file));
+                runs.forEach((method, run) -> merged.merge(method, run, (old, latest) -> new Entry(
+                        Math.round(ALPHA * latest.millis() + (1 - ALPHA) * old.millis()), latest.rows(), old.runs() + 1)));
+
+                Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+                MAPPER.writerWithDefaultPrettyPrinter().writeValue(tmp.toFile(), merged);
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            runs.clear();
+        } catch (IOException e) {
+            logger.warning("[SCHEDULE] Could not save duration history " + file + ": " + e.getMessage());
+        }
+    }
+
+    // ---------- Allure seed ----------
+
+    private record Result(String historyId, long start, long stop) {
+    }
+
+    /** Per method: the summed durations of its rows (one per historyId) in the latest run it appears in. */
+    private static Map<String, Entry> readAllureResults(Path dir) {
+        Map<String, List<Result>> byMethod = new HashMap<>();
+        if (!Files.isDirectory(dir)) {
+            return Map.of();
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*-result.json")) {
+            for (Path path : files) {
+                try {
+                    JsonNode json = MAPPER.readTree(path.toFile());
+                    String status = json.path("status").asText();
+                    if (!"passed".equals(status) && !"failed".equals(status)) {
+                        continue; // broken/skipped results did not really run
+                    }
+                    byMethod.computeIfAbsent(json.path("fullName").asText(), k -> new ArrayList<>())
+                            .add(new Result(json.path("historyId").asText(), json.path("start").asLong(), json.path("stop").asLong()));
+                } catch (IOException e) {
+                    logger.fine("[SCHEDULE] Skipping unreadable " + path);
+                }
+            }
+        } catch (IOException e) {
+            logger.warning("[SCHEDULE] Could not read " + dir + ": " + e.getMessage());
+            return Map.of();
+        }
+
+        Map<String, Entry> seeded = new HashMap<>();
+        byMethod.forEach((method, results) -> {
+            long latestStop = results.stream().mapToLong(Result::stop).max().orElse(0);
+            Map<String, Long> latestRows = new HashMap<>();
+            results.stream()
+                    .filter(r -> latestStop - r.stop() < RUN_GAP_MILLIS)
+                    .sorted((a, b) -> Long.compare(a.stop(), b.stop()))
+                    .forEach(r -> latestRows.put(r.historyId(), r.stop() - r.start()));
+            long total = latestRows.values().stream().mapToLong(Long::longValue).sum();
+            if (!method.isEmpty() && total > 0) {
+                seeded.put(method, new Entry(total, latestRows.size(), 1));
+            }
+        });
+        return seeded;
+    }
+
+    /**
+     * @param millis average total time of the method per run
+     * @param rows   data-provider rows / invocations in the last run
+     * @param runs   runs folded into the average
+     */
+    public record Entry(long millis, int rows, int runs) {
+    }
+}
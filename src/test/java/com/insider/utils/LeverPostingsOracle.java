@@ -0,0 +1,377 @@
+package com.insider.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.insider.config.ConfigManager;
+import com.insider.driver.NetworkArchive;
+import io.qameta.allure.Allure;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Authoritative job list for the Lever listing tests, from Lever's public postings API
+ * ({@code GET <lever.api.baseUrl>/<site>?mode=json&team=...}).
+ * <p>
+ * Each (site, team) list is fetched once per run and cached; location filters are applied to the
+ * cached list in memory. {@link #diff(List, List)} compares a whole listing read from the page
+ * with that list in one go, matching cards to postings by the posting id in their links.
+ * <p>
+ * {@code lever.oracle=live} calls {@code lever.api.baseUrl} and, with {@code network=record}, saves
+ * the response into the {@link NetworkArchive} next to the pages it belongs to; {@code archive}
+ * (the default with {@code network=replay}) answers from that archive; {@code stub} starts a
+ * {@link LeverPostingsStub} serving {@code lever.api.fixture}; {@code off} disables the oracle
+ * ({@link #isEnabled()}).
+ */
+public final class LeverPostingsOracle {
+
+    private static final Logger logger = Logger.getLogger(LeverPostingsOracle.class.getName());
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // Lever posting ids are UUIDs: https://jobs.lever.co/<site>/<id>[/apply]
+    private static final Pattern POSTING_ID = Pattern.compile("/([0-9a-fA-F]{8}-[0-9a-fA-F-]{27})(?:/|$|\\?)");
+
+    private static final Map<Query, CompletableFuture<List<Posting>>> CACHE = new ConcurrentHashMap<>();
+
+    private static final LongAdder requested = new LongAdder();
+    private static final LongAdder fetched = new LongAdder();
+    private static final LongAdder fetchNanos = new LongAdder();
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(Duration.ofSeconds(ConfigManager.getLeverApiTimeoutSeconds()))
+            .build();
+
+    private static volatile LeverPostingsStub stub;
+
+    private LeverPostingsOracle() {
+    }
+
+    /** One job as the API describes it; {@code location} is the primary location. */
+    public record Posting(String id, String title, String team, String location, List<String> allLocations,
+                          String commitment, String workplaceType, String hostedUrl, String applyUrl) {
+    }
+
+    /** One job card as the listing page shows it. */
+    public record ListedPosting(String title, String location, String workplaceType, String commitment,
+                                String detailHref, String applyHref) {
+    }
+
+    /** Which postings to fetch; {@code team} and {@code location} are optional (null). */
+    public record Query(String site, String team, String location) {
+
+        /** Site and filters of a listing URL like {@code https://jobs.lever.co/insiderone?team=Quality%20Assurance}. */
+        public static Query fromListingUrl(String listingUrl) {
+            URI uri = URI.create(listingUrl);
+            String site = uri.getPath().replaceAll("^/+|/+$", "");
+            Map<String, String> params = new HashMap<>();
+            if (uri.getRawQuery() != null) {
+                for (String pair : uri.getRawQuery().split("&")) {
+                    int eq = pair.indexOf('=');
+                    if (eq > 0) {
+                        params.put(pair.substring(0, eq), URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+                    }
+                }
+            }
+            return new Query(site, params.get("team"), params.get("location"));
+        }
+
+        public Query withLocation(String location) {
+            return new Query(site, team, location);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return !"off".equals(ConfigManager.getLeverOracleMode());
+    }
+
+    /** Postings matching the query, in API order; fetched on first use and cached for the run. */
+    public static List<Posting> postings(Query query) {
+        requested.increment();
+        List<Posting> team = teamPostings(query.withLocation(null));
+        if (query.location() == null) {
+            return team;
+        }
+        return team.stream()
+                .filter(p -> sameText(p.location(), query.location())
+                        || p.allLocations().stream().anyMatch(l -> sameText(l, query.location())))
+                .toList();
+    }
+
+    private static List<Posting> teamPostings(Query query) {
+        CompletableFuture<List<Posting>> created = new CompletableFuture<>();
+        CompletableFuture<List<Posting>> existing = CACHE.putIfAbsent(query, created);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw (RuntimeException) e.getCause();
+            }
+        }
+        try {
+            List<Posting> postings = fetch(query);
+            created.complete(postings);
+            return postings;
+        } catch (RuntimeException e) {
+            // not cached: a later test may retry
+            CACHE.remove(query, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static List<Posting> fetch(Query query) {
+        StringBuilder url = new StringBuilder(baseUrl()).append('/').append(query.site()).append("?mode=json");
+        if (query.team() != null) {
+            url.append("&team=").append(URLEncoder.encode(query.team(), StandardCharsets.UTF_8).replace("+", "%20"));
+        }
+        if ("archive".equals(ConfigManager.getLeverOracleMode())) {
+            return fromArchive(url.toString());
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url.toString()))
+                .timeout(Duration.ofSeconds(ConfigManager.getLeverApiTimeoutSeconds()))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = CLIENT.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Lever postings API returned " + response.statusCode() + " for " + url);
+            }
+            List<Posting> postings = parse(MAPPER.readTree(response.body()));
+            if ("record".equals(ConfigManager.getNetworkMode())) {
+                archive().save(new NetworkArchive.Entry("GET", url.toString(), null, 200, "OK",
+                        List.of(Map.of("name", "Content-Type", "value", "application/json")), response.body()));
+            }
+            long nanos = System.nanoTime() - start;
+            fetched.increment();
+            fetchNanos.add(nanos);
+            logger.info("[ORACLE] " + postings.size() + " postings from " + url + " in " + nanos / 1_000_000 + " ms");
+            return postings;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not fetch Lever postings from " + url, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching Lever postings", e);
+        }
+    }
+
+    private static List<Posting> fromArchive(String url) {
+        NetworkArchive.Entry entry = archive().find("GET", url, null).orElseThrow(() -> new IllegalStateException(
+                "Lever postings " + url + " are not in the network archive; record them with network=record"));
+        try {
+            List<Posting> postings = parse(MAPPER.readTree(entry.body()));
+            fetched.increment();
+            logger.info("[ORACLE] " + postings.size() + " postings from the archived " + url);
+            return postings;
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable archived Lever postings for " + url, e);
+        }
+    }
+
+    private static NetworkArchive archive() {
+        return NetworkArchive.at(Path.of(ConfigManager.getNetworkArchiveDir()));
+    }
+
+    static List<Posting> parse(JsonNode root) {
+        if (!root.isArray()) {
+            throw new IllegalStateException("Lever postings API did not return a list but " + root.getNodeType());
+        }
+        List<Posting> postings = new ArrayList<>(root.size());
+        for (JsonNode node : root) {
+            JsonNode categories = node.path("categories");
+            List<String> allLocations = new ArrayList<>();
+            categories.path("allLocations").forEach(location -> allLocations.add(location.asText()));
+            postings.add(new Posting(
+                    node.path("id").asText(),
+                    node.path("text").asText(),
+                    categories.path("team").asText(""),
+                    categories.path("location").asText(""),
+                    List.copyOf(allLocations),
+                    categories.path("commitment").asText(""),
+                    node.path("workplaceType").asText(""),
+                    node.path("hostedUrl").asText(""),
+                    node.path("applyUrl").asText("")));
+        }
+        return List.copyOf(postings);
+    }
+
+    private static String baseUrl() {
+        String mode = ConfigManager.getLeverOracleMode();
+        if (!"stub".equals(mode)) {
+            return ConfigManager.getLeverApiBaseUrl().replaceAll("/+$", "");
+        }
+        LeverPostingsStub server = stub;
+        if (server == null) {
+            synchronized (LeverPostingsOracle.class) {
+                if (stub == null) {
+                    stub = LeverPostingsStub.start(ConfigManager.getLeverApiFixture());
+                }
+                server = stub;
+            }
+        }
+        return server.base().toString();
+    }
+
+    // ---------- Diff ----------
+
+    /** Differences between the postings the API lists and the cards the page shows. */
+    public record ListingDiff(List<Posting> missing, List<ListedPosting> unexpected, List<String> mismatches) {
+
+        public boolean isEmpty() {
+            return missing.isEmpty() && unexpected.isEmpty() && mismatches.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            if (isEmpty()) {
+                return "Listing matches the postings API";
+            }
+            StringBuilder sb = new StringBuilder();
+            if (!missing.isEmpty()) {
+                sb.append("Missing on the page (").append(missing.size()).append("):\n");
+                missing.forEach(p -> sb.append("  ").append(p.title()).append(" | ").append(p.location())
+                        .append(" | ").append(p.hostedUrl()).append('\n'));
+            }
+            if (!unexpected.isEmpty()) {
+                sb.append("Not in the postings API (").append(unexpected.size()).append("):\n");
+                unexpected.forEach(l -> sb.append("  ").append(l.title()).append(" | ").append(l.location())
+                        .append(" | ").append(l.detailHref()).append('\n'));
+            }
+            if (!mismatches.isEmpty()) {
+                sb.append("Field mismatches (").append(mismatches.size()).append("):\n");
+                mismatches.forEach(m -> sb.append("  ").append(m).append('\n'));
+            }
+            return sb.toString().stripTrailing();
+        }
+    }
+
+    /**
+     * Matches cards to postings by the posting id in the card's detail link (title and location
+     * when the link has none) and compares title, location, workplace type, commitment and apply link.
+     */
+    public static ListingDiff diff(List<Posting> expected, List<ListedPosting> listed) {
+        Map<String, Posting> remaining = new LinkedHashMap<>();
+        expected.forEach(p -> remaining.put(p.id().isEmpty() ? fallbackKey(p.title(), p.location()) : p.id(), p));
+
+        List<ListedPosting> unexpected = new ArrayList<>();
+        List<String> mismatches = new ArrayList<>();
+        for (ListedPosting card : listed) {
+            String id = postingId(card.detailHref());
+            Posting posting = remaining.remove(id != null ? id : fallbackKey(card.title(), card.location()));
+            if (posting == null) {
+                unexpected.add(card);
+                continue;
+            }
+            String label = posting.title() + " (" + posting.id() + ")";
+            if (!sameText(card.title(), posting.title())) {
+                mismatches.add(label + ": title '" + card.title() + "' on the page");
+            }
+            if (!sameText(card.location(), posting.location())) {
+                mismatches.add(label + ": location '" + card.location() + "' on the page, '" + posting.location() + "' in the API");
+            }
+            if (!blank(card.workplaceType()) && !"unspecified".equals(posting.workplaceType())
+                    && !letters(card.workplaceType().split("—")[0]).equals(letters(posting.workplaceType()))) {
+                mismatches.add(label + ": workplace type '" + card.workplaceType() + "' on the page, '"
+                        + posting.workplaceType() + "' in the API");
+            }
+            if (!blank(card.commitment()) && !blank(posting.commitment())
+                    && !letters(card.commitment()).equals(letters(posting.commitment()))) {
+                mismatches.add(label + ": commitment '" + card.commitment() + "' on the page, '"
+                        + posting.commitment() + "' in the API");
+            }
+            if (!blank(card.applyHref()) && !blank(posting.applyUrl())
+                    && !withoutQuery(card.applyHref()).equals(withoutQuery(posting.applyUrl()))) {
+                mismatches.add(label + ": apply link " + card.applyHref() + " on the page, " + posting.applyUrl() + " in the API");
+            }
+        }
+        return new ListingDiff(List.copyOf(remaining.values()), unexpected, mismatches);
+    }
+
+    /** Diffs and attaches the result ("Lever postings diff") to the current Allure test. */
+    public static ListingDiff diffAndAttach(List<Posting> expected, List<ListedPosting> listed) {
+        ListingDiff diff = diff(expected, listed);
+        Allure.addAttachment("Lever postings diff", "text/plain",
+                expected.size() + " postings in the API, " + listed.size() + " cards on the page\n" + diff);
+        return diff;
+    }
+
+    private static String postingId(String href) {
+        if (href == null) {
+            return null;
+        }
+        Matcher matcher = POSTING_ID.matcher(href);
+        return matcher.find() ? matcher.group(1).toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static String fallbackKey(String title, String location) {
+        return normalize(title) + "|" + normalize(location);
+    }
+
+    private static boolean sameText(String a, String b) {
+        return normalize(a).equals(normalize(b));
+    }
+
+    // Card text comes through CSS (upper case, non-breaking spaces)
+    private static String normalize(String text) {
+        return text == null ? "" : text.replace('\u00A0', ' ').trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    // "On-site" / "onsite", "Full-Time /" / "Full-time"
+    private static String letters(String text) {
+        return normalize(text).replaceAll("[^\\p{L}]", "");
+    }
+
+    private static boolean blank(String text) {
+        return text == null || text.isBlank();
+    }
+
+    private static String withoutQuery(String url) {
+        int query = url.indexOf('?');
+        return (query < 0 ? url : url.substring(0, query)).trim().replaceAll("/+$", "");
+    }
+
+    // ---------- Reporting ----------
+
+    public static boolean isEmpty() {
+        return requested.sum() == 0;
+    }
+
+    public static String summary() {
+        long lists = fetched.sum();
+        return String.format("[ORACLE] lookups=%d apiCalls=%d cacheHits=%d avgFetch=%d ms mode=%s%s",
+                requested.sum(), lists, requested.sum() - lists, lists == 0 ? 0 : fetchNanos.sum() / lists / 1_000_000,
+                ConfigManager.getLeverOracleMode(), stub != null ? " (stub " + stub.summary() + ")" : "");
+    }
+
+    public static void shutdown() {
+        if (stub != null) {
+            stub.close();
+            stub = null;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.insider.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Loopback stand-in for Lever's postings API, answering {@code GET /<site>?team=&location=&commitment=}
+ * from a classpath fixture shaped like {@code {"<site>": [<posting>, ...]}}, where each posting
+ * has the fields the real API returns. Unknown sites get a {@code 404}, like the real API.
+ */
+public final class LeverPostingsStub implements AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(LeverPostingsStub.class.getName());
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final JsonNode fixture;
+
+    private final LongAdder served = new LongAdder();
+
+    private LeverPostingsStub(HttpServer server, ExecutorService executor, JsonNode fixture) {
+        this.server = server;
+        this.executor = executor;
+        this.fixture = fixture;
+    }
+
+    public static LeverPostingsStub start(String fixtureResource) {
+        try (InputStream is = LeverPostingsStub.class.getClassLoader().getResourceAsStream(fixtureResource)) {
+            if (is == null) {
+                throw new IllegalStateException("Lever postings fixture not found: " + fixtureResource);
+            }
+            JsonNode fixture = MAPPER.readTree(is);
+
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            ExecutorService executor = Executors.newFixedThreadPool(2, r -> {
+                Thread thread = new Thread(r, "lever-postings-stub");
+                thread.setDaemon(true);
+                return thread;
+            });
+            LeverPostingsStub stub = new LeverPostingsStub(server, executor, fixture);
+            server.createContext("/", stub::handle);
+            server.setExecutor(executor);
+            server.start();
+            logger.info("[ORACLE] Stub listening on " + stub.base() + " with " + fixtureResource);
+            return stub;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the Lever postings stub", e);
+        }
+    }
+
+    public URI base() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String site = exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "");
+            JsonNode postings = fixture.get(site);
+            if (postings == null || !"GET".equals(exchange.getRequestMethod())) {
+                send(exchange, 404, "{\"ok\":false,\"error\":\"Document not found\"}");
+                return;
+            }
+
+            Map<String, String> filters = query(exchange.getRequestURI());
+            ArrayNode matching = MAPPER.createArrayNode();
+            for (JsonNode posting : postings) {
+                JsonNode categories = posting.path("categories");
+                if (matches(filters.get("team"), categories.path("team").asText())
+                        && matches(filters.get("commitment"), categories.path("commitment").asText())
+                        && (matches(filters.get("location"), categories.path("location").asText())
+                        || contains(categories.path("allLocations"), filters.get("location")))) {
+                    matching.add(posting);
+                }
+            }
+            served.increment();
+            send(exchange, 200, MAPPER.writeValueAsString(matching));
+        }
+    }
+
+    private static Map<String, String> query(URI uri) {
+        Map<String, String> params = new HashMap<>();
+        if (uri.getRawQuery() != null) {
+            for (String pair : uri.getRawQuery().split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0) {
+                    params.put(pair.substring(0, eq), URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return params;
+    }
+
+    private static boolean matches(String filter, String value) {
+        return filter == null || filter.equalsIgnoreCase(value);
+    }
+
+    private static boolean contains(JsonNode values, String filter) {
+        if (filter == null) {
+            return false;
+        }
+        for (JsonNode value : values) {
+            if (filter.equalsIgnoreCase(value.asText())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    public String summary() {
+        return "served=" + served.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,318 @@
+package com.insider.utils;
+
+import com.insider.config.ConfigManager;
+import com.insider.driver.NetworkArchive;
+import io.qameta.allure.Allure;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Checks that links and assets collected from a page actually resolve, outside the browser.
+ * <p>
+ * URLs are fetched concurrently with one shared {@link HttpClient}: a {@code HEAD} first, and a
+ * {@code GET} (body discarded) when the server rejects or fails the {@code HEAD}. At most
+ * {@code linkCheck.concurrencyPerHost} requests run against one host at a time. Every URL is
+ * checked once per run; later tests asking for the same URL get the cached (or in-flight) result.
+ * Hosts in {@code linkCheck.skipHosts} are not fetched and answers with a status in
+ * {@code linkCheck.skipStatuses} are not counted as broken; both are reported as {@code SKIPPED}.
+ * <p>
+ * With {@code network=record} each check is also stored in the network archive, and with
+ * {@code linkCheck.standIn=true} (the default under {@code network=replay}) requests go to a
+ * {@link LocalHttpStandIn} answering from that archive, so the check runs offline.
+ */
+public final class LinkVerifier {
+
+    private static final Logger logger = Logger.getLogger(LinkVerifier.class.getName());
+
+    private static final String USER_AGENT = "Mozilla/5.0 (compatible; insider-link-check)";
+
+    private static final Map<String, CompletableFuture<LinkCheck>> RESULTS = new ConcurrentHashMap<>();
+    private static final Map<String, HostLane> LANES = new ConcurrentHashMap<>();
+
+    private static final LongAdder requested = new LongAdder();
+    private static final LongAdder fetches = new LongAdder();
+
+    private static final AtomicInteger threadIds = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "link-check-" + threadIds.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .executor(EXECUTOR)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(Duration.ofSeconds(ConfigManager.getLinkCheckTimeoutSeconds()))
+            .build();
+
+    private static volatile LocalHttpStandIn standIn;
+
+    private LinkVerifier() {
+    }
+
+    /** Checks every distinct URL concurrently and returns the results in first-seen order. */
+    public static List<LinkCheck> verify(Collection<String> urls) {
+        List<String> distinct = List.copyOf(new LinkedHashSet<>(urls));
+        List<CompletableFuture<LinkCheck>> pending = distinct.stream().map(LinkVerifier::check).toList();
+
+        // Worst case every URL sits on one host and queues behind the per-host limit
+        long budget = ConfigManager.getLinkCheckTimeoutSeconds()
+                * (2L + distinct.size() / Math.max(1, ConfigManager.getLinkCheckConcurrencyPerHost()));
+        try {
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).get(budget, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            logger.warning("[LINKS] Some checks did not finish within " + budget + "s");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Link check failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while checking links", e);
+        }
+
+        List<LinkCheck> results = new ArrayList<>(distinct.size());
+        for (int i = 0; i < distinct.size(); i++) {
+            LinkCheck check = pending.get(i).getNow(null);
+            results.add(check != null ? check
+                    : new LinkCheck(distinct.get(i), Outcome.ERROR, "-", 0, 0, "Timed out"));
+        }
+        return results;
+    }
+
+    public static CompletableFuture<LinkCheck> check(String url) {
+        requested.increment();
+        return RESULTS.computeIfAbsent(url, LinkVerifier::start);
+    }
+
+    private static CompletableFuture<LinkCheck> start(String url) {
+        URI uri;
+        try {
+            uri = URI.create(url.trim());
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(new LinkCheck(url, Outcome.BROKEN, "-", 0, 0, "Malformed URL"));
+        }
+
+        String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase();
+        switch (scheme) {
+            case "http", "https" -> {
+            }
+            case "mailto" -> {
+                boolean valid = uri.getSchemeSpecificPart().matches("[^@\\s]+@[^@\\s]+\\.[^@\\s]+");
+                return CompletableFuture.completedFuture(new LinkCheck(url, valid ? Outcome.SKIPPED : Outcome.BROKEN,
+                        "-", 0, 0, valid ? "mailto address" : "Invalid mailto address"));
+            }
+            default -> {
+                return CompletableFuture.completedFuture(new LinkCheck(url, Outcome.SKIPPED, "-", 0, 0,
+                        "Not fetched (" + (scheme.isEmpty() ? "relative" : scheme) + ")"));
+            }
+        }
+
+        String host = uri.getHost() == null ? "" : uri.getHost().toLowerCase();
+        if (ConfigManager.getLinkCheckSkipHosts().stream()
+                .anyMatch(skip -> host.equals(skip) || host.endsWith("." + skip))) {
+            return CompletableFuture.completedFuture(new LinkCheck(url, Outcome.SKIPPED, "-", 0, 0,
+                    "Not fetched (linkCheck.skipHosts)"));
+        }
+        return LANES.computeIfAbsent(host, h -> new HostLane(ConfigManager.getLinkCheckConcurrencyPerHost()))
+                .submit(() -> fetch(url, uri, "HEAD")
+                        .thenCompose(head -> head.outcome() == Outcome.OK
+                                ? CompletableFuture.completedFuture(head)
+                                : fetch(url, uri, "GET")));
+    }
+
+    private static CompletableFuture<LinkCheck> fetch(String url, URI uri, String method) {
+        HttpRequest request = HttpRequest.newBuilder(route(uri))
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .timeout(Duration.ofSeconds(ConfigManager.getLinkCheckTimeoutSeconds()))
+                .header("User-Agent", USER_AGENT)
+                .build();
+
+        fetches.increment();
+        long start = System.nanoTime();
+        return CLIENT.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    long millis = (System.nanoTime() - start) / 1_000_000;
+                    if (error != null) {
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        return new LinkCheck(url, Outcome.ERROR, method, 0, millis,
+                                cause.getClass().getSimpleName() + ": " + cause.getMessage());
+                    }
+                    archive(method, url, response.statusCode());
+                    String finalUrl = response.uri().equals(request.uri()) ? "" : "-> " + response.uri();
+                    if (ConfigManager.getLinkCheckSkipStatuses().contains(response.statusCode())) {
+                        // the server refused the checker, which says nothing about the link
+                        return new LinkCheck(url, Outcome.SKIPPED, method, response.statusCode(), millis,
+                                ("Refused checker (linkCheck.skipStatuses) " + finalUrl).trim());
+                    }
+                    Outcome outcome = response.statusCode() < 400 ? Outcome.OK : Outcome.BROKEN;
+                    return new LinkCheck(url, outcome, method, response.statusCode(), millis, finalUrl);
+                });
+    }
+
+    // ---------- Offline runs ----------
+
+    private static URI route(URI uri) {
+        if (!ConfigManager.isLinkCheckStandIn()) {
+            return uri;
+        }
+        LocalHttpStandIn server = standIn;
+        if (server == null) {
+            synchronized (LinkVerifier.class) {
+                if (standIn == null) {
+                    standIn = LocalHttpStandIn.start(NetworkArchive.at(Path.of(ConfigManager.getNetworkArchiveDir())));
+                }
+                server = standIn;
+            }
+        }
+        return server.route(uri);
+    }
+
+    private static void archive(String method, String url, int status) {
+        if ("record".equals(ConfigManager.getNetworkMode()) && !ConfigManager.isLinkCheckStandIn()) {
+            // a GET fallback shares its key with the asset the browser recorded, which must be kept
+            NetworkArchive.at(Path.of(ConfigManager.getNetworkArchiveDir()))
+                    .saveIfAbsent(new NetworkArchive.Entry(method, url, null, status, "", List.of(), new byte[0]));
+        }
+    }
+
+    // ---------- Reporting ----------
+
+    /** Attaches the results as a CSV table (one row per URL) to the current Allure test. */
+    public static void attach(String name, List<LinkCheck> results) {
+        StringBuilder csv = new StringBuilder("url,result,method,status,latencyMs,detail\n");
+        for (LinkCheck check : results) {
+            csv.append(csvField(check.url())).append(',')
+                    .append(check.outcome()).append(',')
+                    .append(check.method()).append(',')
+                    .append(check.status() == 0 ? "" : check.status()).append(',')
+                    .append(check.latencyMillis()).append(',')
+                    .append(csvField(check.detail())).append('\n');
+        }
+        Allure.addAttachment(name, "text/csv", csv.toString(), ".csv");
+    }
+
+    private static String csvField(String value) {
+        return '"' + (value == null ? "" : value.replace("\"", "\"\"")) + '"';
+    }
+
+    public static boolean isEmpty() {
+        return requested.sum() == 0;
+    }
+
+    public static String summary() {
+        long broken = RESULTS.values().stream()
+                .map(future -> future.getNow(null))
+                .filter(check -> check != null && !check.ok())
+                .count();
+        return String.format("[LINKS] checks=%d uniqueUrls=%d httpRequests=%d cacheHits=%d broken=%d%s",
+                requested.sum(), RESULTS.size(), fetches.sum(), requested.sum() - RESULTS.size(), broken,
+                standIn != null ? " (stand-in " + standIn.summary() + ")" : "");
+    }
+
+    public static void shutdown() {
+        if (standIn != null) {
+            standIn.close();
+            standIn = null;
+        }
+    }
+
+    // ---------- Per-host concurrency ----------
+
+    /** Runs at most {@code limit} checks against one host at a time; the rest queue without holding a thread. */
+    private static final class HostLane {
+
+        private final int limit;
+        private final Queue<Runnable> waiting = new ArrayDeque<>();
+        private int running;
+
+        private HostLane(int limit) {
+            this.limit = Math.max(1, limit);
+        }
+
+        <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> task) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            Runnable run = () -> {
+                CompletableFuture<T> started;
+                try {
+                    started = task.get();
+                } catch (RuntimeException e) {
+                    started = CompletableFuture.failedFuture(e);
+                }
+                started.whenComplete((value, error) -> {
+                    finished();
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+            };
+
+            boolean startNow;
+            synchronized (this) {
+                startNow = running < limit;
+                if (startNow) {
+                    running++;
+                } else {
+                    waiting.add(run);
+                }
+            }
+            if (startNow) {
+                run.run();
+            }
+            return result;
+        }
+
+        private void finished() {
+            Runnable next;
+            synchronized (this) {
+                next = waiting.poll();
+                if (next == null) {
+                    running--;
+                }
+            }
+            if (next != null) {
+                next.run();
+            }
+        }
+    }
+
+    // ---------- Results ----------
+
+    public enum Outcome { OK, BROKEN, ERROR, SKIPPED }
+
+    public record LinkCheck(String url, Outcome outcome, String method, int status, long latencyMillis, String detail) {
+
+        public boolean ok() {
+            return outcome == Outcome.OK || outcome == Outcome.SKIPPED;
+        }
+
+        @Override
+        public String toString() {
+            return outcome + " " + method + " " + (status == 0 ? "" : status + " ") + url
+                    + (detail.isEmpty() ? "" : " (" + detail + ")");
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.insider.utils;
+
+import com.insider.driver.NetworkArchive;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Loopback HTTP server that answers link checks from the {@link NetworkArchive} instead of the
+ * real hosts. {@link #route(URI)} maps {@code https://host/path?q} to
+ * {@code http://127.0.0.1:<port>/https/host/path?q}; the server maps it back and replies with
+ * the archived status, headers and body. Unknown URLs get a {@code 504}.
+ */
+public final class LocalHttpStandIn implements AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(LocalHttpStandIn.class.getName());
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final NetworkArchive archive;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private LocalHttpStandIn(HttpServer server, ExecutorService executor, NetworkArchive archive) {
+        this.server = server;
+        this.executor = executor;
+        this.archive = archive;
+    }
+
+    public static LocalHttpStandIn start(NetworkArchive archive) {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            ExecutorService executor = Executors.newFixedThreadPool(4, r -> {
+                Thread thread = new Thread(r, "link-check-stand-in");
+                thread.setDaemon(true);
+                return thread;
+            });
+            LocalHttpStandIn standIn = new LocalHttpStandIn(server, executor, archive);
+            server.createContext("/", standIn::handle);
+            server.setExecutor(executor);
+            server.start();
+            logger.info("[LINKS] Stand-in listening on " + standIn.base());
+            return standIn;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the link check stand-in", e);
+        }
+    }
+
+    public URI base() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    public URI route(URI original) {
+        String query = original.getRawQuery() == null ? "" : "?" + original.getRawQuery();
+        String path = original.getRawPath() == null || original.getRawPath().isEmpty() ? "/" : original.getRawPath();
+        return URI.create(base() + "/" + original.getScheme() + "/" + original.getRawAuthority() + path + query);
+    }
+
+    private static String original(URI routed) {
+        // /<scheme>/<authority>/<path>
+        String[] parts = routed.getRawPath().split("/", 4);
+        String query = routed.getRawQuery() == null ? "" : "?" + routed.getRawQuery();
+        String path = parts.length > 3 ? "/" + parts[3] : "/";
+        return parts[1] + "://" + parts[2] + path + query;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String url = original(exchange.getRequestURI());
+            Optional<NetworkArchive.Entry> entry = archive.find(method, url, null);
+
+            if (entry.isEmpty()) {
+                misses.increment();
+                send(exchange, method, 504, "Not in network archive: " + url);
+                return;
+            }
+            hits.increment();
+            NetworkArchive.Entry archived = entry.get();
+            for (Map<String, String> header : archived.headers()) {
+                String name = header.get("name");
+                if (name != null && !"location".equalsIgnoreCase(name)) {
+                    exchange.getResponseHeaders().add(name, header.getOrDefault("value", ""));
+                }
+            }
+            send(exchange, method, archived.status(), archived.body());
+        }
+    }
+
+    private static void send(HttpExchange exchange, String method, int status, String text) throws IOException {
+        send(exchange, method, status, text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, String method, int status, byte[] body) throws IOException {
+        // A response length of 0 means "chunked" to HttpServer; -1 means no body
+        boolean noBody = "HEAD".equals(method) || body == null || body.length == 0;
+        exchange.sendResponseHeaders(status, noBody ? -1 : body.length);
+        if (!noBody) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    public String summary() {
+        return "hits=" + hits.sum() + " misses=" + misses.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,337 @@
+package com.insider.utils;
+
+import com.insider.config.ConfigManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Append-only binary log of every run's timings: test durations, step durations, WebDriver
+ * command counts and page metrics, read back by {@link RunHistoryReport}.
+ * <p>
+ * Tests only collect samples in memory ({@link #sample(String, long)}); a passed test appends
+ * them as one batch record. A failed test appends only its page metrics ({@code perf:*}): they
+ * were measured regardless of the outcome, and a budget overrun fails exactly the test whose
+ * page regressed. Metric names are written once into a key dictionary in the same file,
+ * so a sample costs a few bytes (varint key id and value). Parallel threads and JVMs (shards,
+ * workers) append to the same file under a file lock; each writer first reads the records added
+ * since its last append to learn new keys. A record torn by a crashed writer is cut off by the next one.
+ * <p>
+ * Layout: {@code "RHS1"}, then records {@code [type u8][length varint][payload]}:
+ * {@code KEY} = id, UTF-8 name; {@code BATCH} = run id, epoch millis, count, (key id, zigzag value)*.
+ */
+public final class RunHistory {
+
+    private static final Logger logger = Logger.getLogger(RunHistory.class.getName());
+
+    private static final byte[] MAGIC = "RHS1".getBytes(StandardCharsets.US_ASCII);
+    private static final int KEY = 1;
+    private static final int BATCH = 2;
+
+    // Page metrics are valid whatever the test's outcome (see finishTest)
+    private static final String PAGE_METRIC_PREFIX = "perf:";
+
+    private static final ThreadLocal<List<Sample>> PENDING = ThreadLocal.withInitial(ArrayList::new);
+
+    private static volatile RunHistory shared;
+
+    private static final LongAdder appended = new LongAdder();
+    private static final LongAdder samples = new LongAdder();
+    private static final LongAdder bytesWritten = new LongAdder();
+    private static final LongAdder appendNanos = new LongAdder();
+
+    private final Path file;
+    private final long runId;
+    private final FileChannel channel;
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+    private long scanned;
+
+    public record Sample(String key, long value) {
+    }
+
+    public record Batch(long runId, long recordedAt, List<Sample> samples) {
+    }
+
+    private RunHistory(Path file, long runId) throws IOException {
+        this.file = file;
+        this.runId = runId;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    // ---------- Collecting (test threads, no I/O) ----------
+
+    public static void startTest() {
+        PENDING.remove();
+    }
+
+    /** Adds a sample to the current test, e.g. {@code page:HomePage#open_ms}; written if the test passes (or for {@code perf:*}). */
+    public static void sample(String key, long value) {
+        if (ConfigManager.isHistoryEnabled()) {
+            PENDING.get().add(new Sample(key, value));
+        }
+    }
+
+    /**
+     * Appends the current test's samples plus its duration. Durations of failed/skipped tests are
+     * not baseline material, but their page metrics are kept.
+     */
+    public static void finishTest(String test, long durationMillis, boolean passed) {
+        List<Sample> batch = PENDING.get();
+        PENDING.remove();
+        if (!ConfigManager.isHistoryEnabled()) {
+            return;
+        }
+        if (passed) {
+            batch.add(new Sample("test:" + test + "#duration_ms", durationMillis));
+        } else {
+            batch.removeIf(sample -> !sample.key().startsWith(PAGE_METRIC_PREFIX));
+            if (batch.isEmpty()) {
+                return;
+            }
+        }
+        try {
+            shared().append(batch);
+        } catch (IOException | RuntimeException e) {
+            logger.warning("[HISTORY] Could not record " + test + ": " + e.getMessage());
+        }
+    }
+
+    private static RunHistory shared() throws IOException {
+        RunHistory history = shared;
+        if (history == null) {
+            synchronized (RunHistory.class) {
+                if (shared == null) {
+                    shared = new RunHistory(Path.of(ConfigManager.getHistoryFile()), runId());
+                }
+                history = shared;
+            }
+        }
+        return history;
+    }
+
+    /** {@code history.runId}, shared by all JVMs of one run; defaults to this JVM's start time. */
+    public static long runId() {
+        String configured = ConfigManager.getHistoryRunId();
+        return configured.isBlank() ? ManagementFactory.getRuntimeMXBean().getStartTime() : Long.parseLong(configured);
+    }
+
+    // ---------- Writing ----------
+
+    private synchronized void append(List<Sample> batch) throws IOException {
+        long start = System.nanoTime();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32 + batch.size() * 4);
+        // the file lock keeps other JVMs out, the monitor (synchronized) other threads of this one
+        try {
+            FileLock lock = channel.lock();
+            try {
+                catchUp();
+                if (scanned == 0) {
+                    out.write(MAGIC);
+                }
+                ByteArrayOutputStream payload = new ByteArrayOutputStream(16 + batch.size() * 4);
+                writeVarLong(payload, runId);
+                writeVarLong(payload, System.currentTimeMillis());
+                writeVarLong(payload, batch.size());
+                for (Sample sample : batch) {
+                    Integer id = ids.get(sample.key());
+                    if (id == null) {
+                        id = names.size();
+                        names.add(sample.key());
+                        ids.put(sample.key(), id);
+                        ByteArrayOutputStream key = new ByteArrayOutputStream();
+                        writeVarLong(key, id);
+                        key.write(sample.key().getBytes(StandardCharsets.UTF_8));
+                        writeRecord(out, KEY, key.toByteArray());
+                    }
+                    writeVarLong(payload, id);
+                    writeVarLong(payload, (sample.value() << 1) ^ (sample.value() >> 63));
+                }
+                writeRecord(out, BATCH, payload.toByteArray());
+
+                ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+                long position = scanned;
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+                scanned = position;
+            } finally {
+                lock.release();
+            }
+        } catch (IOException | RuntimeException e) {
+            // keys we assigned may not have reached the file: rescan it on the next append
+            names.clear();
+            ids.clear();
+            scanned = 0;
+            throw e;
+        }
+        appended.increment();
+        samples.add(batch.size());
+        bytesWritten.add(out.size());
+        appendNanos.add(System.nanoTime() - start);
+    }
+
+    /** Reads what other writers appended since our last append (keys only), cutting off a torn tail. */
+    private void catchUp() throws IOException {
+        long size = channel.size();
+        if (size == scanned) {
+            return;
+        }
+        if (scanned == 0 && size < MAGIC.length) {
+            // the very first append was interrupted
+            channel.truncate(0);
+            return;
+        }
+        ByteBuffer tail = ByteBuffer.allocate(Math.toIntExact(size - scanned));
+        while (tail.hasRemaining() && channel.read(tail, scanned + tail.position()) >= 0) {
+            // read until full
+        }
+        tail.flip();
+        if (scanned == 0) {
+            checkMagic(tail, file);
+        }
+        int known = names.size();
+        int end = scan(tail, names, null);
+        for (int id = known; id < names.size(); id++) {
+            ids.put(names.get(id), id);
+        }
+        long valid = scanned + end;
+        if (valid < size) {
+            logger.warning("[HISTORY] Dropping " + (size - valid) + " bytes of an interrupted append in " + file);
+            channel.truncate(valid);
+        }
+        scanned = valid;
+    }
+
+    private static void writeRecord(ByteArrayOutputStream out, int type, byte[] payload) {
+        out.write(type);
+        writeVarLong(out, payload.length);
+        out.write(payload, 0, payload.length);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    // ---------- Reading ----------
+
+    /** Every batch in {@code file}, oldest first; an empty list when there is no history yet. */
+    public static List<Batch> read(Path file) throws IOException {
+        List<Batch> batches = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return batches;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.hasRemaining()) {
+            checkMagic(buffer, file);
+            scan(buffer, new ArrayList<>(), batches);
+        }
+        return batches;
+    }
+
+    private static void checkMagic(ByteBuffer buffer, Path file) throws IOException {
+        byte[] magic = new byte[MAGIC.length];
+        if (buffer.remaining() < magic.length) {
+            throw new IOException(file + " is not a run history file");
+        }
+        buffer.get(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException(file + " is not a run history file");
+        }
+    }
+
+    /**
+     * Parses records from the buffer's position, adding keys to {@code names} (index = id) and,
+     * if {@code batches} is not null, decoded batches. Returns the end of the last complete record.
+     */
+    private static int scan(ByteBuffer buffer, List<String> names, List<Batch> batches) {
+        int end = buffer.position();
+        try {
+            while (buffer.hasRemaining()) {
+                int type = buffer.get() & 0xFF;
+                int length = Math.toIntExact(readVarLong(buffer));
+                if (length > buffer.remaining()) {
+                    break;
+                }
+                ByteBuffer payload = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                if (type == KEY) {
+                    int id = Math.toIntExact(readVarLong(payload));
+                    while (names.size() <= id) {
+                        names.add(null);
+                    }
+                    names.set(id, StandardCharsets.UTF_8.decode(payload).toString());
+                } else if (type == BATCH && batches != null) {
+                    batches.add(decodeBatch(payload, names));
+                }
+                // unknown types are skipped: older readers survive newer record kinds
+                end = buffer.position();
+            }
+        } catch (BufferUnderflowException | ArithmeticException e) {
+            // torn record at the end of the file
+        }
+        return end;
+    }
+
+    private static Batch decodeBatch(ByteBuffer payload, List<String> names) {
+        long run = readVarLong(payload);
+        long recordedAt = readVarLong(payload);
+        int count = Math.toIntExact(readVarLong(payload));
+        List<Sample> decoded = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int id = Math.toIntExact(readVarLong(payload));
+            long zigzag = readVarLong(payload);
+            decoded.add(new Sample(names.get(id), (zigzag >>> 1) ^ -(zigzag & 1)));
+        }
+        return new Batch(run, recordedAt, decoded);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new ArithmeticException("varint too long");
+    }
+
+    // ---------- Statistics ----------
+
+    public static boolean isEmpty() {
+        return appended.sum() == 0;
+    }
+
+    public static String summary() {
+        long count = appended.sum();
+        RunHistory history = shared;
+        return String.format("[HISTORY] run %d: appended %d tests (%d samples, %d bytes, avg %d us per append) to %s",
+                history.runId, count, samples.sum(), bytesWritten.sum(),
+                count == 0 ? 0 : appendNanos.sum() / count / 1_000, history.file);
+    }
+}
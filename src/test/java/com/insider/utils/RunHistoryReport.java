@@ -0,0 +1,197 @@
+package com.insider.utils;
+
+import com.insider.config.ConfigManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.logging.Logger;
+
+/**
+ * Reads the {@link RunHistory} store and flags metrics that got slower (or bigger) in the latest
+ * {@code history.recentRuns} runs compared with the {@code history.baselineRuns} runs before them.
+ * <p>
+ * Each run contributes one value per metric (the mean of its samples, e.g. of all data-provider
+ * rows). A metric regresses when a one-sided Mann-Whitney U test (normal approximation, tie
+ * corrected) finds the recent values larger at {@code history.alpha} and their median is at
+ * least {@code history.minIncrease} above the baseline median. Rank based, so one slow outlier
+ * run in the baseline does not hide a regression, and one in the recent runs does not cause one.
+ * <p>
+ * {@code java -cp ... com.insider.utils.RunHistoryReport [history-file]}; exits 1 on regressions
+ * with {@code history.failOnRegression=true}.
+ */
+public final class RunHistoryReport {
+
+    private static final Logger logger = Logger.getLogger(RunHistoryReport.class.getName());
+
+    // With the default 3 recent runs, fewer baseline runs can't reach p < 0.01 even when every recent
+    // run is slower than every baseline one (the approximation's floor is ~0.011 with 7, ~0.0095 with 8)
+    private static final int MIN_BASELINE_RUNS = 8;
+
+    private RunHistoryReport() {
+    }
+
+    record Finding(String key, int baselineRuns, double baselineMedian, int recentRuns, double recentMedian, double p) {
+
+        double change() {
+            return baselineMedian == 0 ? Double.POSITIVE_INFINITY : recentMedian / baselineMedian - 1;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = Path.of(args.length > 0 ? args[0] : ConfigManager.getHistoryFile());
+        long start = System.nanoTime();
+        List<RunHistory.Batch> batches = RunHistory.read(file);
+        long readMillis = (System.nanoTime() - start) / 1_000_000;
+        if (batches.isEmpty()) {
+            logger.info("[HISTORY] No run history in " + file);
+            return;
+        }
+
+        List<Finding> regressions = analyze(batches, ConfigManager.getHistoryRecentRuns(),
+                ConfigManager.getHistoryBaselineRuns(), ConfigManager.getHistoryAlpha(),
+                ConfigManager.getHistoryMinIncrease());
+
+        TreeSet<Long> runs = new TreeSet<>();
+        batches.forEach(batch -> runs.add(batch.runId()));
+        StringBuilder report = new StringBuilder(String.format(
+                "[HISTORY] %s: %d runs (latest %s), %d batches, %d KiB, read in %d ms%n",
+                file, runs.size(), Instant.ofEpochMilli(batches.get(batches.size() - 1).recordedAt()),
+                batches.size(), Files.size(file) / 1024, readMillis));
+        report.append(String.format("  last %d runs vs the %d before them, alpha=%s, min increase=%d%%%n",
+                ConfigManager.getHistoryRecentRuns(), ConfigManager.getHistoryBaselineRuns(),
+                ConfigManager.getHistoryAlpha(), Math.round(ConfigManager.getHistoryMinIncrease() * 100)));
+        if (regressions.isEmpty()) {
+            report.append("  no significant regressions");
+        } else {
+            report.append(String.format("  %d regressions:%n", regressions.size()));
+            report.append(String.format("  %-90s %12s %12s %8s %8s%n", "metric", "baseline p50", "recent p50", "change", "p"));
+            for (Finding finding : regressions) {
+                report.append(String.format("  %-90s %12.1f %12.1f %7.0f%% %8.4f%n",
+                        abbreviate(finding.key(), 90), finding.baselineMedian(), finding.recentMedian(),
+                        finding.change() * 100, finding.p()));
+            }
+        }
+        logger.info(report.toString());
+
+        if (!regressions.isEmpty() && ConfigManager.isHistoryFailOnRegression()) {
+            System.exit(1);
+        }
+    }
+
+    /** Regressed metrics, largest relative increase first. */
+    static List<Finding> analyze(List<RunHistory.Batch> batches, int recentRuns, int baselineRuns,
+                                 double alpha, double minIncrease) {
+        // metric -> run -> {sum, count}
+        Map<String, Map<Long, double[]>> series = new HashMap<>();
+        TreeSet<Long> runs = new TreeSet<>();
+        for (RunHistory.Batch batch : batches) {
+            runs.add(batch.runId());
+            for (RunHistory.Sample sample : batch.samples()) {
+                double[] acc = series.computeIfAbsent(sample.key(), k -> new TreeMap<>())
+                        .computeIfAbsent(batch.runId(), r -> new double[2]);
+                acc[0] += sample.value();
+                acc[1]++;
+            }
+        }
+
+        List<Long> ordered = new ArrayList<>(runs);
+        int recentFrom = Math.max(0, ordered.size() - recentRuns);
+        List<Long> recent = ordered.subList(recentFrom, ordered.size());
+        List<Long> baseline = ordered.subList(Math.max(0, recentFrom - baselineRuns), recentFrom);
+
+        List<Finding> regressions = new ArrayList<>();
+        series.forEach((key, perRun) -> {
+            double[] recentValues = means(perRun, recent);
+            double[] baselineValues = means(perRun, baseline);
+            if (recentValues.length == 0 || baselineValues.length < MIN_BASELINE_RUNS) {
+                return;
+            }
+            Finding finding = new Finding(key, baselineValues.length, median(baselineValues),
+                    recentValues.length, median(recentValues), mannWhitneyGreater(recentValues, baselineValues));
+            if (finding.p() < alpha && finding.change() >= minIncrease) {
+                regressions.add(finding);
+            }
+        });
+        regressions.sort(Comparator.comparingDouble(Finding::change).reversed());
+        return regressions;
+    }
+
+    private static double[] means(Map<Long, double[]> perRun, List<Long> runs) {
+        return runs.stream().map(perRun::get).filter(acc -> acc != null)
+                .mapToDouble(acc -> acc[0] / acc[1]).toArray();
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        java.util.Arrays.sort(sorted);
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2;
+    }
+
+    // ---------- Statistics ----------
+
+    /** One-sided p-value for "x tends to be larger than y" (Mann-Whitney U, normal approximation). */
+    static double mannWhitneyGreater(double[] x, double[] y) {
+        int n1 = x.length;
+        int n2 = y.length;
+        int n = n1 + n2;
+        List<double[]> all = new ArrayList<>(n);
+        for (double value : x) {
+            all.add(new double[]{value, 1});
+        }
+        for (double value : y) {
+            all.add(new double[]{value, 0});
+        }
+        all.sort(Comparator.comparingDouble(v -> v[0]));
+
+        double rankSumX = 0;
+        double tieTerm = 0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j + 1 < n && all.get(j + 1)[0] == all.get(i)[0]) {
+                j++;
+            }
+            double rank = (i + j) / 2.0 + 1;
+            for (int k = i; k <= j; k++) {
+                rankSumX += all.get(k)[1] * rank;
+            }
+            int ties = j - i + 1;
+            tieTerm += (double) ties * ties * ties - ties;
+            i = j + 1;
+        }
+
+        double u = rankSumX - n1 * (n1 + 1) / 2.0;
+        double mean = n1 * n2 / 2.0;
+        double variance = n1 * n2 / 12.0 * ((n + 1) - tieTerm / ((double) n * (n - 1)));
+        if (variance <= 0) {
+            return 1.0;
+        }
+        double z = (u - mean - 0.5) / Math.sqrt(variance);
+        return 1 - normalCdf(z);
+    }
+
+    private static double normalCdf(double z) {
+        return 0.5 * erfc(-z / Math.sqrt(2));
+    }
+
+    // Abramowitz & Stegun 7.1.26, |error| < 1.5e-7
+    private static double erfc(double x) {
+        double t = 1 / (1 + 0.3275911 * Math.abs(x));
+        double poly = t * (0.254829592 + t * (-0.284496736 + t * (1.421413741 + t * (-1.453152027 + t * 1.061405429))));
+        double erfcAbs = poly * Math.exp(-x * x);
+        return x >= 0 ? erfcAbs : 2 - erfcAbs;
+    }
+
+    private static String abbreviate(String text, int max) {
+        return text.length() <= max ? text : "..." + text.substring(text.length() - max + 3);
+    }
+}
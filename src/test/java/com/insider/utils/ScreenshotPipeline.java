@@ -0,0 +1,201 @@
+package com.insider.utils;
+
+import com.insider.config.ConfigManager;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Attaches browser screenshots to the running Allure test without encoding them on the test thread.
+ * <p>
+ * The caller only hands over the raw PNG bytes: the attachment is reserved in the test result right
+ * away ({@code prepareAttachment}), and a small bounded pool downscales the image to
+ * {@code screenshot.maxWidth} x {@code screenshot.maxHeight}, re-encodes it as
+ * {@code screenshot.format} (jpeg / png / webp when an ImageIO WebP writer is on the classpath)
+ * and writes the file into the results directory. When the queue is full the test thread encodes
+ * its own screenshot, so memory stays bounded. {@link #flush()} waits for pending files at suite end.
+ */
+public final class ScreenshotPipeline {
+
+    private static final Logger logger = Logger.getLogger(ScreenshotPipeline.class.getName());
+
+    private static final long FLUSH_TIMEOUT_SECONDS = 60;
+
+    private static final AtomicInteger threadIds = new AtomicInteger();
+    private static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(
+            ConfigManager.getScreenshotThreads(), ConfigManager.getScreenshotThreads(), 30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(ConfigManager.getScreenshotQueue()),
+            r -> {
+                Thread thread = new Thread(r, "screenshot-" + threadIds.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+
+    // Registered once per submitted screenshot, arrives when its file is written
+    private static final Phaser PENDING = new Phaser(1);
+
+    private static final LongAdder attached = new LongAdder();
+    private static final LongAdder rawBytes = new LongAdder();
+    private static final LongAdder encodedBytes = new LongAdder();
+    private static final LongAdder encodeNanos = new LongAdder();
+    private static final LongAdder onCallerThread = new LongAdder();
+    private static final LongAdder failures = new LongAdder();
+
+    private static final Encoding ENCODING = Encoding.resolve(ConfigManager.getScreenshotFormat());
+
+    private ScreenshotPipeline() {
+    }
+
+    /** Reserves attachment {@code name} in the current test (or step) and writes it in the background. */
+    public static void attach(String name, byte[] png) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String source = lifecycle.prepareAttachment(name, ENCODING.mimeType, ENCODING.extension);
+        Thread caller = Thread.currentThread();
+        PENDING.register();
+        EXECUTOR.execute(() -> {
+            try {
+                if (Thread.currentThread() == caller) {
+                    onCallerThread.increment();
+                }
+                long start = System.nanoTime();
+                byte[] encoded = encode(png);
+                encodeNanos.add(System.nanoTime() - start);
+                lifecycle.writeAttachment(source, new ByteArrayInputStream(encoded));
+                attached.increment();
+                rawBytes.add(png.length);
+                encodedBytes.add(encoded.length);
+            } catch (Exception e) {
+                failures.increment();
+                logger.warning("[SCREENSHOT] Could not write " + name + ": " + e.getMessage());
+            } finally {
+                PENDING.arriveAndDeregister();
+            }
+        });
+    }
+
+    /** Blocks until every screenshot handed over so far is on disk. */
+    public static void flush() {
+        try {
+            PENDING.awaitAdvanceInterruptibly(PENDING.arrive(), FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (TimeoutException e) {
+            logger.warning("[SCREENSHOT] Screenshots still pending after " + FLUSH_TIMEOUT_SECONDS + "s");
+        }
+    }
+
+    // ---------- Encoding ----------
+
+    static byte[] encode(byte[] png) throws IOException {
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        if (source == null) {
+            throw new IOException("Not a readable image (" + png.length + " bytes)");
+        }
+        double scale = Math.min(1.0, Math.min(
+                ConfigManager.getScreenshotMaxWidth() / (double) source.getWidth(),
+                ConfigManager.getScreenshotMaxHeight() / (double) source.getHeight()));
+        if (scale == 1.0 && ENCODING == Encoding.PNG) {
+            return png;
+        }
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        // JPEG has no alpha channel; screenshots are opaque anyway
+        BufferedImage target = new BufferedImage(width, height,
+                ENCODING == Encoding.PNG ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(ENCODING.formatName).next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(png.length / 4);
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (ENCODING != Encoding.PNG && param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (param.getCompressionTypes() != null && param.getCompressionType() == null) {
+                    param.setCompressionType(param.getCompressionTypes()[0]);
+                }
+                param.setCompressionQuality(ConfigManager.getScreenshotQuality());
+            }
+            writer.write(null, new IIOImage(target, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private enum Encoding {
+        JPEG("jpeg", "image/jpeg", ".jpg"),
+        PNG("png", "image/png", ".png"),
+        WEBP("webp", "image/webp", ".webp");
+
+        private final String formatName;
+        private final String mimeType;
+        private final String extension;
+
+        Encoding(String formatName, String mimeType, String extension) {
+            this.formatName = formatName;
+            this.mimeType = mimeType;
+            this.extension = extension;
+        }
+
+        static Encoding resolve(String configured) {
+            Encoding encoding = switch (configured.trim().toLowerCase(Locale.ROOT)) {
+                case "png" -> PNG;
+                case "webp" -> WEBP;
+                default -> JPEG;
+            };
+            Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(encoding.formatName);
+            if (!writers.hasNext()) {
+                logger.warning("[SCREENSHOT] No ImageIO writer for " + encoding.formatName + ", using jpeg");
+                return JPEG;
+            }
+            return encoding;
+        }
+    }
+
+    // ---------- Statistics ----------
+
+    public static boolean isEmpty() {
+        return attached.sum() + failures.sum() == 0;
+    }
+
+    public static String summary() {
+        long count = attached.sum();
+        long raw = rawBytes.sum();
+        return String.format("[SCREENSHOT] attached=%d as %s, %d KiB raw -> %d KiB written (%d%%), avg encode=%dms,"
+                        + " encoded on test thread (queue full)=%d, failed=%d",
+                count, ENCODING.formatName, raw / 1024, encodedBytes.sum() / 1024,
+                raw == 0 ? 0 : encodedBytes.sum() * 100 / raw,
+                count == 0 ? 0 : encodeNanos.sum() / count / 1_000_000,
+                onCallerThread.sum(), failures.sum());
+    }
+}
@@ -0,0 +1,88 @@
+package com.insider.utils;
+
+import com.insider.config.ConfigManager;
+import org.testng.ITestNGMethod;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Turns a lazily streamed row source (see {@link TestDataLoader#stream(String, String, Class)})
+ * into a TestNG data provider result.
+ * <p>
+ * For {@code @DataProvider(parallel = true)} TestNG drains the whole iterator up front and
+ * queues one task per row, which would pull every row of a large file into memory anyway. The
+ * iterator returned here therefore blocks in {@code next()} while {@code dataProvider.window}
+ * rows of the method are still in flight; {@link #rowFinished(ITestNGMethod)} (called by the
+ * listener when a row's result is reported) frees a slot.
+ * <p>
+ * With {@code invocation-numbers} (e.g. a work-stealing worker running one row) TestNG still
+ * pulls every row and drops the others; those never report a result, so they take no slot.
+ */
+public final class StreamingDataProvider {
+
+    private static final Logger logger = Logger.getLogger(StreamingDataProvider.class.getName());
+
+    // A row whose result never gets reported (e.g. a listener missing on the class) must not hang the run
+    private static final long SLOT_TIMEOUT_MINUTES = 10;
+
+    private static final Map<String, Semaphore> WINDOWS = new ConcurrentHashMap<>();
+
+    private StreamingDataProvider() {
+    }
+
+    public static <T> Iterator<Object[]> rows(ITestNGMethod method, Iterator<T> source) {
+        Semaphore window = window(method);
+        List<Integer> selected = method.getInvocationNumbers();
+        return new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public Object[] next() {
+                if (!source.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (selected == null || selected.isEmpty() || selected.contains(index)) {
+                    acquire(window, method);
+                }
+                index++;
+                return new Object[]{source.next()};
+            }
+        };
+    }
+
+    public static void rowFinished(ITestNGMethod method) {
+        Semaphore window = WINDOWS.get(method.getQualifiedName());
+        if (window != null) {
+            window.release();
+        }
+    }
+
+    private static Semaphore window(ITestNGMethod method) {
+        return WINDOWS.computeIfAbsent(method.getQualifiedName(),
+                k -> new Semaphore(ConfigManager.getDataProviderWindow()));
+    }
+
+    private static void acquire(Semaphore window, ITestNGMethod method) {
+        try {
+            if (!window.tryAcquire(SLOT_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+                logger.warning("[DATA] No row of " + method.getQualifiedName() + " finished in "
+                        + SLOT_TIMEOUT_MINUTES + " minutes, releasing the next row anyway");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a data-provider slot", e);
+        }
+    }
+}
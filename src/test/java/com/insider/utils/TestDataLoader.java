@@ -1,25 +1,284 @@
 package com.insider.utils;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.databind.type.MapType;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
 
+/**
+ * Loads JSON test data from the classpath into DTOs.
+ * <p>
+ * Each (resource, type) pair is parsed once per JVM, on first access, and the same instance is
+ * handed to every test afterwards. Lists, sets and maps inside the DTOs are deserialized as
+ * unmodifiable views, so tests running in parallel cannot change each other's data.
+ * {@link #invalidate(String)} / {@link #invalidateAll()} drop cached entries for hot reload.
+ * <p>
+ * Large row files are not cached: {@link #stream(String, String, Class)} reads them one row at
+ * a time with Jackson's incremental parser.
+ */
 public class TestDataLoader {
 
-    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Logger logger = Logger.getLogger(TestDataLoader.class.getName());
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new SimpleModule("unmodifiable-collections").setDeserializerModifier(new Unmodifiable()));
+
+    private static final Map<Key, Object> CACHE = new ConcurrentHashMap<>();
+
+    private static final LongAdder requests = new LongAdder();
+    private static final LongAdder parses = new LongAdder();
+    private static final LongAdder parseNanos = new LongAdder();
 
     public static <T> T load(String resourcePath, Class<T> clazz) {
+        requests.increment();
+        return clazz.cast(CACHE.computeIfAbsent(new Key(resourcePath, clazz), TestDataLoader::parse));
+    }
+
+    public static void invalidate(String resourcePath) {
+        CACHE.keySet().removeIf(key -> key.resourcePath().equals(resourcePath));
+        logger.info("[TESTDATA] Invalidated " + resourcePath);
+    }
+
+    public static void invalidateAll() {
+        CACHE.clear();
+        logger.info("[TESTDATA] Invalidated all cached test data");
+    }
+
+    private static Object parse(Key key) {
+        long start = System.nanoTime();
         try (InputStream is = TestDataLoader.class
                 .getClassLoader()
-                .getResourceAsStream(resourcePath)) {
+                .getResourceAsStream(key.resourcePath())) {
 
             if (is == null) {
-                throw new RuntimeException("Test data file not found: " + resourcePath);
+                throw new RuntimeException("Test data file not found: " + key.resourcePath());
             }
 
-            return MAPPER.readValue(is, clazz);
+            return MAPPER.readValue(is, key.type());
         } catch (Exception e) {
-            throw new RuntimeException("Failed to load test data from: " + resourcePath, e);
+            throw new RuntimeException("Failed to load test data from: " + key.resourcePath(), e);
+        } finally {
+            parses.increment();
+            parseNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    // ---------- Streaming ----------
+
+    /**
+     * Lazily reads the rows of a data file, one object at a time, without materializing the file.
+     * {@code .ndjson}/{@code .jsonl} resources are read as one JSON object per line; anything else
+     * must hold a JSON array at {@code jsonPointer} (e.g. {@code /locationFlows}, or "" for a
+     * top-level array). The parser is closed once the last row has been read.
+     */
+    public static <T> Iterator<T> stream(String resourcePath, String jsonPointer, Class<T> type) {
+        InputStream is = TestDataLoader.class.getClassLoader().getResourceAsStream(resourcePath);
+        if (is == null) {
+            throw new RuntimeException("Test data file not found: " + resourcePath);
+        }
+
+        try {
+            JsonParser parser = MAPPER.getFactory().createParser(is);
+            boolean lineDelimited = resourcePath.endsWith(".ndjson") || resourcePath.endsWith(".jsonl");
+            if (!lineDelimited) {
+                try {
+                    seekArray(parser, JsonPointer.compile(jsonPointer), resourcePath);
+                } catch (IOException | RuntimeException e) {
+                    parser.close();
+                    throw e;
+                }
+            }
+            return new RowIterator<>(parser, type, lineDelimited ? null : JsonToken.END_ARRAY, resourcePath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to stream test data from: " + resourcePath, e);
+        }
+    }
+
+    /** Advances the parser to the START_ARRAY the pointer designates, skipping everything before it. */
+    private static void seekArray(JsonParser parser, JsonPointer pointer, String resourcePath) throws IOException {
+        JsonToken token = parser.nextToken();
+        while (!pointer.matches()) {
+            if (token == JsonToken.START_OBJECT) {
+                String property = pointer.getMatchingProperty();
+                boolean found = false;
+                while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                    token = parser.nextToken();
+                    if (property.equals(parser.currentName())) {
+                        found = true;
+                        break;
+                    }
+                    parser.skipChildren();
+                }
+                if (!found) {
+                    throw new IllegalArgumentException(resourcePath + " has no '" + property + "' property");
+                }
+            } else if (token == JsonToken.START_ARRAY && pointer.getMatchingIndex() >= 0) {
+                for (int i = 0; i <= pointer.getMatchingIndex(); i++) {
+                    if (i > 0) {
+                        parser.skipChildren();
+                    }
+                    token = parser.nextToken();
+                    if (token == JsonToken.END_ARRAY) {
+                        throw new IllegalArgumentException(resourcePath + " has no element " + pointer);
+                    }
+                }
+            } else {
+                throw new IllegalArgumentException(resourcePath + ": cannot resolve " + pointer + " at " + token);
+            }
+            pointer = pointer.tail();
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException(resourcePath + ": expected an array but found " + token);
+        }
+    }
+
+    private static final class RowIterator<T> implements Iterator<T> {
+
+        private final JsonParser parser;
+        private final Class<T> type;
+        private final JsonToken end;
+        private final String resourcePath;
+
+        private T next;
+        private boolean done;
+        private int rows;
+
+        private RowIterator(JsonParser parser, Class<T> type, JsonToken end, String resourcePath) {
+            this.parser = parser;
+            this.type = type;
+            this.end = end;
+            this.resourcePath = resourcePath;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (done) {
+                return false;
+            }
+            try {
+                JsonToken token = parser.nextToken();
+                if (token == null || token == end) {
+                    done = true;
+                    parser.close();
+                    logger.info("[TESTDATA] Streamed " + rows + " rows from " + resourcePath);
+                    return false;
+                }
+                next = MAPPER.readValue(parser, type);
+                rows++;
+                return true;
+            } catch (IOException e) {
+                done = true;
+                throw new UncheckedIOException("Failed to read row " + rows + " of " + resourcePath, e);
+            }
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T row = next;
+            next = null;
+            return row;
+        }
+    }
+
+    // ---------- Metrics ----------
+
+    public static long parseCount() {
+        return parses.sum();
+    }
+
+    public static boolean isEmpty() {
+        return requests.sum() == 0;
+    }
+
+    public static String stats() {
+        return String.format("[TESTDATA] loads=%d parses=%d cacheHits=%d totalParseTime=%dms cached=%d",
+                requests.sum(), parses.sum(), requests.sum() - parses.sum(),
+                parseNanos.sum() / 1_000_000, CACHE.size());
+    }
+
+    private record Key(String resourcePath, Class<?> type) {
+    }
+
+    // ---------- Immutable collections ----------
+
+    private static final class Unmodifiable extends BeanDeserializerModifier {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public JsonDeserializer<?> modifyCollectionDeserializer(DeserializationConfig config, CollectionType type,
+                                                                BeanDescription beanDesc, JsonDeserializer<?> deserializer) {
+            return new FreezingDeserializer(deserializer);
+        }
+
+        @Override
+        public JsonDeserializer<?> modifyMapDeserializer(DeserializationConfig config, MapType type,
+                                                         BeanDescription beanDesc, JsonDeserializer<?> deserializer) {
+            return new FreezingDeserializer(deserializer);
+        }
+    }
+
+    private static final class FreezingDeserializer extends DelegatingDeserializer {
+
+        private static final long serialVersionUID = 1L;
+
+        private FreezingDeserializer(JsonDeserializer<?> delegate) {
+            super(delegate);
+        }
+
+        @Override
+        protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+            return new FreezingDeserializer(newDelegatee);
+        }
+
+        @Override
+        public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return freeze(super.deserialize(p, ctxt));
+        }
+
+        private static Object freeze(Object value) {
+            if (value instanceof List<?> list) {
+                return Collections.unmodifiableList(list);
+            }
+            if (value instanceof Set<?> set) {
+                return Collections.unmodifiableSet(set);
+            }
+            if (value instanceof Collection<?> collection) {
+                return Collections.unmodifiableCollection(collection);
+            }
+            if (value instanceof Map<?, ?> map) {
+                return Collections.unmodifiableMap(map);
+            }
+            return value;
         }
     }
 }